@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# ⏱️ Startup benchmark: plain fat jar vs. startup profile (Spring AOT + extracted jar + AppCDS)
+# Ölçülenler: JVM'in bildirdiği başlama süresi ve ilk başarılı HTTP isteğine kadar geçen süre.
+#
+# Kullanım (backend dizininden):
+#   mvn -B -DskipTests package && cp target/*.jar /tmp/plain.jar
+#   mvn -B -DskipTests -Pstartup package
+#   scripts/startup-benchmark.sh /tmp/plain.jar target/demo-0.0.1-SNAPSHOT.jar [runs]
+set -euo pipefail
+
+PLAIN_JAR=${1:?plain jar path}
+AOT_JAR=${2:?startup profile jar path}
+RUNS=${3:-5}
+PORT=${PORT:-18080}
+URL="http://localhost:${PORT}/api/tasks/health"
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+now_ms() { date +%s%3N; }
+
+# Tek bir başlatma: "<started-in-ms> <first-request-ms>" yazar
+measure() {
+  local log="$WORK/run.log"
+  local start
+  start=$(now_ms)
+  "$@" --server.port="$PORT" --logging.level.com.borakgul.demo=INFO \
+       --logging.level.org.springframework.security=INFO --spring.jpa.show-sql=false >"$log" 2>&1 &
+  local pid=$!
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "application exited, see log:" >&2; cat "$log" >&2; exit 1
+    fi
+    sleep 0.02
+  done
+  local first_request=$(( $(now_ms) - start ))
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  local started
+  started=$(grep -o 'Started BackendApplication in [0-9.]* seconds' "$log" | grep -o '[0-9.]*' | head -1)
+  echo "$(awk "BEGIN { printf \"%d\", $started * 1000 }") $first_request"
+}
+
+report() {
+  local name=$1; shift
+  local total_started=0 total_first=0
+  for _ in $(seq "$RUNS"); do
+    read -r started first < <(measure "$@")
+    total_started=$(( total_started + started )); total_first=$(( total_first + first ))
+  done
+  printf '%-24s started-in %6d ms   first-request %6d ms   (avg of %d)\n' \
+    "$name" $(( total_started / RUNS )) $(( total_first / RUNS )) "$RUNS"
+}
+
+# Startup profile jar'ını Dockerfile ile aynı şekilde hazırla: extract + AppCDS training run
+cp "$AOT_JAR" "$WORK/application.jar"
+(cd "$WORK" && java -Djarmode=tools -jar application.jar extract --destination app >/dev/null)
+(cd "$WORK/app" && java -XX:ArchiveClassesAtExit=application.jsa -Dspring.aot.enabled=true \
+   -Dspring.context.exit=onRefresh -jar application.jar >/dev/null 2>&1)
+
+report "plain fat jar" java -jar "$PLAIN_JAR"
+report "AOT + extracted + CDS" java -XX:SharedArchiveFile="$WORK/app/application.jsa" \
+  -Dspring.aot.enabled=true -jar "$WORK/app/application.jar"
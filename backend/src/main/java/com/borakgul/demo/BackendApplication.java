@@ -1,9 +1,12 @@
 package com.borakgul.demo;
 
+import com.borakgul.demo.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class BackendApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,23 @@
+package com.borakgul.demo.audit;
+
+/**
+ * 🏷️ Audit kaydı tipleri; ordinal binary formatta saklanır, sadece sona ekleme yapılmalı
+ */
+public enum AuditAction {
+    TASK_UPDATED("Task"),
+    USER_STATUS_CHANGED("User"),
+    PASSWORD_CHANGED("User"),
+    TASK_CREATED("Task"),
+    TASK_DELETED("Task"),
+    TASK_STATUS_CHANGED("Task");
+
+    private final String entityType;
+
+    AuditAction(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+}
@@ -0,0 +1,14 @@
+package com.borakgul.demo.audit;
+
+import java.time.Instant;
+
+/**
+ * 📜 Okunan audit kaydı
+ */
+public record AuditEntry(Instant timestamp,
+                         String actor,
+                         AuditAction action,
+                         String entityType,
+                         Long entityId,
+                         String details) {
+}
@@ -0,0 +1,379 @@
+package com.borakgul.demo.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 📜 Audit Log - append-only, veritabanı dışı değişiklik kaydı
+ * Kayıtlar commit sonrası sınırlı bir kuyruğa alınır; tek writer thread kuyruktaki tüm kayıtları
+ * tek write + tek fsync ile diske yazar (group commit). Dosyalar app.audit.segment-bytes'ta döner,
+ * sorgular segment'leri mmap ile okur ve sparse zaman index'iyle ilgili aralığa atlar.
+ * Yazım asenkron: kayıt çağrıdan en fazla bir group commit turu sonra kalıcı olur.
+ */
+@Component
+@Slf4j
+public class AuditLog {
+
+    private static final String SEGMENT_SUFFIX = ".audit";
+    private static final String SYSTEM_ACTOR = "system";
+    private static final int MAX_ACTOR_BYTES = 255;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int indexInterval;
+    private final int maxBatch;
+    private final BlockingQueue<PendingRecord> queue;
+    private final CopyOnWriteArrayList<AuditSegment> segments = new CopyOnWriteArrayList<>();
+    private final Counter written;
+    private final Counter dropped;
+    private final DistributionSummary batchSize;
+    private final Thread writer;
+    private final AtomicLong enqueued = new AtomicLong();
+    private volatile long processed;
+
+    // Sadece writer thread erişir
+    private FileChannel activeChannel;
+    private AuditSegment activeSegment;
+    private int activePosition;
+    private long lastTimestamp;
+    private long nextSegmentNumber;
+    private ByteBuffer writeBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private volatile boolean running = true;
+
+    public AuditLog(MeterRegistry meterRegistry,
+                    @Value("${app.audit.dir:${java.io.tmpdir}/task-audit}") String directory,
+                    @Value("${app.audit.segment-bytes:67108864}") int segmentBytes,
+                    @Value("${app.audit.index-interval:256}") int indexInterval,
+                    @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+                    @Value("${app.audit.max-batch:1000}") int maxBatch) {
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes;
+        this.indexInterval = indexInterval;
+        this.maxBatch = maxBatch;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.written = Counter.builder("audit.records.written").register(meterRegistry);
+        this.dropped = Counter.builder("audit.records.dropped")
+                .description("Records rejected because the audit queue was full")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("audit.group-commit.size")
+                .description("Records per write + fsync")
+                .register(meterRegistry);
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("audit.segments", segments, List::size).register(meterRegistry);
+        this.writer = new Thread(this::writeLoop, "audit-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * 🔁 Mevcut segment'leri tara, index'leri yeniden kur, son segment'in yarım kalan kuyruğunu kes
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            segments.add(recover(file));
+            String name = file.getFileName().toString();
+            nextSegmentNumber = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())) + 1;
+        }
+        if (segments.isEmpty()) {
+            roll();
+        } else {
+            activeSegment = segments.get(segments.size() - 1);
+            activePosition = activeSegment.size();
+            activeChannel = FileChannel.open(activeSegment.path(), StandardOpenOption.WRITE);
+            activeChannel.truncate(activePosition);
+            activeChannel.position(activePosition);
+            lastTimestamp = activeSegment.lastTimestamp();
+            for (int i = 0; i < segments.size() - 1; i++) {
+                segments.get(i).seal();
+            }
+        }
+        writer.start();
+        log.info("📜 Audit log opened at {} with {} segment(s)", directory, segments.size());
+    }
+
+    /**
+     * ✍️ Mevcut kullanıcı adına kayıt; transaction varsa commit sonrası kuyruğa alınır
+     */
+    public void record(AuditAction action, Long entityId, String details) {
+        PendingRecord record = new PendingRecord(action, entityId != null ? entityId : -1L,
+                AuditRecordCodec.utf8(currentActor(), MAX_ACTOR_BYTES),
+                AuditRecordCodec.utf8(details, AuditRecordCodec.MAX_DETAILS_BYTES));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(record);
+                }
+            });
+        } else {
+            enqueue(record);
+        }
+    }
+
+    /**
+     * 🔎 Zaman aralığı + filtrelerle tarama; bitmiş segment'ler ve aralık dışı kısımlar atlanır
+     * newestFirst sorgular segment'leri ve index bloklarını sondan başa gezer, limit dolunca durur.
+     */
+    public List<AuditEntry> query(AuditQuery query) {
+        byte[] actor = query.actor() != null ? AuditRecordCodec.utf8(query.actor(), MAX_ACTOR_BYTES) : null;
+        int action = query.action() != null ? query.action().ordinal() : -1;
+        List<AuditEntry> matches = new ArrayList<>(Math.min(query.limit(), 1024));
+        if (query.newestFirst()) {
+            queryBackward(query, action, actor, matches);
+            return matches;
+        }
+
+        for (AuditSegment segment : segments) {
+            if (segment.size() == 0 || segment.lastTimestamp() < query.fromMillis()) {
+                continue;
+            }
+            if (segment.firstTimestamp() > query.toMillis()) {
+                break;
+            }
+            ByteBuffer buffer = readView(segment);
+            int limit = buffer.limit();
+            int position = segment.floorPosition(query.fromMillis());
+            while (position < limit) {
+                if (AuditRecordCodec.timestamp(buffer, position) > query.toMillis()) {
+                    return matches;
+                }
+                if (matches(buffer, position, query, action, actor)) {
+                    matches.add(AuditRecordCodec.decode(buffer, position));
+                    if (matches.size() == query.limit()) {
+                        return matches;
+                    }
+                }
+                position += AuditRecordCodec.length(buffer, position);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Kayıtlar değişken uzunlukta ve geri işaretçi yok: her index bloğu (en fazla indexInterval kayıt)
+     * ileri taranır, eşleşmeleri ters sırayla eklenir. Bloğun ilk kaydı from'dan eskiyse öncekiler de eskidir.
+     */
+    private void queryBackward(AuditQuery query, int action, byte[] actor, List<AuditEntry> matches) {
+        List<AuditEntry> blockMatches = new ArrayList<>();
+        for (int s = segments.size() - 1; s >= 0; s--) {
+            AuditSegment segment = segments.get(s);
+            if (segment.size() == 0 || segment.firstTimestamp() > query.toMillis()) {
+                continue;
+            }
+            if (segment.lastTimestamp() < query.fromMillis()) {
+                return;
+            }
+            ByteBuffer buffer = readView(segment);
+            int end = buffer.limit();
+            int[] blockStarts = segment.blockStarts(end);
+            for (int b = blockStarts.length - 1; b >= 0; b--) {
+                int position = blockStarts[b];
+                long blockTimestamp = AuditRecordCodec.timestamp(buffer, position);
+                if (blockTimestamp <= query.toMillis()) {
+                    blockMatches.clear();
+                    while (position < end && AuditRecordCodec.timestamp(buffer, position) <= query.toMillis()) {
+                        if (matches(buffer, position, query, action, actor)) {
+                            blockMatches.add(AuditRecordCodec.decode(buffer, position));
+                        }
+                        position += AuditRecordCodec.length(buffer, position);
+                    }
+                    for (int i = blockMatches.size() - 1; i >= 0; i--) {
+                        matches.add(blockMatches.get(i));
+                        if (matches.size() == query.limit()) {
+                            return;
+                        }
+                    }
+                }
+                if (blockTimestamp < query.fromMillis()) {
+                    return;
+                }
+                end = blockStarts[b];
+            }
+        }
+    }
+
+    // Sabit offset'lerdeki alanlarla eleme; string'ler sadece eşleşen kayıtlarda decode edilir
+    private static boolean matches(ByteBuffer buffer, int position, AuditQuery query, int action, byte[] actor) {
+        long timestamp = AuditRecordCodec.timestamp(buffer, position);
+        return timestamp >= query.fromMillis() && timestamp <= query.toMillis()
+                && (action < 0 || AuditRecordCodec.actionOrdinal(buffer, position) == action)
+                && (query.entityId() == null || AuditRecordCodec.entityId(buffer, position) == query.entityId())
+                && (actor == null || AuditRecordCodec.actorEquals(buffer, position, actor));
+    }
+
+    /**
+     * Kuyruktaki kayıtlar diske yazılana kadar bekler
+     */
+    public void flush() throws InterruptedException {
+        long target = enqueued.get();
+        while (processed < target) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (activeChannel != null) {
+            activeChannel.close();
+        }
+    }
+
+    private void enqueue(PendingRecord record) {
+        if (queue.offer(record)) {
+            enqueued.incrementAndGet();
+        } else {
+            dropped.increment();
+            log.error("❌ Audit queue full, dropped {} for entity {}", record.action(), record.entityId());
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingRecord> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (IOException | RuntimeException e) {
+                // Kayıtlar kaybolur ama writer ayakta kalır; bir sonraki batch yeniden dener
+                log.error("❌ Audit write failed for {} record(s): {}", batch.size(), e.getMessage(), e);
+            } finally {
+                processed += batch.size();
+                batch.clear();
+            }
+        }
+    }
+
+    // Group commit: batch tek buffer'da toplanır, segment sınırında bölünür, her segment için tek fsync
+    private void writeBatch(List<PendingRecord> batch) throws IOException {
+        writeBuffer.clear();
+        for (PendingRecord record : batch) {
+            int recordSize = AuditRecordCodec.encodedSize(record.actor(), record.details());
+            int segmentEnd = activePosition + writeBuffer.position();
+            if (segmentEnd > 0 && segmentEnd + recordSize > segmentBytes) {
+                commit();
+                roll();
+            }
+            if (writeBuffer.remaining() < recordSize) {
+                commit();
+                if (writeBuffer.capacity() < recordSize) {
+                    writeBuffer = ByteBuffer.allocateDirect(recordSize);
+                }
+            }
+            long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+            lastTimestamp = timestamp;
+            activeSegment.onAppend(timestamp, activePosition + writeBuffer.position(), indexInterval);
+            AuditRecordCodec.encode(writeBuffer, timestamp, record.action(), record.entityId(),
+                    record.actor(), record.details());
+        }
+        commit();
+        written.increment(batch.size());
+        batchSize.record(batch.size());
+    }
+
+    private void commit() throws IOException {
+        if (writeBuffer.position() == 0) {
+            return;
+        }
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            activePosition += activeChannel.write(writeBuffer);
+        }
+        activeChannel.force(false);
+        activeSegment.markDurable(activePosition);
+        writeBuffer.clear();
+    }
+
+    private void roll() throws IOException {
+        if (activeChannel != null) {
+            activeChannel.close();
+            activeSegment.seal();
+        }
+        Path path = directory.resolve(String.format("%019d%s", nextSegmentNumber++, SEGMENT_SUFFIX));
+        activeChannel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        activeSegment = new AuditSegment(path);
+        activePosition = 0;
+        segments.add(activeSegment);
+        log.info("📜 Audit segment rolled: {}", path.getFileName());
+    }
+
+    private AuditSegment recover(Path file) throws IOException {
+        AuditSegment segment = new AuditSegment(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            int position = 0;
+            int length;
+            while ((length = AuditRecordCodec.validLength(buffer, position, (int) fileSize)) > 0) {
+                segment.onAppend(AuditRecordCodec.timestamp(buffer, position), position, indexInterval);
+                position += length;
+            }
+            if (position < fileSize) {
+                log.warn("⚠️ Audit segment {} has {} trailing byte(s) after a torn write, ignoring them",
+                        file.getFileName(), fileSize - position);
+            }
+            segment.markDurable(position);
+        }
+        return segment;
+    }
+
+    private ByteBuffer readView(AuditSegment segment) {
+        try {
+            return segment.readView();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read audit segment " + segment.path().getFileName(), e);
+        }
+    }
+
+    private String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : SYSTEM_ACTOR;
+    }
+
+    private record PendingRecord(AuditAction action, long entityId, byte[] actor, byte[] details) {
+    }
+}
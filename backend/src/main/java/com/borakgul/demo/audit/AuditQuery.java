@@ -0,0 +1,14 @@
+package com.borakgul.demo.audit;
+
+/**
+ * 🔎 Audit sorgusu; null alanlar filtre uygulanmaz. Zaman aralığı [fromMillis, toMillis]
+ * newestFirst: aralıktaki son limit kadar kaydı yeniden eskiye döner
+ */
+public record AuditQuery(long fromMillis,
+                         long toMillis,
+                         String actor,
+                         AuditAction action,
+                         Long entityId,
+                         int limit,
+                         boolean newestFirst) {
+}
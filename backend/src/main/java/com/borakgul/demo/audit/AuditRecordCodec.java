@@ -0,0 +1,145 @@
+package com.borakgul.demo.audit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.CRC32C;
+
+/**
+ * 🧱 Binary audit kaydı formatı (big-endian)
+ * <pre>
+ * int   length      payload byte sayısı
+ * int   crc32c      payload checksum (yarım yazılmış kuyruğu recovery'de ayırt etmek için)
+ * --- payload ---
+ * long  timestamp   epoch millis, log içinde monoton artan
+ * byte  action      AuditAction ordinal
+ * long  entityId
+ * short actorLength + UTF-8 actor
+ * int   detailsLength + UTF-8 details
+ * </pre>
+ * Filtreleme alanları payload başında sabit offset'lerde: tarama string decode etmeden eleme yapabilir.
+ */
+final class AuditRecordCodec {
+
+    static final int HEADER_BYTES = 8;
+    static final int TIMESTAMP_OFFSET = HEADER_BYTES;
+    static final int ACTION_OFFSET = TIMESTAMP_OFFSET + 8;
+    static final int ENTITY_ID_OFFSET = ACTION_OFFSET + 1;
+    static final int ACTOR_OFFSET = ENTITY_ID_OFFSET + 8;
+    static final int MAX_DETAILS_BYTES = 4096;
+
+    private static final AuditAction[] ACTIONS = AuditAction.values();
+
+    private AuditRecordCodec() {
+    }
+
+    static int encodedSize(byte[] actor, byte[] details) {
+        return HEADER_BYTES + 8 + 1 + 8 + 2 + actor.length + 4 + details.length;
+    }
+
+    /**
+     * Kaydı buffer'ın mevcut pozisyonuna yazar
+     */
+    static void encode(ByteBuffer buffer, long timestamp, AuditAction action, long entityId,
+                       byte[] actor, byte[] details) {
+        int start = buffer.position();
+        int payloadLength = encodedSize(actor, details) - HEADER_BYTES;
+        buffer.putInt(payloadLength);
+        buffer.putInt(0);
+        buffer.putLong(timestamp);
+        buffer.put((byte) action.ordinal());
+        buffer.putLong(entityId);
+        buffer.putShort((short) actor.length);
+        buffer.put(actor);
+        buffer.putInt(details.length);
+        buffer.put(details);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().position(start + HEADER_BYTES).limit(buffer.position()));
+        buffer.putInt(start + 4, (int) crc.getValue());
+    }
+
+    /**
+     * position'daki kaydın toplam uzunluğu; kayıt eksik ya da bozuksa -1
+     */
+    static int validLength(ByteBuffer buffer, int position, int limit) {
+        if (limit - position < HEADER_BYTES) {
+            return -1;
+        }
+        int payloadLength = buffer.getInt(position);
+        if (payloadLength <= 0 || payloadLength > limit - position - HEADER_BYTES) {
+            return -1;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().limit(position + HEADER_BYTES + payloadLength).position(position + HEADER_BYTES));
+        if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+            return -1;
+        }
+        return HEADER_BYTES + payloadLength;
+    }
+
+    static int length(ByteBuffer buffer, int position) {
+        return HEADER_BYTES + buffer.getInt(position);
+    }
+
+    static long timestamp(ByteBuffer buffer, int position) {
+        return buffer.getLong(position + TIMESTAMP_OFFSET);
+    }
+
+    static int actionOrdinal(ByteBuffer buffer, int position) {
+        return buffer.get(position + ACTION_OFFSET);
+    }
+
+    static long entityId(ByteBuffer buffer, int position) {
+        return buffer.getLong(position + ENTITY_ID_OFFSET);
+    }
+
+    /**
+     * Actor'ü decode etmeden UTF-8 byte'ları karşılaştırır
+     */
+    static boolean actorEquals(ByteBuffer buffer, int position, byte[] actor) {
+        int length = buffer.getShort(position + ACTOR_OFFSET);
+        if (length != actor.length) {
+            return false;
+        }
+        int start = position + ACTOR_OFFSET + 2;
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(start + i) != actor[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static AuditEntry decode(ByteBuffer buffer, int position) {
+        int actorLength = buffer.getShort(position + ACTOR_OFFSET);
+        int actorStart = position + ACTOR_OFFSET + 2;
+        int detailsLength = buffer.getInt(actorStart + actorLength);
+        int detailsStart = actorStart + actorLength + 4;
+
+        AuditAction action = ACTIONS[actionOrdinal(buffer, position)];
+        return new AuditEntry(
+                Instant.ofEpochMilli(timestamp(buffer, position)),
+                string(buffer, actorStart, actorLength),
+                action,
+                action.getEntityType(),
+                entityId(buffer, position),
+                string(buffer, detailsStart, detailsLength));
+    }
+
+    static byte[] utf8(String value, int maxBytes) {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) {
+            return bytes;
+        }
+        byte[] truncated = new byte[maxBytes];
+        System.arraycopy(bytes, 0, truncated, 0, maxBytes);
+        return truncated;
+    }
+
+    private static String string(ByteBuffer buffer, int start, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
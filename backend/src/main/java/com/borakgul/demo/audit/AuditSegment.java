@@ -0,0 +1,125 @@
+package com.borakgul.demo.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 📂 Tek segment dosyası + sparse zaman index'i
+ * Index her indexInterval kayıtta bir (timestamp, dosya pozisyonu) tutar; timestamp'ler monoton
+ * olduğu için sorgu binary search ile başlangıç noktasına atlar, sadece aralığı tarar.
+ * size: fsync edilmiş son byte; okuyucular bu sınırın ötesini görmez.
+ */
+final class AuditSegment {
+
+    private final Path path;
+    private long[] indexTimestamps = new long[64];
+    private int[] indexPositions = new int[64];
+    private int indexSize;
+    private volatile int size;
+    private volatile long firstTimestamp = Long.MAX_VALUE;
+    private volatile long lastTimestamp = Long.MIN_VALUE;
+    private long recordCount;
+    private volatile MappedByteBuffer sealedBuffer;
+
+    AuditSegment(Path path) {
+        this.path = path;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * Writer thread: kayıt eklendi (henüz fsync edilmemiş olabilir); index girişi gerekiyorsa ekler
+     */
+    synchronized void onAppend(long timestamp, int position, int indexInterval) {
+        if (recordCount++ % indexInterval == 0) {
+            if (indexSize == indexTimestamps.length) {
+                indexTimestamps = Arrays.copyOf(indexTimestamps, indexSize * 2);
+                indexPositions = Arrays.copyOf(indexPositions, indexSize * 2);
+            }
+            indexTimestamps[indexSize] = timestamp;
+            indexPositions[indexSize] = position;
+            indexSize++;
+        }
+        if (firstTimestamp == Long.MAX_VALUE) {
+            firstTimestamp = timestamp;
+        }
+        lastTimestamp = timestamp;
+    }
+
+    /**
+     * Writer thread: fsync sonrası okunabilir sınırı ilerletir
+     */
+    void markDurable(int durableSize) {
+        size = durableSize;
+    }
+
+    /**
+     * Segment kapandı: bir kez map edilir ve sonraki sorgularda tekrar kullanılır
+     */
+    void seal() throws IOException {
+        sealedBuffer = map();
+    }
+
+    /**
+     * timestamp'ten önce başlayan son index girişinin pozisyonu; from'dan önceki kayıtlar buradan itibaren atlanır
+     */
+    synchronized int floorPosition(long timestamp) {
+        int low = 0;
+        int high = indexSize - 1;
+        int result = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (indexTimestamps[mid] < timestamp) {
+                result = indexPositions[mid];
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * limit'ten (okuma görünümünün durable sınırı) önce başlayan index bloklarının pozisyonları, artan sırada
+     */
+    synchronized int[] blockStarts(int limit) {
+        int count = 0;
+        while (count < indexSize && indexPositions[count] < limit) {
+            count++;
+        }
+        return Arrays.copyOf(indexPositions, count);
+    }
+
+    /**
+     * Okuma görünümü; aktif segment her sorguda güncel boyutuyla map edilir
+     */
+    ByteBuffer readView() throws IOException {
+        MappedByteBuffer sealed = sealedBuffer;
+        return sealed != null ? sealed.duplicate() : map();
+    }
+
+    private MappedByteBuffer map() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.borakgul.demo.cache;
+
+/**
+ * ✉️ Node'lar arası cache invalidation mesajı: varlık tipi + id
+ * Tel formatı tip kodu + id ("U12", "T345"); id yerine "*" o tipteki her şey demektir.
+ */
+public record CacheInvalidation(Type type, long id) {
+
+    public static final long ALL = -1;
+
+    public enum Type {
+        // userId → token version (UserVersionCache)
+        USER('U'),
+        // taskId → bitmap index satırı
+        TASK('T'),
+        // ownerId → kullanıcının working set'i
+        TASK_LIST('L');
+
+        private final char code;
+
+        Type(char code) {
+            this.code = code;
+        }
+
+        public char code() {
+            return code;
+        }
+
+        static Type ofCode(char code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown invalidation type code: " + code);
+        }
+    }
+
+    public static CacheInvalidation all(Type type) {
+        return new CacheInvalidation(type, ALL);
+    }
+
+    public boolean isAll() {
+        return id == ALL;
+    }
+
+    public String encode() {
+        return type.code() + (isAll() ? "*" : Long.toString(id));
+    }
+
+    public static CacheInvalidation decode(String token) {
+        if (token.length() < 2) {
+            throw new IllegalArgumentException("Malformed invalidation: " + token);
+        }
+        Type type = Type.ofCode(token.charAt(0));
+        String id = token.substring(1);
+        return new CacheInvalidation(type, id.equals("*") ? ALL : Long.parseLong(id));
+    }
+}
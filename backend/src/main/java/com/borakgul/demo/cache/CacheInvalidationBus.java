@@ -0,0 +1,289 @@
+package com.borakgul.demo.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📣 Cache Invalidation Bus - yerel cache'lerin diğer node'larda bayatlamasını önler
+ * Yazma yolları commit sonrası (tip, id) bildirir; bunlar bir küme içinde biriktirilir (aynı kayıt için
+ * pencere içindeki tekrarlar tek mesaja iner) ve flush-interval'de bir, payload sınırına sığan batch'ler
+ * halinde transport'a yazılır. Gelen mesajlar her {@link CacheInvalidationHandler}'a iletilir; node kendi
+ * mesajlarını atlar (yerel cache'ler zaten write-through güncellendi).
+ *
+ * Teslimat garantisi yok (node çökerse bekleyenler kaybolur): cache TTL'leri üst sınırı belirler.
+ * Bekleyen kümesi max-pending'i aşarsa tip başına tek bir "*" mesajına indirgenir.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private final InvalidationTransport transport;
+    private final List<CacheInvalidationHandler> handlers;
+    private final String nodeId;
+    private final long flushIntervalMs;
+    private final int maxPayloadBytes;
+    private final int maxPending;
+    private final Set<CacheInvalidation> pending = ConcurrentHashMap.newKeySet();
+    private final Counter sent;
+    private final Counter coalesced;
+    private final Counter received;
+    private final Counter failed;
+    private ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    public CacheInvalidationBus(List<InvalidationTransport> transports,
+                                List<CacheInvalidationHandler> handlers,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.cache.invalidation.transport:loopback}") String transportName,
+                                @Value("${app.cache.invalidation.flush-interval-ms:20}") long flushIntervalMs,
+                                @Value("${app.cache.invalidation.max-payload-bytes:7900}") int maxPayloadBytes,
+                                @Value("${app.cache.invalidation.max-pending:50000}") int maxPending) {
+        this.transport = transportName.equals("none") ? null : transports.stream()
+                .filter(candidate -> candidate.name().equals(transportName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown cache invalidation transport: " + transportName));
+        this.handlers = handlers;
+        this.nodeId = Long.toHexString(ThreadLocalRandom.current().nextLong() & 0xFFFF_FFFF_FFFFL);
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxPayloadBytes = maxPayloadBytes;
+        this.maxPending = maxPending;
+
+        this.sent = counter(meterRegistry, "cache.invalidation.sent", "Invalidations written to the transport");
+        this.coalesced = counter(meterRegistry, "cache.invalidation.coalesced", "Invalidations merged into a pending one");
+        this.received = counter(meterRegistry, "cache.invalidation.received", "Invalidations applied from other nodes");
+        this.failed = counter(meterRegistry, "cache.invalidation.failed", "Invalidations lost because the transport failed");
+        Gauge.builder("cache.invalidation.pending", pending, Set::size).register(meterRegistry);
+    }
+
+    /**
+     * Aktif transaction varsa commit sonrası, yoksa hemen kuyruğa al; rollback olursa hiç gönderilmez
+     */
+    public void invalidateAfterCommit(CacheInvalidation.Type type, Long id) {
+        if (id != null) {
+            afterCommit(() -> invalidate(type, List.of(id)));
+        }
+    }
+
+    public void invalidateAfterCommit(CacheInvalidation.Type type, Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        afterCommit(() -> invalidate(type, copy));
+    }
+
+    public void invalidateAllAfterCommit(CacheInvalidation.Type type) {
+        afterCommit(() -> enqueue(CacheInvalidation.all(type)));
+    }
+
+    /**
+     * Commit zaten gerçekleşmişse (örn. event bus consumer'ı) doğrudan kuyruğa al
+     */
+    public void invalidate(CacheInvalidation.Type type, Collection<Long> ids) {
+        ids.forEach(id -> enqueue(new CacheInvalidation(type, id)));
+    }
+
+    /**
+     * 🚚 Bekleyenleri batch'ler halinde gönder
+     */
+    public void flush() {
+        if (transport == null || pending.isEmpty()) {
+            return;
+        }
+        List<CacheInvalidation> batch = new ArrayList<>(pending.size());
+        Iterator<CacheInvalidation> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+
+        StringBuilder payload = new StringBuilder(maxPayloadBytes);
+        int entries = 0;
+        for (CacheInvalidation invalidation : batch) {
+            String token = invalidation.encode();
+            if (entries > 0 && payload.length() + 1 + token.length() > maxPayloadBytes) {
+                send(payload.toString(), entries);
+                entries = 0;
+            }
+            if (entries == 0) {
+                payload.setLength(0);
+                payload.append(nodeId).append(';');
+            } else {
+                payload.append(',');
+            }
+            payload.append(token);
+            entries++;
+        }
+        if (entries > 0) {
+            send(payload.toString(), entries);
+        }
+    }
+
+    /**
+     * 📥 Transport'tan gelen mesaj: "<node>;U12,T345,L7"
+     */
+    void receive(String payload) {
+        int separator = payload.indexOf(';');
+        if (separator <= 0) {
+            log.warn("⚠️ Ignoring malformed cache invalidation payload: {}", payload);
+            return;
+        }
+        if (payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+
+        Map<CacheInvalidation.Type, Set<Long>> ids = new EnumMap<>(CacheInvalidation.Type.class);
+        Set<CacheInvalidation.Type> all = EnumSet.noneOf(CacheInvalidation.Type.class);
+        int count = 0;
+        for (String token : payload.substring(separator + 1).split(",")) {
+            try {
+                CacheInvalidation invalidation = CacheInvalidation.decode(token);
+                if (invalidation.isAll()) {
+                    all.add(invalidation.type());
+                } else {
+                    ids.computeIfAbsent(invalidation.type(), type -> new HashSet<>()).add(invalidation.id());
+                }
+                count++;
+            } catch (IllegalArgumentException e) {
+                log.warn("⚠️ Ignoring malformed cache invalidation '{}': {}", token, e.getMessage());
+            }
+        }
+        all.forEach(ids::remove);
+        received.increment(count);
+
+        for (CacheInvalidationHandler handler : handlers) {
+            try {
+                all.forEach(handler::invalidateAll);
+                ids.forEach(handler::invalidate);
+            } catch (RuntimeException e) {
+                log.error("❌ Cache invalidation handler {} failed: {}", handler.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    // Transport mesaj kaçırmış olabilir: her şeyi geçersiz say
+    private void resync() {
+        log.warn("⚠️ Cache invalidations may have been missed, invalidating all local caches");
+        for (CacheInvalidationHandler handler : handlers) {
+            for (CacheInvalidation.Type type : CacheInvalidation.Type.values()) {
+                try {
+                    handler.invalidateAll(type);
+                } catch (RuntimeException e) {
+                    log.error("❌ Cache invalidation handler {} failed: {}", handler.getClass().getSimpleName(), e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (transport == null) {
+            running = true;
+            return;
+        }
+        transport.start(this::receive, this::resync);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("📣 Cache invalidation bus started - node {}, transport {}", nodeId, transport.name());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flushQuietly();
+            flusher = null;
+        }
+        if (transport != null) {
+            transport.stop();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void enqueue(CacheInvalidation invalidation) {
+        if (transport == null) {
+            return;
+        }
+        if (!pending.add(invalidation)) {
+            coalesced.increment();
+            return;
+        }
+        if (pending.size() > maxPending) {
+            // Tek tek göndermek yerine her tipi toptan geçersiz say
+            coalesced.increment(pending.size());
+            pending.clear();
+            for (CacheInvalidation.Type type : CacheInvalidation.Type.values()) {
+                pending.add(CacheInvalidation.all(type));
+            }
+        }
+    }
+
+    private void send(String payload, int entries) {
+        try {
+            transport.send(payload);
+            sent.increment(entries);
+        } catch (Exception e) {
+            failed.increment(entries);
+            log.error("❌ Failed to publish {} cache invalidations: {}", entries, e.getMessage());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("❌ Cache invalidation flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String description) {
+        return Counter.builder(name).description(description).register(meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.borakgul.demo.cache;
+
+import java.util.Set;
+
+/**
+ * Başka bir node'dan gelen invalidation'ları yerel cache'e uygular; ilgilenmediği tipleri yok sayar
+ */
+public interface CacheInvalidationHandler {
+
+    void invalidate(CacheInvalidation.Type type, Set<Long> ids);
+
+    /**
+     * Tipin tamamı: "*" mesajı ya da transport'ta mesaj kaçırılmış olabileceğinde (yeniden bağlanma)
+     */
+    void invalidateAll(CacheInvalidation.Type type);
+}
@@ -0,0 +1,47 @@
+package com.borakgul.demo.cache;
+
+import com.borakgul.demo.dto.TaskResponse;
+import com.borakgul.demo.model.Priority;
+import com.borakgul.demo.model.Task;
+import com.borakgul.demo.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📇 Working set'teki task kaydı - entity'nin değişmez, kompakt kopyası
+ * Overdue saklanmaz, okuma anında hesaplanır.
+ */
+public record CachedTask(long id,
+                         String title,
+                         String description,
+                         TaskStatus status,
+                         Priority priority,
+                         LocalDateTime dueDate,
+                         LocalDateTime createdAt,
+                         LocalDateTime updatedAt,
+                         boolean completed,
+                         long version) {
+
+    // Nesne başlığı + alanlar + referans verilen LocalDateTime'lar; String'ler uzunluğa göre eklenir
+    private static final int FIXED_BYTES = 64 + 3 * 48;
+
+    public static CachedTask of(Task task) {
+        return new CachedTask(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getPriority(), task.getDueDate(), task.getCreatedAt(), task.getUpdatedAt(),
+                Boolean.TRUE.equals(task.getCompleted()), task.getVersion() != null ? task.getVersion() : 0L);
+    }
+
+    public TaskResponse toResponse() {
+        boolean overdue = dueDate != null && !completed && LocalDateTime.now().isAfter(dueDate);
+        return new TaskResponse(id, title, description, status, priority, dueDate, createdAt, updatedAt,
+                completed, overdue, version);
+    }
+
+    public long estimatedBytes() {
+        return FIXED_BYTES + stringBytes(title) + stringBytes(description);
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+}
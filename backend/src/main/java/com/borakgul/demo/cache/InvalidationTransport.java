@@ -0,0 +1,20 @@
+package com.borakgul.demo.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * 📡 Invalidation mesajlarını node'lar arasında taşıyan kanal (app.cache.invalidation.transport)
+ */
+public interface InvalidationTransport {
+
+    String name();
+
+    /**
+     * Dinlemeye başla; onGap, arada mesaj kaçırılmış olabileceğinde (bağlantı koptu, yeniden bağlanıldı) çağrılır
+     */
+    void start(Consumer<String> receiver, Runnable onGap);
+
+    void send(String payload) throws Exception;
+
+    void stop();
+}
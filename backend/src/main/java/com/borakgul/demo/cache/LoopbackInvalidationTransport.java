@@ -0,0 +1,37 @@
+package com.borakgul.demo.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 🔁 JVM içi transport: gönderilen her mesaj, bu instance'a bağlı tüm alıcılara aynı thread'de iletilir
+ * Tek node'da ve testlerde kullanılır; aynı instance'ı paylaşan birden fazla bus ayrı node'lar gibi davranır.
+ */
+@Component
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private final List<Consumer<String>> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String name() {
+        return "loopback";
+    }
+
+    @Override
+    public void start(Consumer<String> receiver, Runnable onGap) {
+        receivers.add(receiver);
+    }
+
+    @Override
+    public void send(String payload) {
+        receivers.forEach(receiver -> receiver.accept(payload));
+    }
+
+    @Override
+    public void stop() {
+        receivers.clear();
+    }
+}
@@ -0,0 +1,125 @@
+package com.borakgul.demo.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * 🐘 PostgreSQL LISTEN/NOTIFY transport - mevcut datasource üzerinden, ek altyapı (Redis vs.) gerekmez
+ * Dinleyici thread havuzdan bir bağlantıyı kalıcı olarak tutar ve LISTEN eder; gönderim pg_notify ile
+ * havuzdaki herhangi bir bağlantıdan yapılır. NOTIFY teslimatı sadece bağlı dinleyicilere ve en fazla
+ * bir kez olur: bağlantı koptuğunda aradaki mesajlar kaybolur, bu yüzden yeniden bağlanınca onGap çağrılır.
+ * Payload sınırı 8000 byte'tır (app.cache.invalidation.max-payload-bytes bunun altında kalmalı).
+ */
+@Component
+@Slf4j
+public class PostgresNotifyInvalidationTransport implements InvalidationTransport {
+
+    // LISTEN parametre almaz; kanal adı SQL'e gömüldüğü için sadece düz identifier kabul edilir
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final String channel;
+    private final int pollTimeoutMs;
+    private final long reconnectBackoffMs;
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresNotifyInvalidationTransport(DataSource dataSource,
+                                               JdbcTemplate jdbcTemplate,
+                                               @Value("${app.cache.invalidation.postgres.channel:cache_invalidation}") String channel,
+                                               @Value("${app.cache.invalidation.postgres.poll-timeout-ms:500}") int pollTimeoutMs,
+                                               @Value("${app.cache.invalidation.postgres.reconnect-backoff-ms:2000}") long reconnectBackoffMs) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid NOTIFY channel name: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectBackoffMs = reconnectBackoffMs;
+    }
+
+    @Override
+    public String name() {
+        return "postgres";
+    }
+
+    @Override
+    public synchronized void start(Consumer<String> receiver, Runnable onGap) {
+        running = true;
+        listener = new Thread(() -> listen(receiver, onGap), "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void send(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null, channel, payload);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            try {
+                listener.join(pollTimeoutMs * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            listener = null;
+        }
+    }
+
+    private void listen(Consumer<String> receiver, Runnable onGap) {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("🐘 Listening for cache invalidations on channel '{}'", channel);
+                if (reconnecting) {
+                    // Bağlantı yokken gönderilen mesajlar hiç gelmeyecek
+                    onGap.run();
+                }
+                reconnecting = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        receiver.accept(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("⚠️ Cache invalidation listener lost its connection, retrying in {} ms: {}",
+                        reconnectBackoffMs, e.getMessage());
+                try {
+                    Thread.sleep(reconnectBackoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
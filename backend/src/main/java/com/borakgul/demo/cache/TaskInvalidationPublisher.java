@@ -0,0 +1,47 @@
+package com.borakgul.demo.cache;
+
+import com.borakgul.demo.event.TaskCreated;
+import com.borakgul.demo.event.TaskDeleted;
+import com.borakgul.demo.event.TaskEvent;
+import com.borakgul.demo.event.TaskEventHandler;
+import com.borakgul.demo.event.TaskUpdated;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 🔗 TaskService olaylarını diğer node'lar için invalidation'a çevirir: task id (bitmap index) ve
+ * sahibinin id'si (working set). Olaylar zaten commit sonrası geldiği için doğrudan kuyruğa alınır.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskInvalidationPublisher implements TaskEventHandler {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Override
+    public String name() {
+        return "cache-invalidation";
+    }
+
+    @Override
+    public void onEvent(TaskEvent event, long sequence, boolean endOfBatch) {
+        cacheInvalidationBus.invalidate(CacheInvalidation.Type.TASK, List.of(event.taskId()));
+        Long ownerId = owner(event);
+        if (ownerId != null) {
+            cacheInvalidationBus.invalidate(CacheInvalidation.Type.TASK_LIST, List.of(ownerId));
+        }
+    }
+
+    private static Long owner(TaskEvent event) {
+        if (event instanceof TaskCreated created) {
+            return created.task().ownerId();
+        } else if (event instanceof TaskUpdated updated) {
+            return updated.after().ownerId();
+        } else if (event instanceof TaskDeleted deleted) {
+            return deleted.task().ownerId();
+        }
+        return null;
+    }
+}
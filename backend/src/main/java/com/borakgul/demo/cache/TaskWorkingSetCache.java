@@ -0,0 +1,181 @@
+package com.borakgul.demo.cache;
+
+import com.borakgul.demo.model.Task;
+import com.borakgul.demo.repository.TaskRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 🧠 Per-user Task Working Set - kullanıcı başına task'ların bellek içi kopyası
+ * İlk erişimde kullanıcının tüm task'ları yüklenir; TaskService yazmaları commit sonrası buraya da
+ * yazılır (write-through), böylece liste / status / priority görünümleri veritabanına gitmez.
+ *
+ * Sınırlar: toplam ağırlık (task sayısı) aşılınca Caffeine en az kullanılan kullanıcıları çıkarır;
+ * max-tasks-per-user'dan fazla task'ı olan kullanıcılar hiç cache'lenmez (SQL'den okunur).
+ * Diğer node'lardaki yazmalar {@link CacheInvalidationBus} ile gelir; TTL, kaçan bir invalidation için üst sınırdır.
+ */
+@Component
+@Slf4j
+public class TaskWorkingSetCache implements CacheInvalidationHandler {
+
+    private final TaskRepository taskRepository;
+    private final Cache<Long, UserTaskSet> cache;
+    private final boolean enabled;
+    private final int maxTasksPerUser;
+    private final long maxTotalTasks;
+
+    public TaskWorkingSetCache(TaskRepository taskRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.tasks.working-set.enabled:true}") boolean enabled,
+                               @Value("${app.tasks.working-set.max-total-tasks:200000}") long maxTotalTasks,
+                               @Value("${app.tasks.working-set.max-tasks-per-user:2000}") int maxTasksPerUser,
+                               @Value("${app.tasks.working-set.ttl-minutes:30}") long ttlMinutes) {
+        this.taskRepository = taskRepository;
+        this.enabled = enabled;
+        this.maxTasksPerUser = maxTasksPerUser;
+        this.maxTotalTasks = maxTotalTasks;
+        this.cache = Caffeine.newBuilder()
+                // Boş kullanıcı da bir giriş; ağırlık 0 olursa toplam sınıra hiç takılmaz
+                .maximumWeight(maxTotalTasks)
+                .weigher((Long userId, UserTaskSet tasks) -> tasks.size() + 1)
+                .expireAfterAccess(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "taskWorkingSet");
+    }
+
+    /**
+     * 📥 Kullanıcının task'ları; ilk erişimde yüklenir
+     * Cache kapalıysa ya da kullanıcının task sayısı sınırı aşıyorsa boş döner (çağıran SQL'e düşer).
+     */
+    public Optional<UserTaskSet> get(Long userId) {
+        if (!enabled || userId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get(userId, this::load));
+    }
+
+    /**
+     * ✍️ Oluşturma / güncelleme - commit sonrası, sadece kullanıcı zaten cache'teyse uygulanır
+     * Cache'te olmayan kullanıcı bir sonraki okumada veritabanından güncel haliyle yüklenir.
+     */
+    public void putAfterCommit(Task task) {
+        Long ownerId = ownerOf(task);
+        if (!enabled || ownerId == null) {
+            return;
+        }
+        CachedTask cached = CachedTask.of(task);
+        afterCommit(() -> cache.asMap().computeIfPresent(ownerId, (userId, tasks) -> {
+            UserTaskSet updated = tasks.with(cached);
+            // Sınırı aşan kullanıcı cache'ten çıkar (null = entry silinir)
+            return updated.size() > maxTasksPerUser ? null : updated;
+        }));
+    }
+
+    public void removeAfterCommit(Long ownerId, Long taskId) {
+        if (!enabled || ownerId == null) {
+            return;
+        }
+        afterCommit(() -> cache.asMap().computeIfPresent(ownerId, (userId, tasks) -> tasks.without(taskId)));
+    }
+
+    /**
+     * Task'ları hangi kullanıcıya ait olduğu bilinmeden toplu değiştiren yollar (job'lar, arşiv) için
+     */
+    public void invalidateAllAfterCommit() {
+        if (enabled) {
+            afterCommit(cache::invalidateAll);
+        }
+    }
+
+    // Başka bir node'da değişen kullanıcıların working set'i bir sonraki okumada yeniden yüklenir
+    @Override
+    public void invalidate(CacheInvalidation.Type type, Set<Long> ownerIds) {
+        if (type == CacheInvalidation.Type.TASK_LIST) {
+            cache.invalidateAll(ownerIds);
+        }
+    }
+
+    @Override
+    public void invalidateAll(CacheInvalidation.Type type) {
+        if (type == CacheInvalidation.Type.TASK_LIST) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * 📊 Actuator (/actuator/taskcache) için özet
+     */
+    public Map<String, Object> report() {
+        long users = 0;
+        long tasks = 0;
+        long bytes = 0;
+        long largestUser = 0;
+        for (UserTaskSet set : cache.asMap().values()) {
+            users++;
+            tasks += set.size();
+            bytes += set.estimatedBytes();
+            largestUser = Math.max(largestUser, set.estimatedBytes());
+        }
+        CacheStats stats = cache.stats();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", enabled);
+        report.put("users", users);
+        report.put("tasks", tasks);
+        report.put("maxTotalTasks", maxTotalTasks);
+        report.put("maxTasksPerUser", maxTasksPerUser);
+        report.put("estimatedBytes", bytes);
+        report.put("averageBytesPerUser", users == 0 ? 0 : bytes / users);
+        report.put("largestUserBytes", largestUser);
+        report.put("hitRate", stats.hitRate());
+        report.put("hits", stats.hitCount());
+        report.put("misses", stats.missCount());
+        report.put("evictions", stats.evictionCount());
+        return report;
+    }
+
+    // Limit + 1 satır okunur: sınırı aşan kullanıcının tüm task'ları boşuna belleğe alınmaz
+    private UserTaskSet load(Long userId) {
+        List<Task> tasks = taskRepository.findByUserIdOrderByIdAsc(userId, PageRequest.of(0, maxTasksPerUser + 1));
+        if (tasks.size() > maxTasksPerUser) {
+            log.debug("User {} has more than {} tasks, not caching working set", userId, maxTasksPerUser);
+            return null;
+        }
+        return UserTaskSet.of(tasks.stream().map(CachedTask::of).toList());
+    }
+
+    private static Long ownerOf(Task task) {
+        // Lazy proxy'de getId() proxy'yi initialize etmez
+        return task.getUser() != null ? task.getUser().getId() : null;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.borakgul.demo.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 📊 /actuator/taskcache - working set doluluğu, bellek tahmini ve hit oranı
+ * Sadece toplam sayılar döner; kullanıcı ya da task içeriği yok. SecurityConfig'te ADMIN rolüne kısıtlı.
+ */
+@Component
+@Endpoint(id = "taskcache")
+@RequiredArgsConstructor
+public class TaskWorkingSetEndpoint {
+
+    private final TaskWorkingSetCache taskWorkingSetCache;
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        return taskWorkingSetCache.report();
+    }
+}
@@ -0,0 +1,83 @@
+package com.borakgul.demo.cache;
+
+import com.borakgul.demo.model.Priority;
+import com.borakgul.demo.model.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 👤 Bir kullanıcının task'ları - id sırasında, değişmez
+ * Yazmalar yeni bir kopya üretir (copy-on-write); okuyucular kilitsiz, tutarlı bir görüntü görür.
+ * Kullanıcı başına birkaç yüz task için kopyalama, ayrı bir kilit tutmaktan ucuzdur.
+ */
+public final class UserTaskSet {
+
+    private static final Comparator<CachedTask> BY_ID = Comparator.comparingLong(CachedTask::id);
+
+    private final List<CachedTask> tasks;
+    private final long estimatedBytes;
+
+    private UserTaskSet(List<CachedTask> tasks) {
+        this.tasks = tasks;
+        this.estimatedBytes = tasks.stream().mapToLong(CachedTask::estimatedBytes).sum();
+    }
+
+    public static UserTaskSet of(List<CachedTask> tasks) {
+        List<CachedTask> sorted = new ArrayList<>(tasks);
+        sorted.sort(BY_ID);
+        return new UserTaskSet(Collections.unmodifiableList(sorted));
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Ekle ya da güncelle; eldeki kayıt daha yeni bir version'daysa (geç gelen commit) değişmez
+     */
+    public UserTaskSet with(CachedTask task) {
+        int index = Collections.binarySearch(tasks, task, BY_ID);
+        if (index >= 0 && tasks.get(index).version() > task.version()) {
+            return this;
+        }
+        List<CachedTask> copy = new ArrayList<>(tasks.size() + 1);
+        copy.addAll(tasks);
+        if (index >= 0) {
+            copy.set(index, task);
+        } else {
+            copy.add(-index - 1, task);
+        }
+        return new UserTaskSet(Collections.unmodifiableList(copy));
+    }
+
+    public UserTaskSet without(long taskId) {
+        int index = Collections.binarySearch(tasks, new CachedTask(taskId, null, null, null, null, null, null, null,
+                false, 0), BY_ID);
+        if (index < 0) {
+            return this;
+        }
+        List<CachedTask> copy = new ArrayList<>(tasks);
+        copy.remove(index);
+        return new UserTaskSet(Collections.unmodifiableList(copy));
+    }
+
+    /**
+     * 🔎 Liste / status / priority görünümleri; null kriter = filtre yok
+     */
+    public List<CachedTask> view(TaskStatus status, Priority priority) {
+        if (status == null && priority == null) {
+            return tasks;
+        }
+        return tasks.stream()
+                .filter(task -> status == null || task.status() == status)
+                .filter(task -> priority == null || task.priority() == priority)
+                .toList();
+    }
+}
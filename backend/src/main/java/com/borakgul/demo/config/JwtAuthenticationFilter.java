@@ -1,12 +1,22 @@
 package com.borakgul.demo.config;
 
+import com.borakgul.demo.jfr.JfrContext;
+import com.borakgul.demo.jfr.JwtAuthenticationEvent;
+import com.borakgul.demo.model.User;
 import com.borakgul.demo.service.UserService;
+import com.borakgul.demo.token.TokenDenylist;
+import com.borakgul.demo.token.UserVersionCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,6 +30,10 @@ import java.io.IOException;
 /**
  * 🔍 JWT Authentication Filter
  * Her request'te JWT token'ı kontrol eder ve authentication context'ini ayarlar
+ * Stateless modda principal imzalı claim'lerden kurulur; kullanıcı sadece token'daki version
+ * bilinen güncel version'la eşleşmediğinde (ya da bilinmediğinde) veritabanından okunur.
+ * Token doğrulama ve principal çözümleme JwtAuthenticationEvent (JFR) ve "jwt.authentication" span'i ile ölçülür;
+ * zincirin geri kalanı hariç.
  */
 @Component
 @RequiredArgsConstructor
@@ -27,9 +41,16 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenDenylist tokenDenylist;
+    private final UserVersionCache userVersionCache;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
     @Lazy
     private final UserService userService;
 
+    @Value("${app.jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -50,18 +71,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 🔑 Token'ı parse et (Bearer kısmını çıkar)
         jwt = authHeader.substring(7);
         
-        try {
-            // 📧 Token'dan email'i çıkar
-            userEmail = jwtTokenProvider.extractEmail(jwt);
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        Observation observation = Observation.createNotStarted("jwt.authentication", observationRegistry).start();
+        String outcome = "rejected";
+        try (Observation.Scope scope = observation.openScope()) {
+            // 📋 İmza + süre doğrulaması tek parse'ta
+            Claims claims = jwtTokenProvider.extractAllClaims(jwt);
+            userEmail = claims.getSubject();
 
-            // 🔒 Email varsa ve henüz authenticate edilmemişse
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // 🚫 Refresh token API çağrısında kullanılamaz; iptal edilmiş token'lar reddedilir
+            if (!JwtTokenProvider.ACCESS_TOKEN.equals(claims.get(JwtTokenProvider.TOKEN_TYPE_CLAIM, String.class))
+                    || tokenDenylist.isRevoked(claims.getId())) {
+                log.warn("⚠️ Rejected revoked or non-access token for user: {}", userEmail);
+            } else if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // 🔒 Email var ve henüz authenticate edilmemiş
                 
-                // 👤 Kullanıcı bilgilerini yükle
-                UserDetails userDetails = userService.loadUserByUsername(userEmail);
+                // 👤 Kullanıcı bilgileri: claim'lerden ya da gerekiyorsa veritabanından
+                UserDetails userDetails = resolvePrincipal(claims, event, observation);
 
-                // ✅ Token'ı doğrula
-                if (jwtTokenProvider.validateToken(jwt, userDetails)) {
+                // ✅ Token'ı doğrula (imza ve süre parse sırasında kontrol edildi)
+                if (userDetails != null && userDetails.isEnabled() && userEmail.equals(userDetails.getUsername())) {
                     
                     // 🎯 Authentication token oluştur
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
@@ -76,16 +106,63 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     // 🏛️ Security context'e authentication'ı kaydet
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                     
+                    outcome = "authenticated";
                     log.debug("🔐 User '{}' authenticated successfully", userEmail);
                 } else {
                     log.warn("⚠️ Invalid JWT token for user: {}", userEmail);
                 }
             }
         } catch (Exception e) {
+            outcome = "error";
             log.error("❌ JWT authentication error: {}", e.getMessage());
         }
+        observation.lowCardinalityKeyValue("outcome", outcome).stop();
+        event.end();
+        if (event.shouldCommit()) {
+            event.setOutcome(outcome);
+            event.setEndpoint(JfrContext.endpoint());
+            event.setUserId(JfrContext.userId());
+            event.commit();
+        }
 
         // 🔄 Filtre zincirini devam ettir
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * 🧾 Principal çözümleme; token bayatsa (kullanıcı güncel version'da değilse) null
+     */
+    private UserDetails resolvePrincipal(Claims claims, JwtAuthenticationEvent event, Observation observation) {
+        User fromClaims = statelessPrincipal ? jwtTokenProvider.principalFromClaims(claims) : null;
+        if (fromClaims == null) {
+            // Stateless mod kapalı ya da kullanıcı claim'leri olmayan token: her request'te yükle
+            countPrincipal("database", event, observation);
+            return userService.loadUserByUsername(claims.getSubject());
+        }
+
+        Long knownVersion = userVersionCache.get(fromClaims.getId());
+        if (knownVersion != null && knownVersion == fromClaims.currentTokenVersion()) {
+            countPrincipal("claims", event, observation);
+            return fromClaims;
+        }
+
+        countPrincipal("database", event, observation);
+        User current = userService.findById(fromClaims.getId()).orElse(null);
+        if (current == null) {
+            return null;
+        }
+        userVersionCache.put(current.getId(), current.currentTokenVersion());
+        if (current.currentTokenVersion() != fromClaims.currentTokenVersion()) {
+            log.warn("⚠️ Stale token version {} for user {} (current {})",
+                    fromClaims.currentTokenVersion(), current.getEmail(), current.currentTokenVersion());
+            return null;
+        }
+        return fromClaims;
+    }
+
+    private void countPrincipal(String source, JwtAuthenticationEvent event, Observation observation) {
+        event.setPrincipalSource(source);
+        observation.lowCardinalityKeyValue("principal.source", source);
+        meterRegistry.counter("auth.principal.resolved", "source", source).increment();
+    }
+}
@@ -1,61 +1,137 @@
 package com.borakgul.demo.config;
 
+import com.borakgul.demo.model.User;
+import com.borakgul.demo.token.JwtKeyRing;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.ProtectedHeader;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
  * 🔑 JWT Token yönetim servisi
  * Token oluşturma, doğrulama ve parse etme işlemleri
+ * Kısa ömürlü access token'lar API çağrıları, uzun ömürlü refresh token'lar sadece /api/auth/refresh içindir;
+ * ikisi de iptal edilebilsin diye benzersiz jti taşır.
+ * İmza asimetrik (JwtKeyRing, kid header'ı ile); diğer servisler /.well-known/jwks.json'dan doğrulayabilir.
  */
 @Component
 public class JwtTokenProvider {
 
-    // 🔒 Güvenli secret key - Üretimde çevresel değişken olarak kullanılmalı
-    @Value("${jwt.secret:mySecretKey1234567890mySecretKey1234567890}")
-    private String secretKey;
+    public static final String TOKEN_TYPE_CLAIM = "token_type";
+    public static final String FAMILY_CLAIM = "fam";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String NAME_CLAIM = "name";
+    public static final String ROLE_CLAIM = "role";
+    public static final String ENABLED_CLAIM = "enabled";
+    public static final String USER_VERSION_CLAIM = "ver";
 
-    @Value("${jwt.expiration:86400000}") // 24 saat (milisaniye)
+    @Value("${app.jwt.expiration:900000}") // 15 dakika (milisaniye)
     private Long expiration;
 
-    /**
-     * 🔑 Secret key oluşturma
-     */
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+    @Value("${app.jwt.refresh-expiration:1209600000}") // 14 gün (milisaniye)
+    private Long refreshExpiration;
+
+    private final JwtKeyRing keyRing;
+
+    // Parser immutable ve thread-safe: bir kez kurulur, doğrulama anahtarı kid ile ring'den bulunur
+    private final JwtParser parser;
+
+    public JwtTokenProvider(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parser()
+                .keyLocator(header -> keyRing.verificationKey(((ProtectedHeader) header).getKeyId()))
+                .build();
     }
 
     /**
-     * 🎫 JWT Token oluşturma
+     * 🎫 Access token oluşturma
      */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("email", userDetails.getUsername());
-        return createToken(claims, userDetails.getUsername());
+        claims.put(TOKEN_TYPE_CLAIM, ACCESS_TOKEN);
+        // İmzalı kullanıcı claim'leri: filtre principal'ı veritabanına gitmeden kurabilsin
+        if (userDetails instanceof User user) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(NAME_CLAIM, user.getName());
+            claims.put(ROLE_CLAIM, user.getRole().name());
+            claims.put(ENABLED_CLAIM, user.isEnabled());
+            claims.put(USER_VERSION_CLAIM, user.currentTokenVersion());
+        }
+        return createToken(claims, userDetails.getUsername(), expiration);
+    }
+
+    /**
+     * 👤 Doğrulanmış claim'lerden principal; kullanıcı claim'leri olmayan (eski) token'lar için null
+     * Dönen User detached'tır (password yok); entity ilişkileri için id üzerinden referans alınmalı.
+     */
+    public User principalFromClaims(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        Object version = claims.get(USER_VERSION_CLAIM);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (!(userId instanceof Number) || !(version instanceof Number) || role == null) {
+            return null;
+        }
+        return User.builder()
+                .id(((Number) userId).longValue())
+                .email(claims.getSubject())
+                .name(claims.get(NAME_CLAIM, String.class))
+                .role(User.Role.valueOf(role))
+                .enabled(Boolean.TRUE.equals(claims.get(ENABLED_CLAIM, Boolean.class)))
+                .tokenVersion(((Number) version).longValue())
+                .build();
+    }
+
+    /**
+     * ♻️ Refresh token oluşturma; familyId rotation zincirini takip eder (tekrar kullanımda tüm zincir iptal edilir)
+     * ve token version'ı taşır (version artınca refresh reddedilir)
+     */
+    public String generateRefreshToken(UserDetails userDetails, String familyId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN);
+        claims.put(FAMILY_CLAIM, familyId);
+        if (userDetails instanceof User user) {
+            claims.put(USER_VERSION_CLAIM, user.currentTokenVersion());
+        }
+        return createToken(claims, userDetails.getUsername(), refreshExpiration);
     }
 
     /**
      * 🏗️ Token oluşturma - internal method
      */
-    private String createToken(Map<String, Object> claims, String subject) {
+    private String createToken(Map<String, Object> claims, String subject, long validityMs) {
+        long now = System.currentTimeMillis();
+        JwtKeyRing.SigningKey signingKey = keyRing.signingKey();
         return Jwts.builder()
+                .header().keyId(signingKey.kid()).and()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + validityMs))
+                .signWith(signingKey.privateKey(), keyRing.signatureAlgorithm())
                 .compact();
     }
 
+    public long getExpirationMs() {
+        return expiration;
+    }
+
+    public long getRefreshExpirationMs() {
+        return refreshExpiration;
+    }
+
     /**
      * 📧 Token'dan email çıkarma
      */
@@ -79,14 +155,10 @@ public class JwtTokenProvider {
     }
 
     /**
-     * 📋 Token'dan tüm claimleri çıkarma
+     * 📋 Token'dan tüm claimleri çıkarma; imza geçersiz ya da süre dolmuşsa JwtException
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public Claims extractAllClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
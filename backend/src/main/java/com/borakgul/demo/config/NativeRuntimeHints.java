@@ -0,0 +1,96 @@
+package com.borakgul.demo.config;
+
+import com.borakgul.demo.dto.AuthResponse;
+import com.borakgul.demo.dto.CreateTaskRequest;
+import com.borakgul.demo.dto.LoginRequest;
+import com.borakgul.demo.dto.RefreshTokenRequest;
+import com.borakgul.demo.dto.RegisterRequest;
+import com.borakgul.demo.dto.TaskResponse;
+import com.borakgul.demo.dto.UpdateTaskRequest;
+import com.borakgul.demo.model.Task;
+import com.borakgul.demo.model.User;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 🧊 GraalVM Native Image Hints
+ * Spring AOT'nin kendiliğinden göremediği reflection/resource kullanımları:
+ * JJWT implementasyon class'ları (jjwt-api bunları isimle yükler), Lombok ile üretilmiş
+ * entity/DTO accessor'ları (Hibernate + Jackson), H2 driver'ı ve JfrDataSource'un JDBC proxy'leri.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    // jjwt-api, jjwt-impl'deki bu class'ları Classes.newInstance(...) ile yükler
+    private static final List<String> JJWT_REFLECTIVE_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    // Lombok getter/setter'ları derleme zamanında üretilir; Hibernate ve Jackson bunlara reflection ile erişir
+    private static final List<Class<?>> DOMAIN_TYPES = List.of(
+            Task.class,
+            User.class,
+            TaskResponse.class,
+            CreateTaskRequest.class,
+            UpdateTaskRequest.class,
+            AuthResponse.class,
+            LoginRequest.class,
+            RefreshTokenRequest.class,
+            RegisterRequest.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : JJWT_REFLECTIVE_TYPES) {
+            hints.reflection().registerTypeIfPresent(classLoader, type,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+        for (Class<?> type : DOMAIN_TYPES) {
+            hints.reflection().registerType(type,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        hints.reflection().registerTypeIfPresent(classLoader, "org.h2.Driver",
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // JfrDataSource: Connection → Statement → ResultSet JDK proxy'leri
+        for (Class<?> jdbcType : List.of(Connection.class, Statement.class, PreparedStatement.class,
+                CallableStatement.class, ResultSet.class)) {
+            hints.proxies().registerJdkProxy(jdbcType);
+        }
+    }
+}
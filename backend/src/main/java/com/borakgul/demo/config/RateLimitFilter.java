@@ -0,0 +1,137 @@
+package com.borakgul.demo.config;
+
+import com.borakgul.demo.ratelimit.RateLimitPolicy;
+import com.borakgul.demo.ratelimit.RateLimitStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🚦 Rate Limit Filter
+ * JwtAuthenticationFilter'dan hemen sonra çalışır ve token bucket'lar ile istek hızını sınırlar:
+ * auth endpoint'leri client IP bazında (credential stuffing / BCrypt yükü), diğer API çağrıları
+ * kullanıcı email'i (anonimse IP) bazında. Limit aşılınca 429 + Retry-After döner.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PREFIX = "/api/auth/";
+    private static final String API_PREFIX = "/api/";
+    private static final String HEALTH_PATH = "/api/tasks/health";
+
+    private final RateLimitStore rateLimitStore;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean trustForwardedFor;
+    private final RateLimitPolicy authPolicy;
+    private final RateLimitPolicy apiPolicy;
+
+    public RateLimitFilter(RateLimitStore rateLimitStore,
+                           ObjectMapper objectMapper,
+                           @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor,
+                           @Value("${app.rate-limit.auth.capacity:10}") long authCapacity,
+                           @Value("${app.rate-limit.auth.period-seconds:60}") long authPeriodSeconds,
+                           @Value("${app.rate-limit.api.capacity:100}") long apiCapacity,
+                           @Value("${app.rate-limit.api.period-seconds:10}") long apiPeriodSeconds) {
+        this.rateLimitStore = rateLimitStore;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.trustForwardedFor = trustForwardedFor;
+        this.authPolicy = new RateLimitPolicy("auth", authCapacity, Duration.ofSeconds(authPeriodSeconds));
+        this.apiPolicy = new RateLimitPolicy("api", apiCapacity, Duration.ofSeconds(apiPeriodSeconds));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        RateLimitPolicy policy = enabled ? resolvePolicy(request) : null;
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String subject = policy == authPolicy ? "ip:" + clientIp(request) : subject(request);
+        long waitNanos = rateLimitStore.tryConsume(policy.name() + ":" + subject, policy);
+
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            log.warn("🚦 Rate limit exceeded - policy: {}, subject: {}, path: {}",
+                    policy.name(), subject, request.getRequestURI());
+            reject(request, response, retryAfterSeconds);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * 🗺️ Route bazlı politika seçimi; null = limit uygulanmaz
+     */
+    private RateLimitPolicy resolvePolicy(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith(AUTH_PREFIX)) {
+            return authPolicy;
+        }
+        if (path.startsWith(API_PREFIX) && !path.equals(HEALTH_PATH)) {
+            return apiPolicy;
+        }
+        return null;
+    }
+
+    private String subject(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma > 0 ? forwardedFor.substring(0, comma) : forwardedFor).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterSeconds)
+            throws IOException {
+        Map<String, Object> errorDetails = new LinkedHashMap<>();
+        errorDetails.put("timestamp", Instant.now().toString());
+        errorDetails.put("status", 429);
+        errorDetails.put("error", "Too Many Requests");
+        errorDetails.put("message", "Rate limit exceeded, retry after " + retryAfterSeconds + " seconds");
+        errorDetails.put("path", request.getRequestURI());
+
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json;charset=UTF-8");
+        objectMapper.writeValue(response.getWriter(), errorDetails);
+    }
+}
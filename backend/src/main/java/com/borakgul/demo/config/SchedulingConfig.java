@@ -0,0 +1,14 @@
+package com.borakgul.demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * ⏲️ Scheduling Configuration
+ * Periyodik bakım işleri (arşivleme vs.) için @Scheduled desteği
+ * Tetiklemeler her replica'da olur; cluster'da tek çalışması gereken işler LeaseManager ile korunur
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -38,6 +38,7 @@ public class SecurityConfig {
     private final UserService userService;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final PasswordEncoder passwordEncoder;
 
     /**
@@ -62,10 +63,15 @@ public class SecurityConfig {
             
             // Authorization rules
             .authorizeHttpRequests(authz -> authz
+                // 🔬 Profil ve cache raporu - /actuator/** public kuralından önce olmalı (ilk eşleşen kazanır)
+                .requestMatchers("/actuator/profile", "/actuator/profile/**",
+                        "/actuator/taskcache", "/actuator/taskcache/**").hasRole("ADMIN")
+
                 // 🚫 Public endpoints - Kimlik doğrulama gerektirmez
                 .requestMatchers(
                     "/api/auth/**",           // Auth endpoints
                     "/api/tasks/health",      // Health check
+                    "/.well-known/jwks.json", // JWT public anahtarları
                     "/h2-console/**",         // H2 Database console
                     "/actuator/**",           // Spring Boot Actuator
                     "/error"                  // Error page
@@ -81,6 +87,9 @@ public class SecurityConfig {
             // JWT Authentication Filter
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
             
+            // Rate limiting - JWT'den sonra, kullanıcı email'i bilinsin diye
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
+            
             // Authentication Provider
             .authenticationProvider(authenticationProvider());
 
@@ -133,6 +142,9 @@ public class SecurityConfig {
         // Headers
         configuration.setAllowedHeaders(Arrays.asList("*"));
         
+        // Optimistic locking (ETag), idempotency replay ve rate limit header'ları client'a açılmalı
+        configuration.setExposedHeaders(List.of("ETag", "Idempotent-Replayed", "Retry-After"));
+        
         // Credentials
         configuration.setAllowCredentials(true);
         
@@ -1,12 +1,30 @@
 package com.borakgul.demo.config;
 
+import com.borakgul.demo.jfr.RecordingJacksonConverters;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
     
+    private final Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder;
+    
+    @Value("${app.jfr.events.enabled:true}")
+    private boolean jfrEvents;
+    
     @Override
     public void addCorsMappings(@org.springframework.lang.NonNull CorsRegistry registry) {
         // API endpoints için CORS
@@ -26,5 +44,30 @@ public class WebConfig implements WebMvcConfigurer {
                 .maxAge(3600);
     }
     
+    /**
+     * 📦 CBOR converter - Accept: application/cbor ile seçilir
+     * Listeye en sonda eklenir; wildcard Accept gönderen client'lar JSON almaya devam eder.
+     * Boot'un Jackson ayarlarını (JavaTimeModule vs.) kullanır, tarihler string yerine sayısal yazılır.
+     * JFR event'leri açıksa JSON ve CBOR converter'ları SerializationEvent yazan alt sınıflarıyla değiştirilir.
+     */
+    @Override
+    public void extendMessageConverters(@org.springframework.lang.NonNull List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        
+        ObjectMapper cborMapper = jackson2ObjectMapperBuilder
+                .factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        if (!jfrEvents) {
+            converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+            return;
+        }
+        converters.replaceAll(converter -> converter instanceof MappingJackson2HttpMessageConverter json
+                && !(converter instanceof RecordingJacksonConverters.Json)
+                ? new RecordingJacksonConverters.Json(json.getObjectMapper())
+                : converter);
+        converters.add(new RecordingJacksonConverters.Cbor(cborMapper));
+    }
+    
     // CORS bean SecurityConfig'de tanımlı - çakışma önlemek için kaldırıldı
-}
\ No newline at end of file
+}
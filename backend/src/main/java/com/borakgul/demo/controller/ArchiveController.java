@@ -0,0 +1,52 @@
+package com.borakgul.demo.controller;
+
+import com.borakgul.demo.dto.ArchivedTaskResponse;
+import com.borakgul.demo.service.TaskArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 🗄️ Archive Controller
+ * Arşivlenmiş task'lar hot endpoint'lerden ayrı, açıkça bu endpoint'lerden sorgulanır
+ */
+@RestController
+@RequestMapping("/api/tasks/archive")
+@RequiredArgsConstructor
+@Slf4j
+public class ArchiveController {
+    
+    private final TaskArchiveService taskArchiveService;
+    
+    @GetMapping
+    public ResponseEntity<Page<ArchivedTaskResponse>> getArchivedTasks(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String title,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("REST request to get archived tasks");
+        PageRequest pageable = PageRequest.of(page, size, Sort.by("archivedAt").descending());
+        return ResponseEntity.ok(taskArchiveService.getArchivedTasks(userId, title, pageable));
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<ArchivedTaskResponse> getArchivedTask(@PathVariable Long id) {
+        log.info("REST request to get archived task ID: {}", id);
+        return ResponseEntity.ok(taskArchiveService.getArchivedTask(id));
+    }
+    
+    // Manuel tetikleme (normalde app.archive.cron ile çalışır)
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> runArchive() {
+        log.info("REST request to run task archival");
+        return ResponseEntity.ok(taskArchiveService.archiveCompletedTasks());
+    }
+}
@@ -0,0 +1,63 @@
+package com.borakgul.demo.controller;
+
+import com.borakgul.demo.audit.AuditAction;
+import com.borakgul.demo.audit.AuditEntry;
+import com.borakgul.demo.audit.AuditLog;
+import com.borakgul.demo.audit.AuditQuery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📜 Audit Controller - /api/admin/** SecurityConfig'te ADMIN rolüne kısıtlı
+ */
+@RestController
+@RequestMapping("/api/admin/audit")
+@RequiredArgsConstructor
+@Slf4j
+public class AuditController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final AuditLog auditLog;
+
+    /**
+     * 🔎 Zaman aralığı (ISO-8601), actor, action ve entityId ile filtrele; varsayılan en yeniden eskiye
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getAuditEntries(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String actor,
+            @RequestParam(required = false) AuditAction action,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "desc") String order) {
+        log.info("REST request to query audit log - actor: {}, action: {}, entityId: {}", actor, action, entityId);
+
+        AuditQuery query = new AuditQuery(
+                from != null ? from.toEpochMilli() : 0L,
+                to != null ? to.toEpochMilli() : Long.MAX_VALUE,
+                actor, action, entityId,
+                Math.max(1, Math.min(limit, MAX_LIMIT)),
+                !"asc".equalsIgnoreCase(order));
+
+        long start = System.nanoTime();
+        List<AuditEntry> entries = auditLog.query(query);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("entries", entries);
+        response.put("count", entries.size());
+        response.put("tookMs", (System.nanoTime() - start) / 1_000_000.0);
+        return ResponseEntity.ok(response);
+    }
+}
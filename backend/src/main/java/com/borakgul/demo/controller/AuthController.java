@@ -1,18 +1,22 @@
 package com.borakgul.demo.controller;
 
-import com.borakgul.demo.config.JwtTokenProvider;
 import com.borakgul.demo.dto.AuthResponse;
 import com.borakgul.demo.dto.LoginRequest;
+import com.borakgul.demo.dto.RefreshTokenRequest;
 import com.borakgul.demo.dto.RegisterRequest;
+import com.borakgul.demo.exception.ExpectedErrorSampler;
 import com.borakgul.demo.model.User;
+import com.borakgul.demo.service.AuthTokenService;
 import com.borakgul.demo.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
@@ -28,7 +32,8 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final AuthTokenService authTokenService;
+    private final ExpectedErrorSampler expectedErrorSampler;
 
     /**
      * 📝 User Registration
@@ -38,25 +43,18 @@ public class AuthController {
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
         log.info("📝 Registration attempt for email: {}", request.getEmail());
 
-        try {
-            User user = userService.registerUser(
-                request.getName(),
-                request.getEmail(),
-                request.getPassword()
-            );
+        // Kayıtlı email ConflictException (409 problem) olarak GlobalExceptionHandler'a gider
+        User user = userService.registerUser(
+            request.getName(),
+            request.getEmail(),
+            request.getPassword()
+        );
 
-            log.info("✅ User registered successfully: {}", user.getEmail());
-            
-            return ResponseEntity.ok(AuthResponse.message(
-                "User registered successfully. You can now login."
-            ));
+        log.info("✅ User registered successfully: {}", user.getEmail());
 
-        } catch (RuntimeException e) {
-            log.error("❌ Registration failed: {}", e.getMessage());
-            return ResponseEntity.badRequest().body(AuthResponse.message(
-                "Registration failed: " + e.getMessage()
-            ));
-        }
+        return ResponseEntity.ok(AuthResponse.message(
+            "User registered successfully. You can now login."
+        ));
     }
 
     /**
@@ -82,22 +80,31 @@ public class AuthController {
             // Kullanıcı bilgilerini al
             User user = (User) authentication.getPrincipal();
 
-            // JWT Token oluştur
-            String jwt = jwtTokenProvider.generateToken(user);
+            // Access + refresh token oluştur
+            AuthTokenService.TokenPair tokens = authTokenService.issue(user);
 
             log.info("✅ Login successful for user: {}", user.getEmail());
 
             // Response oluştur
             return ResponseEntity.ok(AuthResponse.success(
-                jwt,
+                tokens.accessToken(),
+                tokens.refreshToken(),
+                tokens.expiresInSeconds(),
                 user.getId(),
                 user.getName(),
                 user.getEmail(),
                 user.getRole().name()
             ));
 
+        } catch (AuthenticationException e) {
+            // Yanlış şifre / bilinmeyen email / kilitli hesap: beklenen, örneklenerek loglanır
+            expectedErrorSampler.debug(log, "Login " + e.getClass().getSimpleName(),
+                    "Login failed for " + request.getEmail() + ": " + e.getMessage());
+            return ResponseEntity.badRequest().body(AuthResponse.message(
+                "Invalid email or password"
+            ));
         } catch (Exception e) {
-            log.error("❌ Login failed for {}: {}", request.getEmail(), e.getMessage());
+            log.error("❌ Login failed for {}: {}", request.getEmail(), e.getMessage(), e);
             return ResponseEntity.badRequest().body(AuthResponse.message(
                 "Invalid email or password"
             ));
@@ -114,11 +121,11 @@ public class AuthController {
             // Security Context'ten authenticated user'ı al
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             
-            if (authentication == null || !authentication.isAuthenticated()) {
+            // /api/auth/** permitAll: token yoksa ya da reddedildiyse principal anonymous olur
+            if (authentication == null || !authentication.isAuthenticated()
+                    || !(authentication.getPrincipal() instanceof User user)) {
                 return ResponseEntity.status(401).body(AuthResponse.message("User not authenticated"));
             }
-
-            User user = (User) authentication.getPrincipal();
             
             log.info("👤 Profile requested for user: {}", user.getEmail());
 
@@ -140,51 +147,45 @@ public class AuthController {
     }
 
     /**
-     * 🚪 Logout (Client-side token removal)
+     * 🚪 Logout
      * POST /api/auth/logout
+     * Access token'ı (Authorization header) ve body'de verilen refresh token zincirini iptal eder
      */
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
-        // JWT stateless olduğu için server-side logout yok
-        // Client token'ı silmeli
+    public ResponseEntity<?> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
         log.info("🚪 Logout requested");
-        
-        return ResponseEntity.ok(AuthResponse.message(
-            "Logout successful. Please remove token from client."
-        ));
+
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        authTokenService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+
+        return ResponseEntity.ok(AuthResponse.message("Logout successful"));
     }
 
     /**
-     * 🔄 Token Refresh (Opsiyonel)
+     * 🔄 Token Refresh
      * POST /api/auth/refresh
+     * Refresh token tek kullanımlıktır: yeni access + refresh token döner, eskisi iptal edilir
      */
     @PostMapping("/refresh")
-    public ResponseEntity<?> refreshToken() {
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            
-            if (authentication == null || !authentication.isAuthenticated()) {
-                return ResponseEntity.status(401).body(AuthResponse.message("User not authenticated"));
-            }
+            AuthTokenService.TokenPair tokens = authTokenService.refresh(request.getRefreshToken());
 
-            User user = (User) authentication.getPrincipal();
-            String newToken = jwtTokenProvider.generateToken(user);
-            
-            log.info("🔄 Token refreshed for user: {}", user.getEmail());
-
-            return ResponseEntity.ok(AuthResponse.success(
-                newToken,
-                user.getId(),
-                user.getName(),
-                user.getEmail(),
-                user.getRole().name()
-            ));
+            return ResponseEntity.ok(AuthResponse.builder()
+                .token(tokens.accessToken())
+                .refreshToken(tokens.refreshToken())
+                .expiresIn(tokens.expiresInSeconds())
+                .message("Token refreshed successfully")
+                .build());
 
-        } catch (Exception e) {
-            log.error("❌ Token refresh failed: {}", e.getMessage());
-            return ResponseEntity.status(500).body(AuthResponse.message(
+        } catch (AuthenticationException e) {
+            log.warn("⚠️ Token refresh rejected: {}", e.getMessage());
+            return ResponseEntity.status(401).body(AuthResponse.message(
                 "Token refresh failed: " + e.getMessage()
             ));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package com.borakgul.demo.controller;
+
+import com.borakgul.demo.dto.CreateJobRequest;
+import com.borakgul.demo.dto.JobResponse;
+import com.borakgul.demo.service.JobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * ⚙️ Job Controller
+ * Uzun süren toplu işlemleri kuyruğa alma, ilerleme takibi ve iptal endpoint'leri
+ * Job'lar tüm kullanıcıların task'larına dokunur (toplu durum değişikliği, silme, export); sadece ADMIN
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@Slf4j
+public class JobController {
+    
+    private final JobService jobService;
+    
+    @PostMapping
+    public ResponseEntity<JobResponse> submitJob(@Valid @RequestBody CreateJobRequest request) {
+        log.info("REST request to submit job: {}", request.getType());
+        JobResponse response = jobService.submit(request);
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+    
+    @GetMapping
+    public ResponseEntity<Page<JobResponse>> getJobs(@RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        log.info("REST request to get jobs");
+        return ResponseEntity.ok(jobService.getJobs(PageRequest.of(page, size)));
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<JobResponse> getJob(@PathVariable Long id) {
+        log.info("REST request to get job ID: {}", id);
+        return ResponseEntity.ok(jobService.getJob(id));
+    }
+    
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<JobResponse> cancelJob(@PathVariable Long id) {
+        log.info("REST request to cancel job ID: {}", id);
+        return ResponseEntity.ok(jobService.cancel(id));
+    }
+}
@@ -0,0 +1,41 @@
+package com.borakgul.demo.controller;
+
+import com.borakgul.demo.token.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 🗝️ JWKS Controller - token'ları doğrulayan servisler için public anahtarlar
+ * Cache-Control max-age rotation aralığından kısa tutulmalı; yeni anahtar imzalamadan önce yayınlandığı
+ * için cache'ler onu zamanında öğrenir. Değişmediyse If-None-Match ile 304 döner.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+
+    @Value("${app.jwt.keys.jwks-max-age-seconds:3600}")
+    private long maxAgeSeconds;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        String etag = keyRing.jwksETag();
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(keyRing.jwks());
+    }
+}
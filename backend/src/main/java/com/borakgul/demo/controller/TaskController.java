@@ -1,10 +1,17 @@
 package com.borakgul.demo.controller;
 
 import com.borakgul.demo.dto.CreateTaskRequest;
+import com.borakgul.demo.dto.TaskFilter;
 import com.borakgul.demo.dto.TaskResponse;
+import com.borakgul.demo.dto.TaskStatsResponse;
 import com.borakgul.demo.dto.UpdateTaskRequest;
+import com.borakgul.demo.exception.PreconditionFailedException;
 import com.borakgul.demo.model.Priority;
 import com.borakgul.demo.model.TaskStatus;
+import com.borakgul.demo.model.User;
+import com.borakgul.demo.repository.TaskSortField;
+import com.borakgul.demo.service.IdempotencyService;
+import com.borakgul.demo.service.SingleFlightService;
 import com.borakgul.demo.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -13,12 +20,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -28,82 +42,117 @@ import java.util.Map;
 public class TaskController {
     
     private final TaskService taskService;
+    private final IdempotencyService idempotencyService;
+    private final SingleFlightService singleFlightService;
     
     @PostMapping
-    public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody CreateTaskRequest request) {
+    public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody CreateTaskRequest request,
+                                                  @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         log.info("REST request to create task: {}", request.getTitle());
-        TaskResponse response = taskService.createTask(request);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        return idempotencyService.execute(idempotencyKey, "POST /api/tasks", request, () -> {
+            TaskResponse response = taskService.createTask(request);
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        });
     }
     
     @GetMapping
     public ResponseEntity<List<TaskResponse>> getAllTasks() {
         log.info("REST request to get all tasks");
-        List<TaskResponse> tasks = taskService.getAllTasks();
+        List<TaskResponse> tasks = singleFlightService.execute(
+                SingleFlightService.key(callerScope(), "getAllTasks"),
+                taskService::getAllTasks);
         return ResponseEntity.ok(tasks);
     }
     
+    // Çağıranın kendi task'ları (working set cache'ten); size verilmezse app.tasks.mine.max-page-size
+    @GetMapping("/mine")
+    public ResponseEntity<List<TaskResponse>> getMyTasks(@RequestParam(required = false) TaskStatus status,
+                                                         @RequestParam(required = false) Priority priority,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(required = false) Integer size) {
+        log.info("REST request to get own tasks - Status: {}, Priority: {}", status, priority);
+        return ResponseEntity.ok(taskService.getMyTasks(status, priority, page, size));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id) {
         log.info("REST request to get task by ID: {}", id);
         TaskResponse task = taskService.getTaskById(id);
-        return ResponseEntity.ok(task);
+        return withETag(task);
     }
     
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTask(@PathVariable Long id, 
-                                                  @Valid @RequestBody UpdateTaskRequest request) {
+                                                  @Valid @RequestBody UpdateTaskRequest request,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                  @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         log.info("REST request to update task ID: {}", id);
-        TaskResponse response = taskService.updateTask(id, request);
-        return ResponseEntity.ok(response);
+        return idempotencyService.execute(idempotencyKey, "PUT /api/tasks/" + id, request, () ->
+                withETag(taskService.updateTask(id, request, parseIfMatch(ifMatch))));
     }
     
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, String>> deleteTask(@PathVariable Long id) {
+    public ResponseEntity<Map<String, String>> deleteTask(@PathVariable Long id,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                          @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         log.info("REST request to delete task ID: {}", id);
-        taskService.deleteTask(id);
-        return ResponseEntity.ok(Map.of("message", "Task deleted successfully"));
+        return idempotencyService.execute(idempotencyKey, "DELETE /api/tasks/" + id, null, () -> {
+            taskService.deleteTask(id, parseIfMatch(ifMatch));
+            return ResponseEntity.ok(Map.of("message", "Task deleted successfully"));
+        });
     }
     
     @PatchMapping("/{id}/complete")
-    public ResponseEntity<TaskResponse> markTaskAsCompleted(@PathVariable Long id) {
+    public ResponseEntity<TaskResponse> markTaskAsCompleted(@PathVariable Long id,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                           @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         log.info("REST request to mark task as completed ID: {}", id);
-        TaskResponse response = taskService.markTaskAsCompleted(id);
-        return ResponseEntity.ok(response);
+        return idempotencyService.execute(idempotencyKey, "PATCH /api/tasks/" + id + "/complete", null, () ->
+                withETag(taskService.markTaskAsCompleted(id, parseIfMatch(ifMatch))));
     }
     
     @PatchMapping("/{id}/pending")
-    public ResponseEntity<TaskResponse> markTaskAsPending(@PathVariable Long id) {
+    public ResponseEntity<TaskResponse> markTaskAsPending(@PathVariable Long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         log.info("REST request to mark task as pending ID: {}", id);
-        TaskResponse response = taskService.markTaskAsPending(id);
-        return ResponseEntity.ok(response);
+        return idempotencyService.execute(idempotencyKey, "PATCH /api/tasks/" + id + "/pending", null, () ->
+                withETag(taskService.markTaskAsPending(id, parseIfMatch(ifMatch))));
     }
     
     @GetMapping("/status/{status}")
     public ResponseEntity<List<TaskResponse>> getTasksByStatus(@PathVariable TaskStatus status) {
         log.info("REST request to get tasks by status: {}", status);
-        List<TaskResponse> tasks = taskService.getTasksByStatus(status);
+        List<TaskResponse> tasks = singleFlightService.execute(
+                SingleFlightService.key(callerScope(), "getTasksByStatus", status),
+                () -> taskService.getTasksByStatus(status));
         return ResponseEntity.ok(tasks);
     }
     
     @GetMapping("/overdue")
     public ResponseEntity<List<TaskResponse>> getOverdueTasks() {
         log.info("REST request to get overdue tasks");
-        List<TaskResponse> tasks = taskService.getOverdueTasks();
+        List<TaskResponse> tasks = singleFlightService.execute(
+                SingleFlightService.key(callerScope(), "getOverdueTasks"),
+                taskService::getOverdueTasks);
         return ResponseEntity.ok(tasks);
     }
     
     @GetMapping("/high-priority")
     public ResponseEntity<List<TaskResponse>> getHighPriorityTasks() {
         log.info("REST request to get high priority tasks");
-        List<TaskResponse> tasks = taskService.getHighPriorityTasks();
+        List<TaskResponse> tasks = singleFlightService.execute(
+                SingleFlightService.key(callerScope(), "getHighPriorityTasks"),
+                taskService::getHighPriorityTasks);
         return ResponseEntity.ok(tasks);
     }
     
     @GetMapping("/search")
     public ResponseEntity<List<TaskResponse>> searchTasks(@RequestParam String title) {
         log.info("REST request to search tasks by title: {}", title);
-        List<TaskResponse> tasks = taskService.searchTasksByTitle(title);
+        List<TaskResponse> tasks = singleFlightService.execute(
+                SingleFlightService.key(callerScope(), "searchTasksByTitle", title),
+                () -> taskService.searchTasksByTitle(title));
         return ResponseEntity.ok(tasks);
     }
     
@@ -112,23 +161,83 @@ public class TaskController {
             @RequestParam(required = false) TaskStatus status,
             @RequestParam(required = false) Priority priority,
             @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir) {
         
-        log.info("REST request to filter tasks - Status: {}, Priority: {}, Completed: {}", 
-                status, priority, completed);
+        TaskFilter filter = new TaskFilter(status, priority, completed, dueFrom, dueTo, createdFrom, createdTo);
+        log.info("REST request to filter tasks - {}", filter);
         
+        // Sadece whitelist'teki (index'li) alanlarla sıralama; bilinmeyen alan 400 döner
+        String sortProperty = TaskSortField.fromProperty(sortBy).getProperty();
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
-                Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+                Sort.by(sortProperty).descending() : Sort.by(sortProperty).ascending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<TaskResponse> tasks = taskService.getTasksWithFilters(status, priority, completed, pageable);
+        Page<TaskResponse> tasks = singleFlightService.execute(
+                SingleFlightService.key(callerScope(), "getTasksWithFilters", filter,
+                        pageable.getPageNumber(), pageable.getPageSize(), sort),
+                () -> taskService.getTasksWithFilters(filter, pageable));
         
         return ResponseEntity.ok(tasks);
     }
     
+    // Status / priority / completed dağılımı; mine = çağıran kullanıcının task sayısı
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getTaskStats() {
+        log.info("REST request to get task stats");
+        return ResponseEntity.ok(taskService.getTaskStats(callerId()));
+    }
+    
+    // Single-flight key'lerinde caller scope: farklı kullanıcıların sonuçları paylaşılmaz
+    private String callerScope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+    
+    private Long callerId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof User user ? user.getId() : null;
+    }
+    
+    // ETag = task version; client'lar bunu If-Match ile geri gönderir
+    private ResponseEntity<TaskResponse> withETag(TaskResponse task) {
+        if (task.getVersion() == null) {
+            return ResponseEntity.ok(task);
+        }
+        return ResponseEntity.ok().eTag(String.valueOf(task.getVersion())).body(task);
+    }
+    
+    // If-Match: * (herhangi bir versiyon) ya da "3", "4" gibi liste; güçlü karşılaştırma (RFC 9110 §13.1.1),
+    // W/ ile başlayan zayıf tag'ler ve sayısal olmayan tag'ler hiçbir versiyonla eşleşmez
+    private Set<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        // Birden fazla If-Match satırı Spring tarafından virgülle birleştirilir
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            if (value.length() < 3 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+                continue;
+            }
+            try {
+                versions.add(Long.parseLong(value.substring(1, value.length() - 1)));
+            } catch (NumberFormatException e) {
+                // Bu sunucunun üretmediği bir tag: eşleşmez
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match has no strong version ETag: " + ifMatch, null);
+        }
+        return versions;
+    }
+    
     // Health check endpoint
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> healthCheck() {
@@ -0,0 +1,241 @@
+package com.borakgul.demo.dataset;
+
+import com.borakgul.demo.model.Priority;
+import com.borakgul.demo.model.TaskStatus;
+import com.borakgul.demo.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 🏭 Synthetic Data Loader - performans testleri için büyük, tekrarlanabilir veri seti
+ * Sadece "perf-data" profiliyle çalışır (--spring.profiles.active=perf-data); users tablosu boşsa yükler.
+ *
+ * AOT ile çalışan image'da (Dockerfile: -Pstartup process-aot + -Dspring.aot.enabled=true) @Profile build
+ * sırasında çözülür: runtime'da --spring.profiles.active=perf-data verilse de bu bean yoktur ve hiçbir şey
+ * yüklenmez. Desteklenen yollar:
+ *  - profili build'de ver: docker build --build-arg AOT_PROFILES=perf-data ./backend
+ *    (mvn -Pstartup package "-Dspring-boot.aot.jvmArguments=-Dspring.profiles.active=perf-data")
+ *  - AOT'siz başlat: docker run --entrypoint java &lt;image&gt; -jar application.jar --spring.profiles.active=perf-data
+ *
+ * Dağılımlar: task sahipleri Zipf (az sayıda kullanıcı task'ların çoğuna sahip), priority/status ağırlıklı,
+ * createdAt history-days boyunca ID ile birlikte artar (bitmap index'in created-at-follows-id varsayımı),
+ * açık task'ların overdue-fraction kadarı overdue, bir kısmının dueDate'i yok.
+ * Aynı seed aynı veri setini üretir; zaman damgaları yükleme anına göre aynı ofsetlerle yazılır.
+ *
+ * Yükleme JPA yerine batch'lenmiş JDBC insert'lerle yapılır (batch başına tek transaction). Tüm kullanıcılar
+ * aynı şifreyi paylaşır; BCrypt bir kez hesaplanır ya da password-hash ile hazır verilir.
+ * PostgreSQL'de JDBC URL'ine reWriteBatchedInserts=true eklenmeli (batch tek çok satırlı INSERT olur).
+ */
+@Component
+@Profile("perf-data")
+@Slf4j
+public class SyntheticDataLoader implements CommandLineRunner {
+
+    private static final String INSERT_USER = "INSERT INTO users (name, email, password, role, is_enabled, " +
+            "is_account_non_expired, is_account_non_locked, is_credentials_non_expired, token_version, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, TRUE, TRUE, TRUE, TRUE, 0, ?, ?)";
+    private static final String INSERT_TASK = "INSERT INTO tasks (title, description, status, priority, due_date, " +
+            "user_id, created_at, updated_at, completed, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String[] VERBS = {"Implement", "Fix", "Review", "Refactor", "Document", "Test",
+            "Deploy", "Design", "Investigate", "Update", "Migrate", "Optimize"};
+    private static final String[] SUBJECTS = {"login flow", "task API", "database schema", "CI pipeline",
+            "payment module", "search index", "notification service", "user settings", "report export",
+            "cache layer", "audit log", "mobile layout", "onboarding emails", "rate limiter", "backup job"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final int userCount;
+    private final long taskCount;
+    private final long seed;
+    private final int batchSize;
+    private final double zipfExponent;
+    private final int[] priorityWeights;
+    private final int[] statusWeights;
+    private final int historyDays;
+    private final int dueSpreadDays;
+    private final double noDueDateFraction;
+    private final double overdueFraction;
+    private final String password;
+    private final String passwordHash;
+
+    public SyntheticDataLoader(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               PasswordEncoder passwordEncoder,
+                               @Value("${app.perf-data.users:5000}") int userCount,
+                               @Value("${app.perf-data.tasks:1000000}") long taskCount,
+                               @Value("${app.perf-data.seed:42}") long seed,
+                               @Value("${app.perf-data.batch-size:5000}") int batchSize,
+                               @Value("${app.perf-data.zipf-exponent:1.1}") double zipfExponent,
+                               @Value("${app.perf-data.priority-weights:40,35,20,5}") int[] priorityWeights,
+                               @Value("${app.perf-data.status-weights:45,20,10,25}") int[] statusWeights,
+                               @Value("${app.perf-data.history-days:365}") int historyDays,
+                               @Value("${app.perf-data.due-spread-days:60}") int dueSpreadDays,
+                               @Value("${app.perf-data.no-due-date-fraction:0.1}") double noDueDateFraction,
+                               @Value("${app.perf-data.overdue-fraction:0.15}") double overdueFraction,
+                               @Value("${app.perf-data.password:perf-password}") String password,
+                               @Value("${app.perf-data.password-hash:}") String passwordHash) {
+        if (priorityWeights.length != Priority.values().length || statusWeights.length != TaskStatus.values().length) {
+            throw new IllegalArgumentException("app.perf-data weights need one entry per priority ("
+                    + Priority.values().length + ") and per status (" + TaskStatus.values().length + ")");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.userCount = userCount;
+        this.taskCount = taskCount;
+        this.seed = seed;
+        this.batchSize = batchSize;
+        this.zipfExponent = zipfExponent;
+        this.priorityWeights = priorityWeights;
+        this.statusWeights = statusWeights;
+        this.historyDays = historyDays;
+        this.dueSpreadDays = dueSpreadDays;
+        this.noDueDateFraction = noDueDateFraction;
+        this.overdueFraction = overdueFraction;
+        this.password = password;
+        this.passwordHash = passwordHash;
+    }
+
+    @Override
+    public void run(String... args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("🏭 Users table is not empty ({} rows), skipping synthetic data", existing);
+            return;
+        }
+
+        log.info("🏭 Generating synthetic data: {} users, {} tasks, seed {}", userCount, taskCount, seed);
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        SplittableRandom random = new SplittableRandom(seed);
+
+        List<Long> userIds = loadUsers(now);
+        long tasksLoaded = loadTasks(now, userIds, random);
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        log.info("✅ Synthetic data loaded: {} users, {} tasks in {} s ({} rows/s); admin is user0@perf.example.com",
+                userIds.size(), tasksLoaded, String.format("%.1f", seconds),
+                (long) ((userIds.size() + tasksLoaded) / Math.max(seconds, 0.001)));
+    }
+
+    // Kullanıcılar: user0 ADMIN, diğerleri USER; hepsi tek bir hazır hash ile
+    private List<Long> loadUsers(LocalDateTime now) {
+        String hash = passwordHash.isBlank() ? passwordEncoder.encode(password) : passwordHash;
+        Timestamp createdAt = Timestamp.valueOf(now.minusDays(historyDays));
+        for (int from = 0; from < userCount; from += batchSize) {
+            List<Object[]> rows = new ArrayList<>(Math.min(batchSize, userCount - from));
+            for (int i = from; i < Math.min(from + batchSize, userCount); i++) {
+                User.Role role = i == 0 ? User.Role.ADMIN : User.Role.USER;
+                rows.add(new Object[]{"Perf User " + i, "user" + i + "@perf.example.com", hash, role.name(),
+                        createdAt, createdAt});
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USER, rows));
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE '%@perf.example.com' ORDER BY id", Long.class);
+    }
+
+    private long loadTasks(LocalDateTime now, List<Long> userIds, SplittableRandom random) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        // Zipf rank → kullanıcı eşlemesi seed'li karıştırılır; yoğun kullanıcılar en küçük ID'ler olmasın
+        long[] owners = userIds.stream().mapToLong(Long::longValue).toArray();
+        for (int i = owners.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = owners[i];
+            owners[i] = owners[j];
+            owners[j] = swap;
+        }
+        ZipfianSampler ownerSampler = new ZipfianSampler(owners.length, zipfExponent);
+        Priority[] priorities = Priority.values();
+        TaskStatus[] statuses = TaskStatus.values();
+        LocalDateTime historyStart = now.minusDays(historyDays);
+        long historySeconds = historyDays * 86_400L;
+
+        long loaded = 0;
+        long progressStep = Math.max(taskCount / 10, 1);
+        while (loaded < taskCount) {
+            int size = (int) Math.min(batchSize, taskCount - loaded);
+            List<Object[]> rows = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                long index = loaded + i;
+                // ID sırasıyla artan createdAt
+                LocalDateTime createdAt = historyStart.plusSeconds(historySeconds * index / taskCount);
+                TaskStatus status = statuses[pick(statusWeights, random)];
+                boolean completed = status == TaskStatus.DONE;
+                LocalDateTime updatedAt = earliest(createdAt.plusSeconds(random.nextLong(7 * 86_400L)), now);
+                rows.add(new Object[]{
+                        VERBS[random.nextInt(VERBS.length)] + " " + SUBJECTS[random.nextInt(SUBJECTS.length)] + " #" + (index + 1),
+                        random.nextInt(3) == 0 ? null : "Synthetic task " + (index + 1) + " for load testing",
+                        status.name(),
+                        priorities[pick(priorityWeights, random)].name(),
+                        timestamp(dueDate(createdAt, completed, now, random)),
+                        owners[ownerSampler.sample(random)],
+                        Timestamp.valueOf(createdAt),
+                        Timestamp.valueOf(updatedAt),
+                        completed
+                });
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_TASK, rows));
+            long before = loaded;
+            loaded += size;
+            if (loaded / progressStep != before / progressStep) {
+                log.info("🏭 {} / {} tasks", loaded, taskCount);
+            }
+        }
+        return loaded;
+    }
+
+    // Açık task'ların overdueFraction'ı geçmişte, kalanı gelecekte; tamamlananlarınki oluşturulmasından sonra
+    private LocalDateTime dueDate(LocalDateTime createdAt, boolean completed, LocalDateTime now, SplittableRandom random) {
+        if (random.nextDouble() < noDueDateFraction) {
+            return null;
+        }
+        long spreadSeconds = Math.max(dueSpreadDays, 1) * 86_400L;
+        if (completed) {
+            return createdAt.plusSeconds(1 + random.nextLong(spreadSeconds));
+        }
+        if (random.nextDouble() < overdueFraction) {
+            return now.minusSeconds(1 + random.nextLong(spreadSeconds));
+        }
+        return now.plusSeconds(1 + random.nextLong(spreadSeconds));
+    }
+
+    private static int pick(int[] weights, SplittableRandom random) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+}
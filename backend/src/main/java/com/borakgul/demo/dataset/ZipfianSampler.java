@@ -0,0 +1,40 @@
+package com.borakgul.demo.dataset;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 📉 Zipf dağılımından rank örnekleyici - P(k) ∝ 1 / (k+1)^exponent, k ∈ [0, n)
+ * Kümülatif olasılıklar bir kez hesaplanır, her örnek bir binary search'tür (n binlerce kullanıcı için yeterli).
+ * Rank 0 en yoğun olandır; çağıran rank'ı gerçek kayda kendi (seed'li) permütasyonuyla eşler.
+ */
+public class ZipfianSampler {
+
+    private final double[] cumulative;
+
+    public ZipfianSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Zipfian sampler needs at least one rank");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+        // Yuvarlama hatası son aralığı kapatmasın
+        cumulative[n - 1] = 1.0;
+    }
+
+    public int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+}
@@ -0,0 +1,43 @@
+package com.borakgul.demo.dto;
+
+import com.borakgul.demo.model.ArchivedTask;
+import com.borakgul.demo.model.Priority;
+import com.borakgul.demo.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTaskResponse {
+    
+    private Long id;
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private Priority priority;
+    private LocalDateTime dueDate;
+    private Long userId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Boolean completed;
+    private LocalDateTime archivedAt;
+    
+    // Convenience constructor from Entity
+    public ArchivedTaskResponse(ArchivedTask task) {
+        this.id = task.getId();
+        this.title = task.getTitle();
+        this.description = task.getDescription();
+        this.status = task.getStatus();
+        this.priority = task.getPriority();
+        this.dueDate = task.getDueDate();
+        this.userId = task.getUserId();
+        this.createdAt = task.getCreatedAt();
+        this.updatedAt = task.getUpdatedAt();
+        this.completed = task.getCompleted();
+        this.archivedAt = task.getArchivedAt();
+    }
+}
@@ -16,6 +16,8 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
 
     private String token;
+    private String refreshToken;
+    private Long expiresIn;
     @Builder.Default
     private String type = "Bearer";
     private Long id;
@@ -24,10 +26,13 @@ public class AuthResponse {
     private String role;
     private String message;
 
-    // JWT token ile birlikte kullanıcı bilgileri döndüren constructor
-    public static AuthResponse success(String token, Long id, String name, String email, String role) {
+    // Access + refresh token ile birlikte kullanıcı bilgileri döndüren constructor (expiresIn: access token, saniye)
+    public static AuthResponse success(String token, String refreshToken, long expiresIn,
+                                       Long id, String name, String email, String role) {
         return AuthResponse.builder()
                 .token(token)
+                .refreshToken(refreshToken)
+                .expiresIn(expiresIn)
                 .type("Bearer")
                 .id(id)
                 .name(name)
@@ -0,0 +1,22 @@
+package com.borakgul.demo.dto;
+
+import com.borakgul.demo.model.JobType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateJobRequest {
+    
+    @NotNull(message = "Job type is required")
+    private JobType type;
+    
+    // Job tipine özel: BULK_STATUS_CHANGE → status, CLEANUP_COMPLETED → olderThanDays
+    private Map<String, Object> parameters = new HashMap<>();
+}
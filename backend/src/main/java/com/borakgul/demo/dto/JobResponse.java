@@ -0,0 +1,61 @@
+package com.borakgul.demo.dto;
+
+import com.borakgul.demo.model.Job;
+import com.borakgul.demo.model.JobStatus;
+import com.borakgul.demo.model.JobType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobResponse {
+    
+    private Long id;
+    private JobType type;
+    private JobStatus status;
+    private Long processedCount;
+    private Long affectedCount;
+    private Long totalCount;
+    private Double progress;
+    private Long checkpoint;
+    private Boolean cancelRequested;
+    private String result;
+    private String errorMessage;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    
+    // Convenience constructor from Entity
+    public JobResponse(Job job) {
+        this.id = job.getId();
+        this.type = job.getType();
+        this.status = job.getStatus();
+        this.processedCount = job.getProcessedCount();
+        this.affectedCount = job.getAffectedCount();
+        this.totalCount = job.getTotalCount();
+        this.progress = progressOf(job);
+        this.checkpoint = job.getCheckpoint();
+        this.cancelRequested = job.getCancelRequested();
+        this.result = job.getResult();
+        this.errorMessage = job.getErrorMessage();
+        this.createdBy = job.getCreatedBy();
+        this.createdAt = job.getCreatedAt();
+        this.startedAt = job.getStartedAt();
+        this.finishedAt = job.getFinishedAt();
+    }
+    
+    private static Double progressOf(Job job) {
+        if (job.getStatus() == JobStatus.COMPLETED) {
+            return 100.0;
+        }
+        if (job.getTotalCount() == null || job.getTotalCount() == 0) {
+            return null;
+        }
+        return Math.min(100.0, job.getProcessedCount() * 100.0 / job.getTotalCount());
+    }
+}
@@ -0,0 +1,47 @@
+package com.borakgul.demo.dto;
+
+import com.borakgul.demo.model.Priority;
+import com.borakgul.demo.model.Task;
+import com.borakgul.demo.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 🔎 /api/tasks/filter kriterleri; null alanlar sorguya hiç girmez
+ * Aralıklar yarı açık: from dahil, to hariç.
+ */
+public record TaskFilter(TaskStatus status,
+                         Priority priority,
+                         Boolean completed,
+                         LocalDateTime dueFrom,
+                         LocalDateTime dueTo,
+                         LocalDateTime createdFrom,
+                         LocalDateTime createdTo) {
+
+    public TaskFilter {
+        requireOrdered(dueFrom, dueTo, "dueFrom", "dueTo");
+        requireOrdered(createdFrom, createdTo, "createdFrom", "createdTo");
+    }
+
+    /**
+     * Sadece eşitlik kriterleri (status/priority/completed) mi var - bitmap index bunları çözebilir
+     */
+    public boolean isEqualityOnly() {
+        return dueFrom == null && dueTo == null && createdFrom == null && createdTo == null;
+    }
+
+    /**
+     * Eşitlik kriterlerine uyuyor mu (index'ten gelen satırları son kez doğrulamak için)
+     */
+    public boolean matches(Task task) {
+        return (status == null || status == task.getStatus())
+                && (priority == null || priority == task.getPriority())
+                && (completed == null || completed.equals(task.getCompleted()));
+    }
+
+    private static void requireOrdered(LocalDateTime from, LocalDateTime to, String fromName, String toName) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException(fromName + " must be before " + toName);
+        }
+    }
+}
@@ -24,6 +24,7 @@ public class TaskResponse {
     private LocalDateTime updatedAt;
     private Boolean completed;
     private Boolean overdue;
+    private Long version;
     
     // Convenience constructor from Entity
     public TaskResponse(Task task) {
@@ -37,5 +38,6 @@ public class TaskResponse {
         this.updatedAt = task.getUpdatedAt();
         this.completed = task.getCompleted();
         this.overdue = task.isOverdue();
+        this.version = task.getVersion();
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.borakgul.demo.dto;
+
+import com.borakgul.demo.model.Priority;
+import com.borakgul.demo.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsResponse {
+    
+    private long total;
+    private long completed;
+    private long pending;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<Priority, Long> byPriority;
+    private long mine;
+    // "index" (bitmap index) veya "database" (index hazır değilken)
+    private String source;
+}
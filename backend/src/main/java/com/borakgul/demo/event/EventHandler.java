@@ -0,0 +1,10 @@
+package com.borakgul.demo.event;
+
+/**
+ * 🎧 Ring buffer consumer'ı
+ * endOfBatch: o an okunabilen son olay; batch'leyen handler'lar (flush, group commit) burada yazar.
+ */
+public interface EventHandler<E> {
+
+    void onEvent(E event, long sequence, boolean endOfBatch) throws Exception;
+}
@@ -0,0 +1,92 @@
+package com.borakgul.demo.event;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🔄 Tek consumer döngüsü: hazır olan aralığı (en fazla maxBatch) okur, handler'a verir, sequence'ı ilerletir
+ * Handler hatası olayı atlar ve döngüyü durdurmaz; bus hiçbir zaman tek bir consumer yüzünden tıkanmaz.
+ */
+@Slf4j
+public class EventProcessor<E> implements Runnable {
+
+    // Bekleme stratejilerinin eşikleri bunun altında; sayaç burada doyar, uzun boşta taşıp spin'e dönmez
+    private static final int MAX_IDLE_ATTEMPT = 1000;
+
+    private final String name;
+    private final RingBuffer<E> ringBuffer;
+    private final EventHandler<E> handler;
+    private final AtomicLong sequence;
+    private final int maxBatch;
+    private final AtomicLong errors = new AtomicLong();
+    private volatile boolean running = true;
+
+    public EventProcessor(String name, RingBuffer<E> ringBuffer, EventHandler<E> handler, int maxBatch) {
+        this.name = name;
+        this.ringBuffer = ringBuffer;
+        this.handler = handler;
+        this.sequence = ringBuffer.addConsumer();
+        this.maxBatch = maxBatch;
+    }
+
+    @Override
+    public void run() {
+        WaitStrategy waitStrategy = ringBuffer.waitStrategy();
+        int idle = 0;
+        try {
+            while (running) {
+                if (processAvailable()) {
+                    idle = 0;
+                } else {
+                    waitStrategy.idle(idle);
+                    idle = Math.min(idle + 1, MAX_IDLE_ATTEMPT);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Kapanışta buffer'da kalanları işle
+        while (processAvailable()) {
+            // drain
+        }
+        ringBuffer.removeConsumer(sequence);
+    }
+
+    public void halt() {
+        running = false;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Yayınlanmış ama bu consumer'ın henüz işlemediği olay sayısı
+     */
+    public long lag() {
+        return Math.max(0, ringBuffer.cursor() - sequence.get());
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+
+    private boolean processAvailable() {
+        long next = sequence.get() + 1;
+        long available = ringBuffer.highestPublished(next, Math.min(ringBuffer.cursor(), next + maxBatch - 1));
+        if (available < next) {
+            return false;
+        }
+        for (long current = next; current <= available; current++) {
+            try {
+                handler.onEvent(ringBuffer.get(current), current, current == available);
+            } catch (Exception e) {
+                errors.incrementAndGet();
+                log.error("❌ Event handler {} failed at sequence {}: {}", name, current, e.getMessage(), e);
+            }
+        }
+        sequence.set(available);
+        return true;
+    }
+}
@@ -0,0 +1,136 @@
+package com.borakgul.demo.event;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 💍 Sınırlı, lock-free, çok üreticili ring buffer (Disruptor modeli)
+ * - Kapasite 2'nin kuvveti: slot indeksi = sequence & mask
+ * - Producer'lar slot'u CAS ile claim eder; en yavaş consumer'ı geçemezler (back-pressure)
+ * - Her slot'un "round" değeri (sequence >>> indexShift) yayınlanma bayrağıdır; consumer'lar
+ *   sadece kesintisiz yayınlanmış aralığı batch olarak okur
+ * - Her consumer kendi sequence'ını tutar; tüm consumer'lar tüm olayları görür
+ * Consumer'lar ilk publish'ten önce eklenmelidir.
+ */
+public final class RingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final int indexShift;
+    private final Object[] entries;
+    private final AtomicIntegerArray availability;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final CopyOnWriteArrayList<AtomicLong> gatingSequences = new CopyOnWriteArrayList<>();
+    private final WaitStrategy waitStrategy;
+
+    public RingBuffer(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        this.entries = new Object[capacity];
+        this.availability = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            availability.set(i, -1);
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * 🎧 Yeni consumer sequence'ı; consumer bu değerden sonraki olayları okur
+     */
+    public AtomicLong addConsumer() {
+        AtomicLong sequence = new AtomicLong(claimed.get());
+        gatingSequences.add(sequence);
+        return sequence;
+    }
+
+    public void removeConsumer(AtomicLong sequence) {
+        gatingSequences.remove(sequence);
+    }
+
+    /**
+     * Buffer doluysa (en yavaş consumer bir tur geride) beklemeden false döner
+     */
+    public boolean tryPublish(E event) {
+        long current;
+        long next;
+        do {
+            current = claimed.get();
+            next = current + 1;
+            if (next - capacity > minimumGatingSequence(current)) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(current, next));
+
+        int index = (int) next & mask;
+        entries[index] = event;
+        // Volatile yazım: consumer availability'yi okuduktan sonra entry'yi de görür
+        availability.set(index, (int) (next >>> indexShift));
+        waitStrategy.signalAll();
+        return true;
+    }
+
+    /**
+     * Yer açılana kadar en fazla timeoutNanos bekler; süre dolarsa false
+     */
+    public boolean publish(E event, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        int attempt = 0;
+        while (!tryPublish(event)) {
+            if (System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            if (attempt++ < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(10_000);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * from..to aralığında kesintisiz yayınlanmış en yüksek sequence; from bile hazır değilse from - 1
+     */
+    public long highestPublished(long from, long to) {
+        for (long sequence = from; sequence <= to; sequence++) {
+            if (availability.get((int) sequence & mask) != (int) (sequence >>> indexShift)) {
+                return sequence - 1;
+            }
+        }
+        return to;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[(int) sequence & mask];
+    }
+
+    /**
+     * Claim edilmiş en yüksek sequence (henüz yayınlanmamış olabilir)
+     */
+    public long cursor() {
+        return claimed.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public WaitStrategy waitStrategy() {
+        return waitStrategy;
+    }
+
+    private long minimumGatingSequence(long fallback) {
+        long minimum = fallback;
+        for (AtomicLong sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+}
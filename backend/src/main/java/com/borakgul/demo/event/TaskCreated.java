@@ -0,0 +1,11 @@
+package com.borakgul.demo.event;
+
+import java.time.Instant;
+
+public record TaskCreated(TaskSnapshot task, Instant occurredAt) implements TaskEvent {
+
+    @Override
+    public Long taskId() {
+        return task.id();
+    }
+}
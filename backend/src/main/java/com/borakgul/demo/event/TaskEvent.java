@@ -0,0 +1,13 @@
+package com.borakgul.demo.event;
+
+import java.time.Instant;
+
+/**
+ * 📣 Task domain olayları - TaskService mutation'ları commit edildikten sonra yayınlanır
+ */
+public sealed interface TaskEvent permits TaskCreated, TaskUpdated, TaskDeleted {
+
+    Long taskId();
+
+    Instant occurredAt();
+}
@@ -0,0 +1,138 @@
+package com.borakgul.demo.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🚌 Task Event Bus - process içi domain olayları için sınırlı ring buffer
+ * TaskService olayları commit sonrası yayınlar; her {@link TaskEventHandler} kendi thread'inde,
+ * yayın sırasıyla ve batch'ler halinde tüketir. Kuyruk sınırsız büyümez: buffer dolunca
+ * overflow politikası "block" ise publisher publish-timeout kadar bekler, "drop" ise olay düşürülür
+ * ve sayılır. Dayanıklı (restart'a dayanan) teslimat gereken yerde outbox kullanılmalı.
+ */
+@Component
+@Slf4j
+public class TaskEventBus implements SmartLifecycle {
+
+    private final RingBuffer<TaskEvent> ringBuffer;
+    private final List<EventProcessor<TaskEvent>> processors = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private final boolean blockOnOverflow;
+    private final long publishTimeoutNanos;
+    private final Counter published;
+    private final Counter dropped;
+    private volatile boolean running;
+
+    public TaskEventBus(ObjectProvider<TaskEventHandler> handlers,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.events.ring-size:1024}") int ringSize,
+                        @Value("${app.events.wait-strategy:sleeping}") String waitStrategy,
+                        @Value("${app.events.max-batch:128}") int maxBatch,
+                        @Value("${app.events.overflow:block}") String overflow,
+                        @Value("${app.events.publish-timeout-ms:50}") long publishTimeoutMs) {
+        this.ringBuffer = new RingBuffer<>(ringSize, WaitStrategy.of(waitStrategy));
+        this.blockOnOverflow = switch (overflow) {
+            case "block" -> true;
+            case "drop" -> false;
+            default -> throw new IllegalArgumentException("Unknown event bus overflow policy: " + overflow);
+        };
+        this.publishTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(publishTimeoutMs);
+
+        // Consumer'lar ilk publish'ten önce bağlanmalı; bu yüzden constructor'da eklenir
+        handlers.orderedStream().forEach(handler -> {
+            EventProcessor<TaskEvent> processor =
+                    new EventProcessor<>(handler.name(), ringBuffer, handler, maxBatch);
+            processors.add(processor);
+            Gauge.builder("tasks.events.consumer.lag", processor, EventProcessor::lag)
+                    .tag("consumer", handler.name())
+                    .description("Events published but not yet handled by the consumer")
+                    .register(meterRegistry);
+            Gauge.builder("tasks.events.consumer.errors", processor, EventProcessor::errors)
+                    .tag("consumer", handler.name())
+                    .register(meterRegistry);
+        });
+
+        this.published = Counter.builder("tasks.events.published")
+                .description("Events accepted by the ring buffer")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("tasks.events.dropped")
+                .description("Events rejected because the ring buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("tasks.events.ring.capacity", ringBuffer, RingBuffer::capacity)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 📣 Aktif transaction varsa commit sonrası, yoksa hemen yayınla; rollback olursa olay hiç görülmez
+     */
+    public void publishAfterCommit(TaskEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(event);
+                }
+            });
+        } else {
+            publish(event);
+        }
+    }
+
+    public boolean publish(TaskEvent event) {
+        boolean accepted = blockOnOverflow
+                ? ringBuffer.publish(event, publishTimeoutNanos)
+                : ringBuffer.tryPublish(event);
+        if (accepted) {
+            published.increment();
+        } else {
+            dropped.increment();
+            log.warn("🚌 Event bus full, dropped {} for task {}", event.getClass().getSimpleName(), event.taskId());
+        }
+        return accepted;
+    }
+
+    @Override
+    public void start() {
+        for (EventProcessor<TaskEvent> processor : processors) {
+            Thread thread = new Thread(processor, "task-events-" + processor.name());
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        running = true;
+        log.info("🚌 Task event bus started: ring size {}, consumers {}", ringBuffer.capacity(), processors.size());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        // halt: consumer'lar buffer'da kalanları işleyip çıkar
+        processors.forEach(EventProcessor::halt);
+        for (Thread thread : threads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        threads.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,12 @@
+package com.borakgul.demo.event;
+
+/**
+ * TaskEventBus'a otomatik bağlanan consumer; her handler kendi thread'inde, tüm olayları sırayla görür
+ */
+public interface TaskEventHandler extends EventHandler<TaskEvent> {
+
+    /**
+     * Thread adı ve metrik tag'i
+     */
+    String name();
+}
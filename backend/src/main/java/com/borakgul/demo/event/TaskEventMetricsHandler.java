@@ -0,0 +1,44 @@
+package com.borakgul.demo.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 📊 Olay tipi bazında sayaç: tasks.events.handled{type=TaskCreated|TaskUpdated|TaskDeleted}
+ */
+@Component
+public class TaskEventMetricsHandler implements TaskEventHandler {
+
+    private final Counter created;
+    private final Counter updated;
+    private final Counter deleted;
+
+    public TaskEventMetricsHandler(MeterRegistry meterRegistry) {
+        this.created = counter(meterRegistry, "TaskCreated");
+        this.updated = counter(meterRegistry, "TaskUpdated");
+        this.deleted = counter(meterRegistry, "TaskDeleted");
+    }
+
+    @Override
+    public String name() {
+        return "metrics";
+    }
+
+    @Override
+    public void onEvent(TaskEvent event, long sequence, boolean endOfBatch) {
+        if (event instanceof TaskCreated) {
+            created.increment();
+        } else if (event instanceof TaskUpdated) {
+            updated.increment();
+        } else if (event instanceof TaskDeleted) {
+            deleted.increment();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("tasks.events.handled")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.borakgul.demo.event;
+
+import com.borakgul.demo.model.Priority;
+import com.borakgul.demo.model.Task;
+import com.borakgul.demo.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📸 Olay anındaki task durumu (değişmez kopya)
+ * Entity yerine bu taşınır: consumer'lar transaction ve lazy-loading dışında çalışır.
+ */
+public record TaskSnapshot(Long id,
+                           Long ownerId,
+                           String title,
+                           TaskStatus status,
+                           Priority priority,
+                           Boolean completed,
+                           LocalDateTime dueDate,
+                           Long version) {
+
+    public static TaskSnapshot of(Task task) {
+        // Lazy proxy'de getId() proxy'yi initialize etmez
+        Long ownerId = task.getUser() != null ? task.getUser().getId() : null;
+        return new TaskSnapshot(task.getId(), ownerId, task.getTitle(), task.getStatus(), task.getPriority(),
+                task.getCompleted(), task.getDueDate(), task.getVersion());
+    }
+}
@@ -0,0 +1,14 @@
+package com.borakgul.demo.event;
+
+import java.time.Instant;
+
+/**
+ * before: güncelleme öncesi durum (index/cache'lerden eski değeri çıkarmak için), after: commit edilen durum
+ */
+public record TaskUpdated(TaskSnapshot before, TaskSnapshot after, Instant occurredAt) implements TaskEvent {
+
+    @Override
+    public Long taskId() {
+        return after.id();
+    }
+}
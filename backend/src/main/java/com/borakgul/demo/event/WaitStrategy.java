@@ -0,0 +1,80 @@
+package com.borakgul.demo.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ⏳ Consumer'ın yeni olay yokken nasıl bekleyeceği
+ * busy-spin: en düşük gecikme, bir CPU çekirdeğini sürekli kullanır
+ * yielding:  kısa spin + Thread.yield
+ * sleeping:  spin → yield → parkNanos; düşük CPU, mikro-saniye seviyesinde gecikme (varsayılan)
+ * blocking:  lock/condition; en düşük CPU, producer her publish'te sinyal verir
+ */
+public interface WaitStrategy {
+
+    /**
+     * @param attempt art arda boş geçen tur sayısı (0'dan başlar, EventProcessor'da 1000'de sabitlenir)
+     */
+    void idle(int attempt) throws InterruptedException;
+
+    default void signalAll() {
+    }
+
+    static WaitStrategy of(String name) {
+        return switch (name) {
+            case "busy-spin" -> attempt -> Thread.onSpinWait();
+            case "yielding" -> attempt -> {
+                if (attempt < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            };
+            case "sleeping" -> attempt -> {
+                if (attempt < 100) {
+                    Thread.onSpinWait();
+                } else if (attempt < 200) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(100_000);
+                }
+            };
+            case "blocking" -> new Blocking();
+            default -> throw new IllegalArgumentException("Unknown wait strategy: " + name);
+        };
+    }
+
+    final class Blocking implements WaitStrategy {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+        private volatile int waiters;
+
+        @Override
+        public void idle(int attempt) throws InterruptedException {
+            lock.lock();
+            try {
+                waiters++;
+                // Timed: sinyal publish ile bekleme arasına düşerse en fazla 1ms gecikir
+                published.await(1, TimeUnit.MILLISECONDS);
+            } finally {
+                waiters--;
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void signalAll() {
+            if (waiters > 0) {
+                lock.lock();
+                try {
+                    published.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.borakgul.demo.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+
+/**
+ * ⚔️ İstek mevcut durumla çakışıyor (409) - ör. zaten kayıtlı email
+ */
+public class ConflictException extends DomainException {
+
+    private static final URI TYPE = problemType("conflict");
+
+    public ConflictException(String message) {
+        super(message, TYPE);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
+}
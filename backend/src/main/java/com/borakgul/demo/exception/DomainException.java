@@ -0,0 +1,46 @@
+package com.borakgul.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.net.URI;
+
+/**
+ * 🧱 Beklenen (iş kuralı) hatalarının tabanı - GlobalExceptionHandler bunları RFC 7807 problem'ine çevirir
+ * Beklenen hatalar stack trace'siz oluşturulur: fillInStackTrace çağrılmaz, suppression kapalı. 404 gibi sık ve
+ * istemcinin yol açtığı hatalarda maliyet sadece nesne + mesajdır; stack'e gerçekten ihtiyaç olan durumlar için
+ * cause'lu constructor normal (stack'li) exception üretir.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private final URI type;
+
+    protected DomainException(String message, URI type) {
+        super(message, null, false, false);
+        this.type = type;
+    }
+
+    protected DomainException(String message, URI type, Throwable cause) {
+        super(message, cause);
+        this.type = type;
+    }
+
+    public abstract HttpStatus getStatus();
+
+    /**
+     * Problem "type" alanı; her alt sınıfın sabit URI'si
+     */
+    public URI getType() {
+        return type;
+    }
+
+    /**
+     * Alt sınıfların problem'e ek alan (extension member) eklemesi için
+     */
+    public void describeTo(ProblemDetail problem) {
+    }
+
+    static URI problemType(String name) {
+        return URI.create("urn:problem-type:" + name);
+    }
+}
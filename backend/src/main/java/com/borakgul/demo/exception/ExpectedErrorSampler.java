@@ -0,0 +1,35 @@
+package com.borakgul.demo.exception;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🎯 Beklenen hataların (404, başarısız login ...) örneklenmiş DEBUG logu
+ * Tür başına sayaç tutar; ilk olay ve her log-sample-rate'inci, toplam sayıyla çağıranın logger'ına yazılır.
+ * Kötü niyetli ya da hatalı client'ların ürettiği hata seli log hacmini büyütmez.
+ */
+@Component
+public class ExpectedErrorSampler {
+
+    private final Map<String, AtomicLong> occurrences = new ConcurrentHashMap<>();
+    private final long sampleRate;
+
+    public ExpectedErrorSampler(@Value("${app.errors.log-sample-rate:100}") long sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public void debug(Logger log, String key, String message) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        long count = occurrences.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+        if (count == 1 || count % sampleRate == 0) {
+            log.debug("{}: {} (occurrence #{})", key, message, count);
+        }
+    }
+}
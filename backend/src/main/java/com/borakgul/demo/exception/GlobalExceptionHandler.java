@@ -1,66 +1,108 @@
 package com.borakgul.demo.exception;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.BindingResult;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import java.time.LocalDateTime;
+import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * 🚨 Hata yanıtları - RFC 7807 problem+json
+ * DomainException'lar (404 / 409 / 412 / 400 ...) kendi status ve type'larıyla döner; Spring MVC'nin kendi
+ * hataları (okunamayan body, 405, 415, bilinmeyen path ...) ResponseEntityExceptionHandler'dan gelir.
+ * Beklenen hatalar DEBUG seviyesinde ve örneklenerek loglanır ({@link ExpectedErrorSampler}); sadece
+ * beklenmeyen hatalar ERROR + stack trace ile loglanır.
+ */
 @RestControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
-public class GlobalExceptionHandler {
-    
-    @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<Map<String, Object>> handleRuntimeException(RuntimeException ex) {
-        log.error("Runtime exception occurred: {}", ex.getMessage());
-        
-        Map<String, Object> error = new HashMap<>();
-        error.put("timestamp", LocalDateTime.now());
-        error.put("status", HttpStatus.NOT_FOUND.value());
-        error.put("error", "Not Found");
-        error.put("message", ex.getMessage());
-        
-        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final URI CONFLICT = DomainException.problemType("conflict");
+    private static final URI BAD_REQUEST = DomainException.problemType("bad-request");
+    private static final URI VALIDATION_FAILED = DomainException.problemType("validation-failed");
+
+    private final ExpectedErrorSampler expectedErrorSampler;
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ProblemDetail> handleDomainException(DomainException ex) {
+        logExpected(ex.getStatus(), ex);
+
+        ProblemDetail problem = problem(ex.getStatus(), ex.getType(), ex.getMessage());
+        ex.describeTo(problem);
+        return ResponseEntity.status(ex.getStatus()).body(problem);
     }
-    
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationException(MethodArgumentNotValidException ex) {
-        log.error("Validation exception occurred");
-        
-        BindingResult result = ex.getBindingResult();
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ProblemDetail> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        logExpected(HttpStatus.CONFLICT, ex);
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(problem(HttpStatus.CONFLICT, CONFLICT, "The resource was modified concurrently, reload and retry"));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ProblemDetail> handleIllegalArgument(IllegalArgumentException ex) {
+        logExpected(HttpStatus.BAD_REQUEST, ex);
+
+        return ResponseEntity.badRequest().body(problem(HttpStatus.BAD_REQUEST, BAD_REQUEST, ex.getMessage()));
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ProblemDetail> handleAccessDenied(AccessDeniedException ex) {
+        logExpected(HttpStatus.FORBIDDEN, ex);
+
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.FORBIDDEN, "Access denied"));
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
+                                                                  HttpHeaders headers,
+                                                                  HttpStatusCode status,
+                                                                  WebRequest request) {
+        logExpected(status, ex);
+
         Map<String, String> fieldErrors = new HashMap<>();
-        
-        for (FieldError error : result.getFieldErrors()) {
+        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
             fieldErrors.put(error.getField(), error.getDefaultMessage());
         }
-        
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
-        errorResponse.put("error", "Validation Failed");
-        errorResponse.put("message", "Invalid input data");
-        errorResponse.put("fieldErrors", fieldErrors);
-        
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        ProblemDetail problem = problem(status, VALIDATION_FAILED, "Invalid input data");
+        problem.setTitle("Validation Failed");
+        problem.setProperty("fieldErrors", fieldErrors);
+        return handleExceptionInternal(ex, problem, headers, status, request);
     }
-    
+
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
+    public ResponseEntity<ProblemDetail> handleGenericException(Exception ex) {
         log.error("Unexpected exception occurred: {}", ex.getMessage(), ex);
-        
-        Map<String, Object> error = new HashMap<>();
-        error.put("timestamp", LocalDateTime.now());
-        error.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        error.put("error", "Internal Server Error");
-        error.put("message", "An unexpected error occurred");
-        
-        return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+
+        return ResponseEntity.internalServerError()
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred"));
+    }
+
+    private static ProblemDetail problem(HttpStatusCode status, URI type, String detail) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setType(type);
+        return problem;
+    }
+
+    // Tür + status başına örneklenir
+    private void logExpected(HttpStatusCode status, Exception ex) {
+        expectedErrorSampler.debug(log, status.value() + " " + ex.getClass().getSimpleName(), ex.getMessage());
     }
-}
\ No newline at end of file
+}
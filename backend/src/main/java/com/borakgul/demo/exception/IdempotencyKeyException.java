@@ -0,0 +1,26 @@
+package com.borakgul.demo.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+
+/**
+ * 🔁 Idempotency-Key hatası
+ * Aynı key farklı bir istekle tekrar kullanıldığında veya orijinal istek hâlâ sürerken fırlatılır
+ */
+public class IdempotencyKeyException extends DomainException {
+
+    private static final URI TYPE = problemType("idempotency-key");
+
+    private final HttpStatus status;
+
+    public IdempotencyKeyException(HttpStatus status, String message) {
+        super(message, TYPE);
+        this.status = status;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,12 @@
+package com.borakgul.demo.exception;
+
+/**
+ * 🔓 Scheduler lease'i süresi dolup başka bir node'a geçtiğinde (fencing token uyuşmadığında) fırlatılır
+ * İçinde fırlatıldığı transaction geri alınır; eski sahibin yazmaları yeni sahibinkilerle karışmaz.
+ */
+public class LeaseLostException extends RuntimeException {
+
+    public LeaseLostException(String name, long token) {
+        super("Lease '" + name + "' with fencing token " + token + " is no longer held");
+    }
+}
@@ -0,0 +1,26 @@
+package com.borakgul.demo.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+
+/**
+ * 🔍 İstenen kayıt yok (404) - ID taraması yapan istemciler yüzünden sık; stack trace'siz
+ */
+public class NotFoundException extends DomainException {
+
+    private static final URI TYPE = problemType("not-found");
+
+    public NotFoundException(String resource, Object id) {
+        super(resource + " not found with ID: " + id, TYPE);
+    }
+
+    public NotFoundException(String message) {
+        super(message, TYPE);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
+}
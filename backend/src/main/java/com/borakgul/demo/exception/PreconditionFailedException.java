@@ -0,0 +1,35 @@
+package com.borakgul.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.net.URI;
+
+/**
+ * ⛔ If-Match header'ı ile gelen versiyon, kaydın güncel versiyonuyla eşleşmediğinde fırlatılır
+ */
+public class PreconditionFailedException extends DomainException {
+
+    private static final URI TYPE = problemType("precondition-failed");
+
+    private final Long currentVersion;
+
+    public PreconditionFailedException(String message, Long currentVersion) {
+        super(message, TYPE);
+        this.currentVersion = currentVersion;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.PRECONDITION_FAILED;
+    }
+
+    @Override
+    public void describeTo(ProblemDetail problem) {
+        problem.setProperty("currentVersion", currentVersion);
+    }
+}
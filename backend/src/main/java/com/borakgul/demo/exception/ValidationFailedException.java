@@ -0,0 +1,22 @@
+package com.borakgul.demo.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+
+/**
+ * ✏️ Bean Validation dışındaki iş kuralı doğrulama hataları (400) - ör. yanlış mevcut şifre
+ */
+public class ValidationFailedException extends DomainException {
+
+    private static final URI TYPE = problemType("validation-failed");
+
+    public ValidationFailedException(String message) {
+        super(message, TYPE);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+}
@@ -0,0 +1,397 @@
+package com.borakgul.demo.index;
+
+import com.borakgul.demo.cache.CacheInvalidation;
+import com.borakgul.demo.cache.CacheInvalidationHandler;
+import com.borakgul.demo.event.TaskCreated;
+import com.borakgul.demo.event.TaskDeleted;
+import com.borakgul.demo.event.TaskEvent;
+import com.borakgul.demo.event.TaskEventHandler;
+import com.borakgul.demo.event.TaskSnapshot;
+import com.borakgul.demo.event.TaskUpdated;
+import com.borakgul.demo.model.Priority;
+import com.borakgul.demo.model.TaskStatus;
+import com.borakgul.demo.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 🗂️ Task Bitmap Index - düşük kardinaliteli filtreler için bellek içi hızlandırıcı
+ * Her status, priority, completed değeri ve her kullanıcı için bir {@link TaskIdBitmap} tutar.
+ * /filter ve /stats'taki eşitlik filtreleri bitmap kesişimiyle çözülür; veritabanına sadece
+ * sayfadaki id'leri yüklemek için gidilir.
+ *
+ * Güncelleme: TaskService olayları event bus üzerinden gelir (commit sonrası, asenkron - kısa bir
+ * gecikmeyle görünür); TaskService dışındaki toplu değişiklikler (bulk status job, cleanup, arşiv)
+ * {@link #statusChangedAfterCommit} / {@link #removedAfterCommit} ile bildirilir.
+ * Açılışta ve periyodik olarak veritabanından yeniden kurulur; kurulum sürerken gelen değişiklikler
+ * biriktirilir ve yeni kopyaya sırayla uygulanır. Hazır değilken çağıranlar SQL'e düşer.
+ */
+@Component
+@Slf4j
+public class TaskBitmapIndex implements TaskEventHandler, CacheInvalidationHandler {
+
+    private final TaskRepository taskRepository;
+    private final boolean enabled;
+    private final int loadBatchSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // lock altında; rebuild sürerken null değil
+    private State state = new State();
+    private List<Consumer<State>> pending;
+    private volatile boolean ready;
+
+    public TaskBitmapIndex(TaskRepository taskRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.tasks.bitmap-index.enabled:true}") boolean enabled,
+                           @Value("${app.tasks.bitmap-index.load-batch-size:5000}") int loadBatchSize) {
+        this.taskRepository = taskRepository;
+        this.enabled = enabled;
+        this.loadBatchSize = loadBatchSize;
+        Gauge.builder("tasks.index.tasks", this, index -> index.read(s -> (double) s.all.cardinality()))
+                .description("Task ids held by the bitmap index")
+                .register(meterRegistry);
+        Gauge.builder("tasks.index.bytes", this, index -> index.read(State::sizeInBytes))
+                .description("Approximate memory used by the bitmap index")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return "bitmap-index";
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void onEvent(TaskEvent event, long sequence, boolean endOfBatch) {
+        if (!enabled) {
+            return;
+        }
+        if (event instanceof TaskCreated created) {
+            apply(state -> state.put(created.task()));
+        } else if (event instanceof TaskUpdated updated) {
+            apply(state -> state.put(updated.after()));
+        } else if (event instanceof TaskDeleted deleted) {
+            apply(state -> state.remove(deleted.task().id(), deleted.task().ownerId()));
+        }
+    }
+
+    /**
+     * 🔄 Toplu status değişikliği (TaskService dışından); commit sonrası uygulanır
+     */
+    public void statusChangedAfterCommit(Collection<Long> ids, TaskStatus status, boolean completed) {
+        List<Long> copy = List.copyOf(ids);
+        afterCommit(state -> copy.forEach(id -> state.setStatus(id, status, completed)));
+    }
+
+    /**
+     * 🗑️ Toplu silme / arşivleme (TaskService dışından); commit sonrası uygulanır
+     */
+    public void removedAfterCommit(Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        afterCommit(state -> copy.forEach(id -> state.remove(id, null)));
+    }
+
+    /**
+     * 🌐 Başka bir node'da değişen task'lar: güncel satırlar okunur, bulunmayanlar (silinmiş) çıkarılır
+     */
+    @Override
+    public void invalidate(CacheInvalidation.Type type, Set<Long> ids) {
+        if (!enabled || type != CacheInvalidation.Type.TASK) {
+            return;
+        }
+        List<TaskIndexRow> rows = taskRepository.findIndexRowsByIdIn(ids);
+        Set<Long> missing = new HashSet<>(ids);
+        apply(state -> {
+            for (TaskIndexRow row : rows) {
+                missing.remove(row.id());
+                state.put(row.id(), row.ownerId(), row.status(), row.priority(), row.completed());
+            }
+            missing.forEach(id -> state.remove(id, null));
+        });
+    }
+
+    @Override
+    public void invalidateAll(CacheInvalidation.Type type) {
+        if (type == CacheInvalidation.Type.TASK) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 🔎 Verilen eşitlik filtrelerine uyan id'ler (null kriter = filtre yok); index hazır değilse boş
+     * Dönen bitmap çağırana aittir, kilit dışında sayfalanabilir.
+     */
+    public Optional<TaskIdBitmap> select(TaskStatus status, Priority priority, Boolean completed, Long ownerId) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.of(read(state -> {
+            List<TaskIdBitmap> criteria = new ArrayList<>(4);
+            if (status != null) {
+                criteria.add(state.byStatus.get(status));
+            }
+            if (priority != null) {
+                criteria.add(state.byPriority.get(priority));
+            }
+            if (completed != null) {
+                criteria.add(completed ? state.completed : state.pending);
+            }
+            if (ownerId != null) {
+                criteria.add(state.byOwner.getOrDefault(ownerId, new TaskIdBitmap()));
+            }
+            if (criteria.isEmpty()) {
+                return state.all.copy();
+            }
+            // En küçük kümeden başlamak ara sonuçları küçük tutar
+            criteria.sort((a, b) -> Long.compare(a.cardinality(), b.cardinality()));
+            TaskIdBitmap result = criteria.get(0).copy();
+            for (int i = 1; i < criteria.size() && !result.isEmpty(); i++) {
+                result = TaskIdBitmap.and(result, criteria.get(i));
+            }
+            return result;
+        }));
+    }
+
+    /**
+     * 📊 /stats sayaçları; index hazır değilse boş
+     */
+    public Optional<TaskCounts> counts(Long ownerId) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.of(read(state -> {
+            Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+            state.byStatus.forEach((status, ids) -> byStatus.put(status, ids.cardinality()));
+            Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+            state.byPriority.forEach((priority, ids) -> byPriority.put(priority, ids.cardinality()));
+            TaskIdBitmap owned = ownerId != null ? state.byOwner.get(ownerId) : null;
+            return new TaskCounts(state.all.cardinality(), state.completed.cardinality(),
+                    byStatus, byPriority, owned != null ? owned.cardinality() : 0);
+        }));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+    }
+
+    // Düşürülen olay ya da kaçırılan bir yazma yolu index'i kalıcı olarak saptırmasın
+    @Scheduled(fixedDelayString = "${app.tasks.bitmap-index.rebuild-interval-ms:900000}",
+            initialDelayString = "${app.tasks.bitmap-index.rebuild-interval-ms:900000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * 🏗️ Veritabanından keyset chunk'larla yeni bir kopya kur ve değiştir
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        write(state -> pending = new ArrayList<>());
+
+        State fresh = new State();
+        try {
+            long afterId = 0;
+            List<TaskIndexRow> rows;
+            do {
+                rows = taskRepository.findIndexRowsAfter(afterId, PageRequest.of(0, loadBatchSize));
+                for (TaskIndexRow row : rows) {
+                    fresh.put(row.id(), row.ownerId(), row.status(), row.priority(), row.completed());
+                }
+                if (!rows.isEmpty()) {
+                    afterId = rows.get(rows.size() - 1).id();
+                }
+            } while (rows.size() == loadBatchSize);
+        } catch (RuntimeException e) {
+            write(state -> pending = null);
+            ready = false;
+            log.error("❌ Task bitmap index rebuild failed, filters fall back to SQL: {}", e.getMessage(), e);
+            return;
+        }
+
+        write(state -> {
+            boolean consistent = true;
+            for (Consumer<State> mutation : pending) {
+                consistent &= mutate(fresh, mutation);
+            }
+            pending = null;
+            this.state = fresh;
+            ready = consistent;
+        });
+        log.info("🗂️ Task bitmap index rebuilt: {} tasks, ~{} KB in {} ms", fresh.all.cardinality(),
+                (long) fresh.sizeInBytes() / 1024, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void afterCommit(Consumer<State> mutation) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(mutation);
+                }
+            });
+        } else {
+            apply(mutation);
+        }
+    }
+
+    private void apply(Consumer<State> mutation) {
+        write(state -> {
+            if (!mutate(state, mutation)) {
+                ready = false;
+            }
+            if (pending != null) {
+                pending.add(mutation);
+            }
+        });
+    }
+
+    // Örn. bitmap aralığı dışında id; bir sonraki başarılı rebuild'e kadar SQL kullanılır
+    private boolean mutate(State target, Consumer<State> mutation) {
+        try {
+            mutation.accept(target);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("❌ Task bitmap index update failed, disabling until rebuild: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private <T> T read(Function<State, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(state);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<State> writer) {
+        lock.writeLock().lock();
+        try {
+            writer.accept(state);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class State {
+
+        private final TaskIdBitmap all = new TaskIdBitmap();
+        private final Map<TaskStatus, TaskIdBitmap> byStatus = bitmaps(TaskStatus.class);
+        private final Map<Priority, TaskIdBitmap> byPriority = bitmaps(Priority.class);
+        private final TaskIdBitmap completed = new TaskIdBitmap();
+        private final TaskIdBitmap pending = new TaskIdBitmap();
+        private final Map<Long, TaskIdBitmap> byOwner = new HashMap<>();
+
+        void put(TaskSnapshot task) {
+            put(task.id(), task.ownerId(), task.status(), task.priority(), task.completed());
+        }
+
+        // Upsert: önceki değerler bilinmese de (ya da olaylar yeniden oynatılsa da) son yazan kazanır
+        void put(long id, Long ownerId, TaskStatus status, Priority priority, Boolean isCompleted) {
+            clearAttributes(id);
+            all.add(id);
+            if (status != null) {
+                byStatus.get(status).add(id);
+            }
+            if (priority != null) {
+                byPriority.get(priority).add(id);
+            }
+            (Boolean.TRUE.equals(isCompleted) ? completed : pending).add(id);
+            // Task sahibi değişmez; owner bitmap'inden sadece silmede çıkarılır
+            if (ownerId != null) {
+                byOwner.computeIfAbsent(ownerId, key -> new TaskIdBitmap()).add(id);
+            }
+        }
+
+        void setStatus(long id, TaskStatus status, boolean isCompleted) {
+            if (!all.contains(id)) {
+                return;
+            }
+            byStatus.values().forEach(ids -> ids.remove(id));
+            completed.remove(id);
+            pending.remove(id);
+            byStatus.get(status).add(id);
+            (isCompleted ? completed : pending).add(id);
+        }
+
+        void remove(long id, Long ownerId) {
+            clearAttributes(id);
+            all.remove(id);
+            if (ownerId != null) {
+                TaskIdBitmap owned = byOwner.get(ownerId);
+                if (owned != null) {
+                    owned.remove(id);
+                    if (owned.isEmpty()) {
+                        byOwner.remove(ownerId);
+                    }
+                }
+            } else {
+                byOwner.values().forEach(owned -> owned.remove(id));
+                byOwner.values().removeIf(TaskIdBitmap::isEmpty);
+            }
+        }
+
+        double sizeInBytes() {
+            long bytes = all.sizeInBytes() + completed.sizeInBytes() + pending.sizeInBytes();
+            for (TaskIdBitmap ids : byStatus.values()) {
+                bytes += ids.sizeInBytes();
+            }
+            for (TaskIdBitmap ids : byPriority.values()) {
+                bytes += ids.sizeInBytes();
+            }
+            for (TaskIdBitmap ids : byOwner.values()) {
+                bytes += ids.sizeInBytes();
+            }
+            return bytes;
+        }
+
+        private void clearAttributes(long id) {
+            byStatus.values().forEach(ids -> ids.remove(id));
+            byPriority.values().forEach(ids -> ids.remove(id));
+            completed.remove(id);
+            pending.remove(id);
+        }
+
+        private static <E extends Enum<E>> Map<E, TaskIdBitmap> bitmaps(Class<E> type) {
+            Map<E, TaskIdBitmap> bitmaps = new EnumMap<>(type);
+            for (E value : type.getEnumConstants()) {
+                bitmaps.put(value, new TaskIdBitmap());
+            }
+            return bitmaps;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.borakgul.demo.index;
+
+import com.borakgul.demo.model.Priority;
+import com.borakgul.demo.model.TaskStatus;
+
+import java.util.Map;
+
+/**
+ * 📊 Index'ten tek kilit altında okunan sayaçlar; owned = verilen kullanıcının task sayısı
+ */
+public record TaskCounts(long total,
+                         long completed,
+                         Map<TaskStatus, Long> byStatus,
+                         Map<Priority, Long> byPriority,
+                         long owned) {
+}
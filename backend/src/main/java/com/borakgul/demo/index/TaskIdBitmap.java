@@ -0,0 +1,474 @@
+package com.borakgul.demo.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 🧱 Sıkıştırılmış task id kümesi (Roaring bitmap düzeni)
+ * Id'nin üst 16 biti container anahtarı, alt 16 biti container içindeki değerdir. Seyrek container'lar
+ * sıralı char[] (array), yoğun olanlar 1024 long'luk (8 KB) bitmap olarak tutulur; 4096 eleman sınırında
+ * array → bitmap, 2048'in altında bitmap → array dönüşür (sınırda sürekli dönüşüm olmasın diye aralık bırakıldı).
+ * Id aralığı: 0 .. 2^32-1. Thread-safe değildir; erişimi TaskBitmapIndex'in kilidi korur.
+ */
+public final class TaskIdBitmap {
+
+    public static final long MAX_ID = 0xFFFF_FFFFL;
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_MIN = 2048;
+    private static final int WORDS = 1024;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    public TaskIdBitmap() {
+        this(4);
+    }
+
+    private TaskIdBitmap(int capacity) {
+        this.keys = new char[capacity];
+        this.containers = new Container[capacity];
+    }
+
+    public static TaskIdBitmap of(long... ids) {
+        TaskIdBitmap bitmap = new TaskIdBitmap();
+        for (long id : ids) {
+            bitmap.add(id);
+        }
+        return bitmap;
+    }
+
+    public void add(long id) {
+        checkRange(id);
+        char key = (char) (id >>> 16);
+        int index = indexOf(key);
+        if (index >= 0) {
+            containers[index] = containers[index].add((char) id);
+        } else {
+            insertAt(-index - 1, key, new ArrayContainer().add((char) id));
+        }
+    }
+
+    public void remove(long id) {
+        if (id < 0 || id > MAX_ID) {
+            return;
+        }
+        int index = indexOf((char) (id >>> 16));
+        if (index < 0) {
+            return;
+        }
+        Container container = containers[index].remove((char) id);
+        if (container.cardinality() == 0) {
+            removeAt(index);
+        } else {
+            containers[index] = container;
+        }
+    }
+
+    public boolean contains(long id) {
+        if (id < 0 || id > MAX_ID) {
+            return false;
+        }
+        int index = indexOf((char) (id >>> 16));
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public TaskIdBitmap copy() {
+        TaskIdBitmap copy = new TaskIdBitmap(Math.max(4, size));
+        for (int i = 0; i < size; i++) {
+            copy.keys[i] = keys[i];
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * İki kümenin kesişimi; girdiler değişmez
+     */
+    public static TaskIdBitmap and(TaskIdBitmap left, TaskIdBitmap right) {
+        TaskIdBitmap result = new TaskIdBitmap(Math.max(4, Math.min(left.size, right.size)));
+        int i = 0;
+        int j = 0;
+        while (i < left.size && j < right.size) {
+            int cmp = Character.compare(left.keys[i], right.keys[j]);
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                Container container = left.containers[i].and(right.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.keys[result.size] = left.keys[i];
+                    result.containers[result.size++] = container;
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Kesişimin eleman sayısı; ara sonuç üretmez
+     */
+    public static long andCardinality(TaskIdBitmap left, TaskIdBitmap right) {
+        long cardinality = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.size && j < right.size) {
+            int cmp = Character.compare(left.keys[i], right.keys[j]);
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                cardinality += left.containers[i++].andCardinality(right.containers[j++]);
+            }
+        }
+        return cardinality;
+    }
+
+    /**
+     * 📄 Sıralı bir sayfa id: offset kadar atla, en fazla limit kadar döndür
+     * Atlanan container'lar eleman eleman gezilmez, cardinality ile tek adımda geçilir.
+     */
+    public List<Long> page(long offset, int limit, boolean descending) {
+        List<Long> page = new ArrayList<>(Math.max(0, Math.min(limit, 1024)));
+        long skip = offset;
+        for (int n = 0; n < size && page.size() < limit; n++) {
+            int i = descending ? size - 1 - n : n;
+            Container container = containers[i];
+            int cardinality = container.cardinality();
+            if (skip >= cardinality) {
+                skip -= cardinality;
+                continue;
+            }
+            container.collect((long) keys[i] << 16, (int) skip, limit - page.size(), descending, page);
+            skip = 0;
+        }
+        return page;
+    }
+
+    /**
+     * Yaklaşık bellek kullanımı (byte), metrikler için
+     */
+    public long sizeInBytes() {
+        long bytes = keys.length * 2L + containers.length * 8L;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertAt(int index, char key, Container container) {
+        if (size == keys.length) {
+            int capacity = size + (size >> 1) + 1;
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    private static void checkRange(long id) {
+        if (id < 0 || id > MAX_ID) {
+            throw new IllegalArgumentException("Task id out of bitmap range: " + id);
+        }
+    }
+
+    private abstract static class Container {
+
+        // add/remove tip dönüşümü gerekirse yeni container döndürür
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract Container and(Container other);
+
+        abstract int andCardinality(Container other);
+
+        abstract Container copy();
+
+        abstract void collect(long high, int skip, int limit, boolean descending, List<Long> out);
+
+        abstract long sizeInBytes();
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality >= ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality + (cardinality >> 1) + 1));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] result = new char[Math.min(cardinality, other.cardinality())];
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        int andCardinality(Container other) {
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+        }
+
+        @Override
+        void collect(long high, int skip, int limit, boolean descending, List<Long> out) {
+            int end = Math.min(cardinality, skip + limit);
+            for (int n = skip; n < end; n++) {
+                out.add(high | values[descending ? cardinality - 1 - n : n]);
+            }
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 16L + values.length * 2L;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer() {
+            this(new long[WORDS], 0);
+        }
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            long bit = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & bit) == 0) {
+                words[word] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long bit = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & bit) != 0) {
+                words[word] &= ~bit;
+                cardinality--;
+                if (cardinality < BITMAP_MIN) {
+                    return toArray();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] result = new long[WORDS];
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                result[i] = words[i] & otherWords[i];
+                count += Long.bitCount(result[i]);
+            }
+            BitmapContainer bitmap = new BitmapContainer(result, count);
+            return count <= ARRAY_MAX ? bitmap.toArray() : bitmap;
+        }
+
+        @Override
+        int andCardinality(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.andCardinality(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                count += Long.bitCount(words[i] & otherWords[i]);
+            }
+            return count;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        void collect(long high, int skip, int limit, boolean descending, List<Long> out) {
+            int remaining = limit;
+            for (int n = 0; n < WORDS && remaining > 0; n++) {
+                int i = descending ? WORDS - 1 - n : n;
+                long word = words[i];
+                int bits = Long.bitCount(word);
+                if (skip >= bits) {
+                    skip -= bits;
+                    continue;
+                }
+                while (word != 0 && remaining > 0) {
+                    int bit = descending ? 63 - Long.numberOfLeadingZeros(word) : Long.numberOfTrailingZeros(word);
+                    word &= ~(1L << bit);
+                    if (skip > 0) {
+                        skip--;
+                        continue;
+                    }
+                    out.add(high | ((long) i << 6) | bit);
+                    remaining--;
+                }
+            }
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 16L + WORDS * 8L;
+        }
+
+        private ArrayContainer toArray() {
+            char[] values = new char[Math.max(cardinality, 1)];
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    int bit = Long.numberOfTrailingZeros(word);
+                    values[count++] = (char) ((i << 6) | bit);
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.borakgul.demo.index;
+
+import com.borakgul.demo.model.Priority;
+import com.borakgul.demo.model.TaskStatus;
+
+/**
+ * Index rebuild'inde task başına okunan kolonlar (JPQL constructor expression)
+ */
+public record TaskIndexRow(Long id,
+                           Long ownerId,
+                           TaskStatus status,
+                           Priority priority,
+                           Boolean completed) {
+}
@@ -0,0 +1,43 @@
+package com.borakgul.demo.jfr;
+
+import com.borakgul.demo.model.User;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 🧭 Event alanları için request bağlamı - sadece event commit edilecekse (eşiği aştıysa) çağrılır
+ */
+public final class JfrContext {
+
+    private JfrContext() {
+    }
+
+    /**
+     * "GET /api/tasks/{id}" (handler eşleştiyse route pattern'i, yoksa URI); request dışındaki thread'lerde null
+     */
+    public static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    /**
+     * Authenticate olmuş kullanıcının ID'si; yoksa 0
+     */
+    public static long userId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user && user.getId() != null) {
+            return user.getId();
+        }
+        return 0;
+    }
+}
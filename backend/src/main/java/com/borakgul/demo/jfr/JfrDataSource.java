@@ -0,0 +1,179 @@
+package com.borakgul.demo.jfr;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 🗃️ SQL event'leri için DataSource sarmalayıcısı
+ * Bağlantı alınırken SqlEvent kayıtta kapalıysa havuzun bağlantısı olduğu gibi döner (ek maliyet tek bir
+ * isEnabled kontrolü). Açıksa Connection → Statement → ResultSet zinciri JDK proxy'leriyle sarılır; unwrap gibi
+ * diğer tüm çağrılar gerçek nesneye gider. DelegatingDataSource olduğu için Boot'un Hikari metrikleri çalışmaya devam eder.
+ */
+public class JfrDataSource extends DelegatingDataSource {
+
+    public JfrDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        if (!SqlEvent.isActive()) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, new ConnectionHandler(connection));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(JfrDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    // equals/hashCode proxy kimliğiyle: Hibernate statement'ları map'lerde proxy üzerinden tutar
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = JfrDataSource.invoke(proxy, target, method, args);
+            // prepareStatement / prepareCall / createStatement
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return proxy(method.getReturnType(), statement, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private int batchSize;
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                batchSize++;
+                return JfrDataSource.invoke(proxy, target, method, args);
+            }
+            if (!name.startsWith("execute")) {
+                return JfrDataSource.invoke(proxy, target, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            SqlEvent event = new SqlEvent();
+            event.begin();
+            Object result = JfrDataSource.invoke(proxy, target, method, args);
+            if (result instanceof ResultSet resultSet) {
+                // Süre ve satır sayısı ResultSet kapanınca yazılır
+                return proxy(ResultSet.class, resultSet, new ResultSetHandler(resultSet, event, sql));
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.setSql(sql);
+                event.setRows(rows(result));
+                event.setBatchSize(batchSize);
+                event.setEndpoint(JfrContext.endpoint());
+                event.setUserId(JfrContext.userId());
+                event.commit();
+            }
+            if (name.startsWith("executeBatch") || name.startsWith("executeLargeBatch")) {
+                batchSize = 0;
+            }
+            return result;
+        }
+
+        private static long rows(Object result) {
+            if (result instanceof Number count) {
+                return Math.max(count.longValue(), 0);
+            }
+            long total = 0;
+            if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    total += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    total += Math.max(count, 0);
+                }
+            }
+            return total;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final SqlEvent event;
+        private final String sql;
+        private long rows;
+        private boolean closed;
+
+        private ResultSetHandler(ResultSet target, SqlEvent event, String sql) {
+            this.target = target;
+            this.event = event;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = JfrDataSource.invoke(proxy, target, method, args);
+            String name = method.getName();
+            if (name.equals("next") && Boolean.TRUE.equals(result)) {
+                rows++;
+            } else if (name.equals("close") && !closed) {
+                closed = true;
+                event.end();
+                if (event.shouldCommit()) {
+                    event.setSql(sql);
+                    event.setRows(rows);
+                    event.setEndpoint(JfrContext.endpoint());
+                    event.setUserId(JfrContext.userId());
+                    event.commit();
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.borakgul.demo.jfr;
+
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+
+/**
+ * 🔬 JFR custom event'leri - tail latency'nin JWT filtresi, servis, SQL ve serialization arasında dağılımı
+ * Event'ler JFR kaydı açıkken ve eşiklerini aştıklarında yazılır; sürekli düşük maliyetli kayıt için:
+ * -XX:StartFlightRecording=settings=default,maxage=1h (eşikler event class'larında, .jfc ile değiştirilebilir).
+ * app.jfr.events.enabled=false servis ve DataSource sarmalayıcılarını hiç kurmaz. AOT image'da koşul build'de
+ * değerlendirilir (Dockerfile AOT_PROPERTIES build-arg'ı); runtime'da değiştirmek etkisizdir.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.jfr.events.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrEventsConfig {
+
+    @Bean
+    public static BeanPostProcessor jfrDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof JfrDataSource)
+                        ? new JfrDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    /**
+     * @Service bean'lerine ServiceCallInterceptor ekler; mevcut (transaction) proxy'sinin en dışına, commit de ölçülsün
+     */
+    @Bean
+    public static AbstractBeanFactoryAwareAdvisingPostProcessor jfrServicePostProcessor() {
+        AbstractBeanFactoryAwareAdvisingPostProcessor postProcessor = new AbstractBeanFactoryAwareAdvisingPostProcessor() {
+            {
+                this.advisor = new DefaultPointcutAdvisor(
+                        new AnnotationMatchingPointcut(Service.class, true), new ServiceCallInterceptor());
+            }
+        };
+        postProcessor.setBeforeExistingAdvisors(true);
+        // UserService gibi interface'li servisler de sınıf tipiyle inject ediliyor
+        postProcessor.setProxyTargetClass(true);
+        return postProcessor;
+    }
+}
@@ -0,0 +1,37 @@
+package com.borakgul.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import lombok.Setter;
+
+/**
+ * 🎫 JwtAuthenticationFilter'ın token parse + principal çözümleme süresi (filtre zincirinin geri kalanı hariç)
+ * principalSource "database" ise süreye kullanıcı sorgusu da dahildir (iç içe SQL event'i olarak da görünür).
+ */
+@Name("com.borakgul.demo.JwtAuthentication")
+@Label("JWT Authentication")
+@Category({"Task API", "Request"})
+@Description("JWT parse, signature check and principal lookup")
+@StackTrace(false)
+@Threshold("1 ms")
+@Setter
+public class JwtAuthenticationEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    private String endpoint;
+
+    @Label("User Id")
+    private long userId;
+
+    @Label("Principal Source")
+    @Description("claims, database or none")
+    private String principalSource = "none";
+
+    @Label("Outcome")
+    @Description("authenticated, rejected or error")
+    private String outcome;
+}
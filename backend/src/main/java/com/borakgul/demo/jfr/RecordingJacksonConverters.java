@@ -0,0 +1,127 @@
+package com.borakgul.demo.jfr;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.NonNull;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * 📦 Response yazımını SerializationEvent ile ölçen Jackson converter'ları (JSON ve CBOR)
+ * Event kapalıyken doğrudan üst sınıfa gider; açıkken body yazılan byte'ları sayan bir stream'le sarılır.
+ */
+public final class RecordingJacksonConverters {
+
+    private RecordingJacksonConverters() {
+    }
+
+    public static class Json extends MappingJackson2HttpMessageConverter {
+
+        public Json(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(@NonNull Object object, Type type, @NonNull HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            record(object, outputMessage, counting -> super.writeInternal(object, type, counting));
+        }
+    }
+
+    public static class Cbor extends MappingJackson2CborHttpMessageConverter {
+
+        public Cbor(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(@NonNull Object object, Type type, @NonNull HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            record(object, outputMessage, counting -> super.writeInternal(object, type, counting));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Write {
+        void to(HttpOutputMessage outputMessage) throws IOException;
+    }
+
+    private static void record(Object object, HttpOutputMessage outputMessage, Write write) throws IOException {
+        SerializationEvent event = new SerializationEvent();
+        if (!event.isEnabled()) {
+            write.to(outputMessage);
+            return;
+        }
+        CountingMessage counting = new CountingMessage(outputMessage);
+        event.begin();
+        write.to(counting);
+        event.end();
+        if (event.shouldCommit()) {
+            MediaType contentType = outputMessage.getHeaders().getContentType();
+            event.setValueType(object.getClass().getSimpleName());
+            event.setMediaType(contentType != null ? contentType.toString() : null);
+            event.setBytes(counting.bytes());
+            event.setEndpoint(JfrContext.endpoint());
+            event.setUserId(JfrContext.userId());
+            event.commit();
+        }
+    }
+
+    private static final class CountingMessage implements HttpOutputMessage {
+
+        private final HttpOutputMessage delegate;
+        private CountingStream body;
+
+        private CountingMessage(HttpOutputMessage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        @NonNull
+        public OutputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingStream(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        @NonNull
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        long bytes() {
+            return body != null ? body.count : 0;
+        }
+    }
+
+    private static final class CountingStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(@NonNull byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
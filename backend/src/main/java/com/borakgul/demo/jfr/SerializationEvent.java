@@ -0,0 +1,39 @@
+package com.borakgul.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import lombok.Setter;
+
+/**
+ * 📦 Response body'nin Jackson ile yazılması (JSON ya da CBOR); bytes sıkıştırma öncesi boyuttur
+ */
+@Name("com.borakgul.demo.Serialization")
+@Label("Response Serialization")
+@Category({"Task API", "Request"})
+@Description("Jackson serialization of a response body")
+@StackTrace(false)
+@Threshold("1 ms")
+@Setter
+public class SerializationEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    private String endpoint;
+
+    @Label("User Id")
+    private long userId;
+
+    @Label("Value Type")
+    private String valueType;
+
+    @Label("Media Type")
+    private String mediaType;
+
+    @Label("Bytes Written")
+    @DataAmount
+    private long bytes;
+}
@@ -0,0 +1,37 @@
+package com.borakgul.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import lombok.Setter;
+
+/**
+ * ⚙️ Bir @Service metodunun çağrısı (transaction commit'i dahil); içindeki SQL ayrı event'lerdir
+ */
+@Name("com.borakgul.demo.ServiceCall")
+@Label("Service Call")
+@Category({"Task API", "Service"})
+@Description("Invocation of a @Service method, including its transaction")
+@StackTrace(false)
+@Threshold("5 ms")
+@Setter
+public class ServiceCallEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    private String endpoint;
+
+    @Label("User Id")
+    private long userId;
+
+    @Label("Service")
+    private String service;
+
+    @Label("Method")
+    private String method;
+
+    @Label("Failed")
+    private boolean failed;
+}
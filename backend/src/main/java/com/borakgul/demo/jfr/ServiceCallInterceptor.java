@@ -0,0 +1,38 @@
+package com.borakgul.demo.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+/**
+ * ⚙️ @Service çağrılarını ServiceCallEvent ile sarar; event kapalıyken sadece bir isEnabled kontrolü
+ */
+public class ServiceCallInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Object target = invocation.getThis();
+                event.setService(target != null ? AopUtils.getTargetClass(target).getSimpleName()
+                        : invocation.getMethod().getDeclaringClass().getSimpleName());
+                event.setMethod(invocation.getMethod().getName());
+                event.setFailed(failed);
+                event.setEndpoint(JfrContext.endpoint());
+                event.setUserId(JfrContext.userId());
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.borakgul.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import lombok.Setter;
+
+/**
+ * 🗃️ Bir JDBC statement çalıştırması
+ * Sorgularda süre execute'tan ResultSet kapanana kadardır (satırların okunması dahil), rows okunan satır sayısı;
+ * update/batch'lerde etkilenen satır sayısı.
+ */
+@Name("com.borakgul.demo.Sql")
+@Label("SQL Statement")
+@Category({"Task API", "Persistence"})
+@Description("JDBC statement execution and result set consumption")
+@StackTrace(false)
+@Threshold("2 ms")
+@Setter
+public class SqlEvent extends jdk.jfr.Event {
+
+    private static final EventType TYPE = EventType.getEventType(SqlEvent.class);
+
+    @Label("Endpoint")
+    private String endpoint;
+
+    @Label("User Id")
+    private long userId;
+
+    @Label("SQL")
+    private String sql;
+
+    @Label("Rows")
+    private long rows;
+
+    @Label("Batch Size")
+    private int batchSize;
+
+    /**
+     * Kayıtta bu event açık mı; kapalıyken JDBC nesneleri hiç sarılmaz
+     */
+    public static boolean isActive() {
+        return TYPE.isEnabled();
+    }
+}
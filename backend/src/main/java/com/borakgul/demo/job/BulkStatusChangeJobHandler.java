@@ -0,0 +1,77 @@
+package com.borakgul.demo.job;
+
+import com.borakgul.demo.cache.CacheInvalidation;
+import com.borakgul.demo.cache.CacheInvalidationBus;
+import com.borakgul.demo.cache.TaskWorkingSetCache;
+import com.borakgul.demo.index.TaskBitmapIndex;
+import com.borakgul.demo.model.Job;
+import com.borakgul.demo.model.JobType;
+import com.borakgul.demo.outbox.TaskEventOutbox;
+import com.borakgul.demo.model.TaskStatus;
+import com.borakgul.demo.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔄 Tüm task'ların status'unu chunk'lar halinde değiştirir
+ * Parametre: status (TaskStatus adı). DONE → completed = true, diğerleri → completed = false
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkStatusChangeJobHandler implements JobHandler {
+
+    private final TaskRepository taskRepository;
+    private final TaskBitmapIndex taskBitmapIndex;
+    private final TaskWorkingSetCache taskWorkingSetCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final TaskEventOutbox taskEventOutbox;
+
+    @Override
+    public JobType type() {
+        return JobType.BULK_STATUS_CHANGE;
+    }
+
+    @Override
+    public void validate(Map<String, Object> parameters) {
+        targetStatus(parameters);
+    }
+
+    @Override
+    public Long estimateTotal(Map<String, Object> parameters) {
+        return taskRepository.count();
+    }
+
+    @Override
+    public ChunkResult processChunk(Job job, Map<String, Object> parameters, int chunkSize) {
+        List<Long> ids = taskRepository.findIdsAfter(job.getCheckpoint(), PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return ChunkResult.done();
+        }
+
+        TaskStatus status = targetStatus(parameters);
+        int updated = taskRepository.bulkUpdateStatus(ids, status, status == TaskStatus.DONE, LocalDateTime.now());
+        taskEventOutbox.tasksStatusChanged(ids, status, status == TaskStatus.DONE);
+        taskBitmapIndex.statusChangedAfterCommit(ids, status, status == TaskStatus.DONE);
+        taskWorkingSetCache.invalidateAllAfterCommit();
+        cacheInvalidationBus.invalidateAfterCommit(CacheInvalidation.Type.TASK, ids);
+        cacheInvalidationBus.invalidateAllAfterCommit(CacheInvalidation.Type.TASK_LIST);
+        return new ChunkResult(ids.size(), ids.get(ids.size() - 1), updated);
+    }
+
+    private TaskStatus targetStatus(Map<String, Object> parameters) {
+        Object status = parameters.get("status");
+        if (status == null) {
+            throw new IllegalArgumentException("Parameter 'status' is required for " + type());
+        }
+        try {
+            return TaskStatus.valueOf(status.toString());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown task status: " + status);
+        }
+    }
+}
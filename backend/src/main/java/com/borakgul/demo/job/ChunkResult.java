@@ -0,0 +1,18 @@
+package com.borakgul.demo.job;
+
+/**
+ * Bir chunk'ın sonucu
+ * @param processed taranan task sayısı (0 = iş bitti)
+ * @param lastId    yeni checkpoint
+ * @param affected  değiştirilen/silinen/export edilen/eşleşen task sayısı
+ */
+public record ChunkResult(int processed, Long lastId, int affected) {
+
+    public static ChunkResult done() {
+        return new ChunkResult(0, null, 0);
+    }
+
+    public boolean isDone() {
+        return processed == 0;
+    }
+}
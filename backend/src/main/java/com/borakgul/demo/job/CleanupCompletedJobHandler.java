@@ -0,0 +1,87 @@
+package com.borakgul.demo.job;
+
+import com.borakgul.demo.cache.CacheInvalidation;
+import com.borakgul.demo.cache.CacheInvalidationBus;
+import com.borakgul.demo.cache.TaskWorkingSetCache;
+import com.borakgul.demo.index.TaskBitmapIndex;
+import com.borakgul.demo.model.Job;
+import com.borakgul.demo.model.JobType;
+import com.borakgul.demo.outbox.TaskEventOutbox;
+import com.borakgul.demo.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🧹 Belirli bir süreden önce tamamlanmış task'ları siler
+ * Parametre: olderThanDays (varsayılan 30)
+ */
+@Component
+@RequiredArgsConstructor
+public class CleanupCompletedJobHandler implements JobHandler {
+
+    private static final int DEFAULT_OLDER_THAN_DAYS = 30;
+
+    private final TaskRepository taskRepository;
+    private final TaskBitmapIndex taskBitmapIndex;
+    private final TaskWorkingSetCache taskWorkingSetCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final TaskEventOutbox taskEventOutbox;
+
+    @Override
+    public JobType type() {
+        return JobType.CLEANUP_COMPLETED;
+    }
+
+    @Override
+    public void validate(Map<String, Object> parameters) {
+        if (olderThanDays(parameters) < 0) {
+            throw new IllegalArgumentException("Parameter 'olderThanDays' must not be negative");
+        }
+    }
+
+    @Override
+    public Long estimateTotal(Map<String, Object> parameters) {
+        return taskRepository.countCompletedBefore(cutoff(parameters));
+    }
+
+    @Override
+    public ChunkResult processChunk(Job job, Map<String, Object> parameters, int chunkSize) {
+        List<Long> ids = taskRepository.findCompletedIdsBefore(
+                job.getCheckpoint(), cutoff(parameters), PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return ChunkResult.done();
+        }
+
+        taskRepository.deleteAllByIdInBatch(ids);
+        taskEventOutbox.tasksDeleted(ids);
+        taskBitmapIndex.removedAfterCommit(ids);
+        taskWorkingSetCache.invalidateAllAfterCommit();
+        cacheInvalidationBus.invalidateAfterCommit(CacheInvalidation.Type.TASK, ids);
+        cacheInvalidationBus.invalidateAllAfterCommit(CacheInvalidation.Type.TASK_LIST);
+        return new ChunkResult(ids.size(), ids.get(ids.size() - 1), ids.size());
+    }
+
+    // Cutoff job oluşturulduğu ana sabitlenir; restart sonrası aynı kümeye devam edilir
+    private LocalDateTime cutoff(Map<String, Object> parameters) {
+        Object submittedAt = parameters.get("submittedAt");
+        LocalDateTime reference = submittedAt != null ? LocalDateTime.parse(submittedAt.toString()) : LocalDateTime.now();
+        return reference.minusDays(olderThanDays(parameters));
+    }
+
+    private int olderThanDays(Map<String, Object> parameters) {
+        Object value = parameters.get("olderThanDays");
+        if (value == null) {
+            return DEFAULT_OLDER_THAN_DAYS;
+        }
+        try {
+            return Integer.parseInt(value.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter 'olderThanDays' must be a number: " + value);
+        }
+    }
+}
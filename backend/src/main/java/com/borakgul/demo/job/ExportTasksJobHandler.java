@@ -0,0 +1,95 @@
+package com.borakgul.demo.job;
+
+import com.borakgul.demo.model.Job;
+import com.borakgul.demo.model.JobType;
+import com.borakgul.demo.model.Task;
+import com.borakgul.demo.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📤 Tüm task'ları CSV dosyasına export eder (app.jobs.export-dir/job-{id}.csv)
+ * Dosya yazımı transaction dışıdır: checkpoint commit edilmeden önce crash olursa
+ * son chunk restart sonrası tekrar yazılabilir (at-least-once).
+ */
+@Component
+public class ExportTasksJobHandler implements JobHandler {
+
+    private static final String HEADER = "id,title,status,priority,dueDate,completed,createdAt";
+
+    private final TaskRepository taskRepository;
+    private final Path exportDir;
+
+    public ExportTasksJobHandler(TaskRepository taskRepository,
+                                 @Value("${app.jobs.export-dir:${java.io.tmpdir}/task-exports}") String exportDir) {
+        this.taskRepository = taskRepository;
+        this.exportDir = Path.of(exportDir);
+    }
+
+    @Override
+    public JobType type() {
+        return JobType.EXPORT_TASKS;
+    }
+
+    @Override
+    public Long estimateTotal(Map<String, Object> parameters) {
+        return taskRepository.count();
+    }
+
+    @Override
+    public ChunkResult processChunk(Job job, Map<String, Object> parameters, int chunkSize) {
+        Path file = exportDir.resolve("job-" + job.getId() + ".csv");
+        boolean firstChunk = job.getCheckpoint() == 0L;
+        List<Task> chunk = taskRepository.findChunkAfter(job.getCheckpoint(), PageRequest.of(0, chunkSize));
+
+        try {
+            Files.createDirectories(exportDir);
+            StandardOpenOption mode = firstChunk ? StandardOpenOption.TRUNCATE_EXISTING : StandardOpenOption.APPEND;
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+                if (firstChunk) {
+                    writer.write(HEADER);
+                    writer.newLine();
+                }
+                for (Task task : chunk) {
+                    writer.write(toCsv(task));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export failed for job " + job.getId(), e);
+        }
+
+        job.setResult(file.toString());
+        if (chunk.isEmpty()) {
+            return ChunkResult.done();
+        }
+        return new ChunkResult(chunk.size(), chunk.get(chunk.size() - 1).getId(), chunk.size());
+    }
+
+    private String toCsv(Task task) {
+        return String.join(",",
+                String.valueOf(task.getId()),
+                quote(task.getTitle()),
+                task.getStatus().name(),
+                task.getPriority().name(),
+                task.getDueDate() != null ? task.getDueDate().toString() : "",
+                String.valueOf(task.getCompleted()),
+                String.valueOf(task.getCreatedAt()));
+    }
+
+    private String quote(String value) {
+        return value == null ? "" : "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
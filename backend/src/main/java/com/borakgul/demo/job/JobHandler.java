@@ -0,0 +1,30 @@
+package com.borakgul.demo.job;
+
+import com.borakgul.demo.model.Job;
+import com.borakgul.demo.model.JobType;
+
+import java.util.Map;
+
+/**
+ * ⚙️ Job tipine özel iş mantığı
+ * Her chunk, job'un checkpoint'inden (son işlenen task ID'si) sonraki en fazla chunkSize task'ı işler.
+ * processChunk, checkpoint güncellemesiyle aynı transaction'da çalışır: DB etkileri ya birlikte commit
+ * edilir ya da hiç; restart sonrası iş son commit edilen checkpoint'ten devam eder.
+ */
+public interface JobHandler {
+
+    JobType type();
+
+    /**
+     * Submit sırasında parametreleri doğrular; geçersizse IllegalArgumentException
+     */
+    default void validate(Map<String, Object> parameters) {
+    }
+
+    /**
+     * İlerleme yüzdesi için tahmini toplam (bilinmiyorsa null)
+     */
+    Long estimateTotal(Map<String, Object> parameters);
+
+    ChunkResult processChunk(Job job, Map<String, Object> parameters, int chunkSize);
+}
@@ -0,0 +1,46 @@
+package com.borakgul.demo.job;
+
+import com.borakgul.demo.model.Job;
+import com.borakgul.demo.model.JobType;
+import com.borakgul.demo.model.Task;
+import com.borakgul.demo.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ⏰ Overdue sweep
+ * Overdue bilgisi Task.isOverdue() ile türetilir, saklanan bir kolon yoktur; bu job tüm task'ları
+ * tarayıp o an overdue olanları sayar (affectedCount). Overdue'ya bağlı ileride eklenecek işler
+ * (bildirim, eskalasyon) için tarama iskeleti budur.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecomputeOverdueJobHandler implements JobHandler {
+
+    private final TaskRepository taskRepository;
+
+    @Override
+    public JobType type() {
+        return JobType.RECOMPUTE_OVERDUE;
+    }
+
+    @Override
+    public Long estimateTotal(Map<String, Object> parameters) {
+        return taskRepository.count();
+    }
+
+    @Override
+    public ChunkResult processChunk(Job job, Map<String, Object> parameters, int chunkSize) {
+        List<Task> chunk = taskRepository.findChunkAfter(job.getCheckpoint(), PageRequest.of(0, chunkSize));
+        if (chunk.isEmpty()) {
+            return ChunkResult.done();
+        }
+
+        int overdue = (int) chunk.stream().filter(Task::isOverdue).count();
+        return new ChunkResult(chunk.size(), chunk.get(chunk.size() - 1).getId(), overdue);
+    }
+}
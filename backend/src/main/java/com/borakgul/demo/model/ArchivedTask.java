@@ -0,0 +1,62 @@
+package com.borakgul.demo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 🗄️ Archived Task - tamamlanıp arşivlenen task'lar
+ * Hot `tasks` tablosu küçük kalsın diye ayrı tabloda tutulur; ID orijinal task ID'sidir.
+ * Satırlar TaskArchiveService tarafından INSERT ... SELECT ile taşınır, salt okunurdur.
+ */
+@Entity
+@Table(name = "tasks_archive", indexes = {
+    @Index(name = "idx_tasks_archive_user", columnList = "user_id"),
+    @Index(name = "idx_tasks_archive_archived_at", columnList = "archived_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTask {
+    
+    @Id
+    private Long id;
+    
+    @Column(nullable = false)
+    private String title;
+    
+    @Column(columnDefinition = "TEXT")
+    private String description;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Priority priority;
+    
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+    
+    // Arşivde FK tutulmaz: kullanıcı silinse de geçmiş korunur
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column(nullable = false)
+    private Boolean completed;
+    
+    private Long version;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,88 @@
+package com.borakgul.demo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * ⚙️ Job Entity - request dışında, parça parça (chunk) çalışan uzun işlemler
+ * checkpoint: işlenen son task ID'si; restart sonrası iş buradan devam eder
+ */
+@Entity
+@Table(name = "jobs", indexes = {
+    @Index(name = "idx_jobs_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Job {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobType type;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status = JobStatus.QUEUED;
+    
+    // Job tipine özel parametreler (JSON)
+    @Column(columnDefinition = "TEXT")
+    private String parameters;
+    
+    @Column(nullable = false)
+    private Long checkpoint = 0L;
+    
+    @Column(name = "processed_count", nullable = false)
+    private Long processedCount = 0L;
+    
+    @Column(name = "affected_count", nullable = false)
+    private Long affectedCount = 0L;
+    
+    @Column(name = "total_count")
+    private Long totalCount;
+    
+    @Column(name = "cancel_requested", nullable = false)
+    private Boolean cancelRequested = false;
+    
+    // Özet sonuç (export dosyası, sayaçlar vs.)
+    @Column(columnDefinition = "TEXT")
+    private String result;
+    
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+    
+    @Column(name = "created_by")
+    private String createdBy;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    // Cancel isteği ile worker'ın checkpoint yazması çakışmasın
+    @Version
+    private Long version;
+    
+    public void finish(JobStatus finalStatus) {
+        this.status = finalStatus;
+        this.finishedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,18 @@
+package com.borakgul.demo.model;
+
+public enum JobType {
+    BULK_STATUS_CHANGE("Bulk status change"),
+    EXPORT_TASKS("Export tasks to CSV"),
+    CLEANUP_COMPLETED("Delete old completed tasks"),
+    RECOMPUTE_OVERDUE("Overdue sweep");
+    
+    private final String displayName;
+    
+    JobType(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+}
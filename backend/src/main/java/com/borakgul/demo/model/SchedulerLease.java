@@ -0,0 +1,43 @@
+package com.borakgul.demo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 🔒 Scheduler Lease - periyodik işlerin tek node'da çalışması için veritabanı kilidi
+ * expiresAt geçmişse lease boştadır; her alınışta fencingToken bir artar. Sahip, yazmalarını aynı
+ * transaction'da lease'i token ile uzatarak doğrular: token değişmişse (lease başkasına geçmiş) yazmalar geri alınır.
+ * checkpoint: yarım kalan işin son işlenen ID'si (sharded sweep'lerde plan satırında run'ın üst ID sınırı).
+ */
+@Entity
+@Table(name = "scheduler_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    private String owner;
+
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken = 0L;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "acquired_at")
+    private LocalDateTime acquiredAt;
+
+    // Son başarılı tamamlanma; minInterval içinde tekrar alınmaz
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    private Long checkpoint;
+}
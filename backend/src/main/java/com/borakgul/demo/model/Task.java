@@ -7,12 +7,21 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    // Arşivleme seçimi (completed = true AND updated_at < cutoff) için
+    @Index(name = "idx_tasks_completed_updated_at", columnList = "completed, updated_at"),
+    // /filter sıralama alanları (TaskSortField) ve en sık kullanılan status + createdAt kombinasyonu
+    @Index(name = "idx_tasks_created_at", columnList = "created_at"),
+    @Index(name = "idx_tasks_due_date", columnList = "due_date"),
+    @Index(name = "idx_tasks_status_created_at", columnList = "status, created_at")
+})
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -58,6 +67,10 @@ public class Task {
     @Column(nullable = false)
     private Boolean completed = false;
     
+    // Optimistic locking - concurrent update'lerde lost write'ı önler
+    @Version
+    private Long version;
+    
     // Business logic methods
     public void markAsCompleted() {
         this.completed = true;
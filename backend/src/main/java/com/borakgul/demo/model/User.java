@@ -69,6 +69,11 @@ public class User implements UserDetails {
     @Column(name = "is_credentials_non_expired")
     private boolean credentialsNonExpired = true;
 
+    // 🔁 Token'lara "ver" claim'i olarak yazılır; durum/şifre/rol değişince artar, eski token'ları bayatlatır
+    @Builder.Default
+    @Column(name = "token_version")
+    private Long tokenVersion = 0L;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -106,6 +111,14 @@ public class User implements UserDetails {
         return enabled;
     }
 
+    public long currentTokenVersion() {
+        return tokenVersion != null ? tokenVersion : 0L;
+    }
+
+    public void bumpTokenVersion() {
+        tokenVersion = currentTokenVersion() + 1;
+    }
+
     // 🕒 Lifecycle methods
     @PrePersist
     protected void onCreate() {
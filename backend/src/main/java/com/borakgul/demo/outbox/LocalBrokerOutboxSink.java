@@ -0,0 +1,63 @@
+package com.borakgul.demo.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📡 Yerel broker stand-in'i: aggregate tipi başına bir topic, her topic sınırlı bir kuyruk
+ * Gerçek bir broker (Kafka, RabbitMQ) gelene kadar tüketiciler poll ile okur.
+ * Kuyruk doluysa publish hata verir; relay batch'i geri tutar ve sonra tekrar dener (back-pressure).
+ */
+@Component
+public class LocalBrokerOutboxSink implements OutboxSink {
+
+    private final Map<String, BlockingQueue<OutboxMessage>> topics = new ConcurrentHashMap<>();
+    private final int topicCapacity;
+    private final long offerTimeoutMs;
+
+    public LocalBrokerOutboxSink(@Value("${app.outbox.local-broker.topic-capacity:10000}") int topicCapacity,
+                                 @Value("${app.outbox.local-broker.offer-timeout-ms:100}") long offerTimeoutMs) {
+        this.topicCapacity = topicCapacity;
+        this.offerTimeoutMs = offerTimeoutMs;
+    }
+
+    @Override
+    public String name() {
+        return "local-broker";
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> batch) throws InterruptedException {
+        for (OutboxMessage message : batch) {
+            if (!topic(message.aggregateType()).offer(message, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Topic '" + message.aggregateType() + "' is full");
+            }
+        }
+    }
+
+    /**
+     * 📥 Tüketici tarafı: topic'ten en fazla maxMessages olay al
+     */
+    public List<OutboxMessage> poll(String topicName, int maxMessages) {
+        List<OutboxMessage> messages = new ArrayList<>(maxMessages);
+        topic(topicName).drainTo(messages, maxMessages);
+        return messages;
+    }
+
+    public int depth(String topicName) {
+        BlockingQueue<OutboxMessage> queue = topics.get(topicName);
+        return queue == null ? 0 : queue.size();
+    }
+
+    private BlockingQueue<OutboxMessage> topic(String name) {
+        return topics.computeIfAbsent(name, key -> new ArrayBlockingQueue<>(topicCapacity));
+    }
+}
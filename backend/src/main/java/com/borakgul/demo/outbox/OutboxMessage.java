@@ -0,0 +1,21 @@
+package com.borakgul.demo.outbox;
+
+import com.borakgul.demo.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📨 Sink'lere iletilen değişmez olay; id tüketicilerde deduplication anahtarıdır (at-least-once)
+ */
+public record OutboxMessage(Long id,
+                            String aggregateType,
+                            Long aggregateId,
+                            String eventType,
+                            String payload,
+                            LocalDateTime createdAt) {
+
+    public static OutboxMessage from(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,175 @@
+package com.borakgul.demo.outbox;
+
+import com.borakgul.demo.model.OutboxEvent;
+import com.borakgul.demo.exception.LeaseLostException;
+import com.borakgul.demo.repository.OutboxEventRepository;
+import com.borakgul.demo.schedule.Lease;
+import com.borakgul.demo.schedule.LeaseManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🚚 Outbox Relay - yayınlanmamış olayları batch'ler halinde sink'lere iletir
+ * At-least-once: batch önce tüm sink'lere iletilir, sonra published işaretlenir. Bir sink hata verirse
+ * batch işaretlenmez ve sıradaki turda baştan denenir; sıra korunsun diye sonraki batch'e geçilmez.
+ * Cluster'da relay tek node'da çalışır: "outbox-relay" lease'ini tutan node poll eder ve her turda uzatır,
+ * diğerleri lease düşene kadar bekler. published işareti lease fence'iyle aynı transaction'dadır.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final String RELAY_LEASE = "outbox-relay";
+    private static final String PURGE_LEASE = "outbox-purge";
+    // Saatlik cron; node'ların aynı saatteki tetiklemeleri tek temizliğe insin
+    private static final Duration PURGE_MIN_INTERVAL = Duration.ofMinutes(30);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaseManager leaseManager;
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final long retentionHours;
+
+    private final Counter publishedEvents;
+    private final Counter failedBatches;
+    private final Timer batchTimer;
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private volatile Lease relayLease;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       TransactionTemplate transactionTemplate,
+                       LeaseManager leaseManager,
+                       List<OutboxSink> availableSinks,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.outbox.sinks:in-process,file}") List<String> enabledSinks,
+                       @Value("${app.outbox.batch-size:200}") int batchSize,
+                       @Value("${app.outbox.max-batches-per-poll:50}") int maxBatchesPerPoll,
+                       @Value("${app.outbox.retention-hours:24}") long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.leaseManager = leaseManager;
+        this.sinks = availableSinks.stream().filter(sink -> enabledSinks.contains(sink.name())).toList();
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.retentionHours = retentionHours;
+
+        this.publishedEvents = Counter.builder("outbox.events.published")
+                .description("Outbox events delivered to all sinks")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("outbox.batches.failed")
+                .description("Outbox batches that failed in at least one sink")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.batch.duration")
+                .description("Time to deliver and mark one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("outbox.events.pending", pendingEvents, AtomicLong::get)
+                .description("Unpublished outbox events at the last poll")
+                .register(meterRegistry);
+
+        log.info("📮 Outbox relay sinks: {}", sinks.stream().map(OutboxSink::name).toList());
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void poll() {
+        if (!holdRelayLease()) {
+            return;
+        }
+        try {
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                int relayed = relayBatch();
+                if (relayed < batchSize) {
+                    break;
+                }
+            }
+        } catch (LeaseLostException e) {
+            relayLease = null;
+            log.warn("📮 Outbox relay lease lost, another node takes over: {}", e.getMessage());
+            return;
+        }
+        pendingEvents.set(outboxEventRepository.countByPublishedAtIsNull());
+    }
+
+    @PreDestroy
+    public void releaseRelayLease() {
+        // Kapanışta lease'i bırak; diğer node ttl dolmasını beklemeden devralsın
+        Lease lease = relayLease;
+        if (lease != null) {
+            relayLease = null;
+            leaseManager.release(lease);
+        }
+    }
+
+    /**
+     * Bir batch'i ilet; iletilen olay sayısını döner (hata varsa 0)
+     */
+    public int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findPending(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+        List<OutboxMessage> messages = batch.stream().map(OutboxMessage::from).toList();
+        Timer.Sample sample = Timer.start();
+        try {
+            for (OutboxSink sink : sinks) {
+                sink.publish(messages);
+            }
+        } catch (Exception e) {
+            failedBatches.increment();
+            log.warn("📮 Outbox batch {}..{} failed, will retry: {}", ids.get(0), ids.get(ids.size() - 1), e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.markFailed(ids, e.getMessage()));
+            return 0;
+        }
+
+        Lease lease = relayLease;
+        transactionTemplate.executeWithoutResult(status -> {
+            if (lease != null) {
+                leaseManager.fence(lease);
+            }
+            outboxEventRepository.markPublished(ids, LocalDateTime.now());
+        });
+        sample.stop(batchTimer);
+        publishedEvents.increment(ids.size());
+        return ids.size();
+    }
+
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 0 * * * *}")
+    public void purgePublished() {
+        leaseManager.runExclusively(PURGE_LEASE, PURGE_MIN_INTERVAL, lease -> {
+            Integer deleted = transactionTemplate.execute(status -> {
+                leaseManager.fence(lease);
+                return outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+            });
+            log.debug("📮 Purged {} published outbox events", deleted);
+        });
+    }
+
+    private boolean holdRelayLease() {
+        Lease lease = relayLease;
+        if (lease != null && leaseManager.renew(lease)) {
+            return true;
+        }
+        relayLease = leaseManager.tryAcquire(RELAY_LEASE, Duration.ZERO).orElse(null);
+        if (relayLease != null) {
+            log.info("📮 This node is now the outbox relay (fencing token {})", relayLease.token());
+        }
+        return relayLease != null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.borakgul.demo.outbox;
+
+import java.util.List;
+
+/**
+ * 🚚 Outbox olaylarının iletildiği hedef
+ * publish bir exception fırlatırsa batch yayınlanmış sayılmaz ve sonraki turda tekrar denenir;
+ * bu yüzden sink'ler aynı olayı birden fazla alabilir ve id ile tekrarı ayıklamalıdır.
+ */
+public interface OutboxSink {
+
+    /**
+     * app.outbox.sinks içinde kullanılan ad
+     */
+    String name();
+
+    void publish(List<OutboxMessage> batch) throws Exception;
+}
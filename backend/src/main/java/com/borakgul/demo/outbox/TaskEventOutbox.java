@@ -0,0 +1,91 @@
+package com.borakgul.demo.outbox;
+
+import com.borakgul.demo.dto.TaskResponse;
+import com.borakgul.demo.model.OutboxEvent;
+import com.borakgul.demo.model.Task;
+import com.borakgul.demo.model.TaskStatus;
+import com.borakgul.demo.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📮 Task değişiklik olaylarını outbox tablosuna yazar
+ * MANDATORY: çağıran transaction yoksa hata verir; olay ve task değişikliği ya birlikte commit edilir
+ * ya da hiç. Yayınlama OutboxRelay tarafından request dışında yapılır.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class TaskEventOutbox {
+
+    public static final String AGGREGATE_TYPE = "Task";
+    public static final String TASK_CREATED = "TaskCreated";
+    public static final String TASK_UPDATED = "TaskUpdated";
+    public static final String TASK_DELETED = "TaskDeleted";
+    public static final String TASK_STATUS_CHANGED = "TaskStatusChanged";
+    public static final String TASK_ARCHIVED = "TaskArchived";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public void taskCreated(Task task) {
+        append(task.getId(), TASK_CREATED, new TaskResponse(task));
+    }
+
+    public void taskUpdated(Task task) {
+        append(task.getId(), TASK_UPDATED, new TaskResponse(task));
+    }
+
+    public void taskDeleted(Long taskId) {
+        append(taskId, TASK_DELETED, Map.of("id", taskId));
+    }
+
+    /**
+     * 📦 Toplu yollar (job ve arşiv chunk'ları) entity yüklemez; chunk'taki her ID için bir olay yazılır
+     */
+    public void tasksStatusChanged(List<Long> taskIds, TaskStatus status, boolean completed) {
+        outboxEventRepository.saveAll(taskIds.stream()
+                .map(id -> event(id, TASK_STATUS_CHANGED, Map.of("id", id, "status", status, "completed", completed)))
+                .toList());
+    }
+
+    public void tasksDeleted(List<Long> taskIds) {
+        outboxEventRepository.saveAll(taskIds.stream()
+                .map(id -> event(id, TASK_DELETED, Map.of("id", id)))
+                .toList());
+    }
+
+    public void tasksArchived(List<Long> taskIds) {
+        outboxEventRepository.saveAll(taskIds.stream()
+                .map(id -> event(id, TASK_ARCHIVED, Map.of("id", id)))
+                .toList());
+    }
+
+    private void append(Long taskId, String eventType, Object payload) {
+        outboxEventRepository.save(event(taskId, eventType, payload));
+    }
+
+    private OutboxEvent event(Long taskId, String eventType, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(AGGREGATE_TYPE);
+        event.setAggregateId(taskId);
+        event.setEventType(eventType);
+        event.setPayload(toJson(payload));
+        return event;
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Outbox payload is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.borakgul.demo.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 🔬 /actuator/profile - SecurityConfig'te ADMIN rolüne kısıtlı
+ * POST /actuator/profile/{jfr|cpu|alloc|lock|summary} {"seconds": 30}
+ * jfr: ham kayıt (JMC ile açılır); cpu/alloc/lock: collapsed stack'ler (flamegraph.pl, speedscope);
+ * summary: en sıcak frame'lerin JSON özeti. Başka bir profil çalışıyorsa 409.
+ */
+@Component
+@Endpoint(id = "profile")
+@RequiredArgsConstructor
+public class ProfileEndpoint {
+
+    private final ProfilingService profilingService;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of("running", profilingService.isRunning());
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> profile(@Selector String output, @Nullable Integer seconds) throws IOException {
+        ProfileKind kind;
+        try {
+            kind = ProfileKind.fromPath(output);
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        try {
+            return profilingService.profile(seconds, kind)
+                    .map(result -> new WebEndpointResponse<>(result.body(), WebEndpointResponse.STATUS_OK, result.contentType()))
+                    .orElseGet(() -> new WebEndpointResponse<>(Map.of("error", "A profile is already running"), 409));
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.borakgul.demo.profiling;
+
+/**
+ * Profil çıktısı: ham kayıt, event türüne göre collapsed stack'ler ya da JSON özet
+ */
+public enum ProfileKind {
+    JFR, CPU, ALLOC, LOCK, SUMMARY;
+
+    public static ProfileKind fromPath(String value) {
+        for (ProfileKind kind : values()) {
+            if (kind.name().equalsIgnoreCase(value)) {
+                return kind;
+            }
+        }
+        throw new IllegalArgumentException("Unknown profile output '" + value + "', expected one of jfr, cpu, alloc, lock, summary");
+    }
+}
@@ -0,0 +1,9 @@
+package com.borakgul.demo.profiling;
+
+import org.springframework.util.MimeType;
+
+/**
+ * Profil sonucu ve content type'ı (byte[] .jfr, String collapsed stack'ler ya da Map özet)
+ */
+public record ProfileOutput(Object body, MimeType contentType) {
+}
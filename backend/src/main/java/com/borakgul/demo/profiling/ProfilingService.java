@@ -0,0 +1,187 @@
+package com.borakgul.demo.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 🔬 On-demand JFR profili - container'a girmeden, restart olmadan sıcak yolları görmek için
+ * JDK'nın "profile" ayarlarının üstüne CPU örnekleme (10 ms), allocation örnekleme ve 1 ms üstü lock
+ * bekleme event'leri açılır; süre dolunca kayıt geçici dosyaya yazılır, istenen biçime çevrilip silinir.
+ * Aynı anda tek profil çalışır (ikinci istek beklemeden boş döner); süre max-seconds ile sınırlıdır.
+ */
+@Component
+@Slf4j
+public class ProfilingService {
+
+    private static final MimeType TEXT = MimeTypeUtils.TEXT_PLAIN;
+    private static final MimeType JSON = MimeTypeUtils.APPLICATION_JSON;
+    private static final MimeType JFR = MimeType.valueOf("application/octet-stream");
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final int defaultSeconds;
+    private final int maxSeconds;
+    private final long maxBytes;
+    private final int topFrames;
+
+    public ProfilingService(@Value("${app.profiling.default-seconds:30}") int defaultSeconds,
+                            @Value("${app.profiling.max-seconds:120}") int maxSeconds,
+                            @Value("${app.profiling.max-bytes:67108864}") long maxBytes,
+                            @Value("${app.profiling.top-frames:20}") int topFrames) {
+        this.defaultSeconds = defaultSeconds;
+        this.maxSeconds = maxSeconds;
+        this.maxBytes = maxBytes;
+        this.topFrames = topFrames;
+    }
+
+    /**
+     * ⏱️ seconds boyunca kaydet ve kind biçiminde döndür; başka bir profil çalışıyorsa boş
+     */
+    public Optional<ProfileOutput> profile(Integer seconds, ProfileKind kind) throws IOException {
+        int duration = seconds != null ? seconds : defaultSeconds;
+        if (duration < 1 || duration > maxSeconds) {
+            throw new IllegalArgumentException("Profile duration must be between 1 and " + maxSeconds + " seconds");
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.info("🔬 Profile already running, rejecting request");
+            return Optional.empty();
+        }
+
+        Path file = null;
+        try {
+            // Geçici dosya da try içinde: oluşturulamazsa running bayrağı takılı kalmasın
+            file = Files.createTempFile("profile-", ".jfr");
+            log.info("🔬 Profiling for {} s ({})", duration, kind);
+            record(Duration.ofSeconds(duration), file);
+            return Optional.of(switch (kind) {
+                case JFR -> new ProfileOutput(Files.readAllBytes(file), JFR);
+                case CPU -> new ProfileOutput(profiles(file).cpu.collapsed(), TEXT);
+                case ALLOC -> new ProfileOutput(profiles(file).allocation.collapsed(), TEXT);
+                case LOCK -> new ProfileOutput(profiles(file).locks.collapsed(), TEXT);
+                case SUMMARY -> new ProfileOutput(summary(file, duration), JSON);
+            });
+        } finally {
+            try {
+                if (file != null) {
+                    Files.deleteIfExists(file);
+                }
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void record(Duration duration, Path file) throws IOException {
+        try (Recording recording = new Recording(settings())) {
+            recording.setName("actuator-profile");
+            recording.setToDisk(true);
+            recording.setMaxSize(maxBytes);
+            recording.start();
+            try {
+                Thread.sleep(duration.toMillis());
+            } catch (InterruptedException e) {
+                // Yarım kayıt da işe yarar; interrupt bayrağı korunur
+                Thread.currentThread().interrupt();
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+    }
+
+    private static Map<String, String> settings() throws IOException {
+        Map<String, String> settings;
+        try {
+            settings = new HashMap<>(Configuration.getConfiguration("profile").getSettings());
+        } catch (ParseException e) {
+            throw new IOException("JDK profile settings could not be parsed", e);
+        }
+        settings.put("jdk.ExecutionSample#enabled", "true");
+        settings.put("jdk.ExecutionSample#period", "10 ms");
+        settings.put("jdk.ObjectAllocationSample#enabled", "true");
+        settings.put("jdk.ObjectAllocationSample#throttle", "300/s");
+        settings.put("jdk.ObjectAllocationSample#stackTrace", "true");
+        settings.put("jdk.JavaMonitorEnter#enabled", "true");
+        settings.put("jdk.JavaMonitorEnter#threshold", "1 ms");
+        settings.put("jdk.JavaMonitorEnter#stackTrace", "true");
+        settings.put("jdk.ThreadPark#enabled", "true");
+        settings.put("jdk.ThreadPark#threshold", "1 ms");
+        settings.put("jdk.ThreadPark#stackTrace", "true");
+        return settings;
+    }
+
+    private Map<String, Object> summary(Path file, int seconds) throws IOException {
+        Profiles profiles = profiles(file);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("seconds", seconds);
+        summary.put("recordingBytes", Files.size(file));
+        summary.put("cpu", Map.of("samples", profiles.cpu.events(),
+                "top", profiles.cpu.top(topFrames, "samples")));
+        summary.put("allocation", Map.of("samples", profiles.allocation.events(),
+                "sampledBytes", profiles.allocation.total(),
+                "top", profiles.allocation.top(topFrames, "bytes")));
+        summary.put("locks", Map.of("events", profiles.locks.events(),
+                "blockedMicros", profiles.locks.total(),
+                "top", profiles.locks.top(topFrames, "micros")));
+        return summary;
+    }
+
+    private static Profiles profiles(Path file) throws IOException {
+        Profiles profiles = new Profiles();
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> profiles.cpu.add(event, 1);
+                    case "jdk.ObjectAllocationSample" -> profiles.allocation.add(event, event.getLong("weight"));
+                    case "jdk.JavaMonitorEnter" -> profiles.locks.add(event, event.getDuration().toNanos() / 1000);
+                    case "jdk.ThreadPark" -> {
+                        if (isLockPark(event)) {
+                            profiles.locks.add(event, event.getDuration().toNanos() / 1000);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        return profiles;
+    }
+
+    // Boştaki pool thread'leri de park eder (kuyrukta iş beklemek); sadece lock'ta bekleyenler sayılır
+    private static boolean isLockPark(RecordedEvent event) {
+        RecordedClass parkedClass = event.getClass("parkedClass");
+        if (parkedClass == null) {
+            return false;
+        }
+        String name = parkedClass.getName();
+        return name.startsWith("java.util.concurrent.locks.") && !name.endsWith("$ConditionObject");
+    }
+
+    private static final class Profiles {
+        private final StackProfile cpu = new StackProfile();
+        private final StackProfile allocation = new StackProfile();
+        private final StackProfile locks = new StackProfile();
+    }
+}
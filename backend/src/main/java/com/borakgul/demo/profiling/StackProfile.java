@@ -0,0 +1,85 @@
+package com.borakgul.demo.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔥 Bir event türünün stack'lerinin ağırlıklı toplamı
+ * collapsed(): flamegraph.pl / speedscope / Grafana'nın okuduğu "kök;...;yaprak ağırlık" satırları.
+ * top(n): en çok ağırlık alan yaprak frame'ler (self).
+ */
+class StackProfile {
+
+    private final Map<String, Long> stacks = new HashMap<>();
+    private final Map<String, Long> leaves = new HashMap<>();
+    private long events;
+    private long total;
+
+    void add(RecordedEvent event, long weight) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty() || weight <= 0) {
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        StringBuilder stack = new StringBuilder();
+        // JFR frame'leri yapraktan köke verir; collapsed format kökten yaprağa ister
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            if (stack.length() > 0) {
+                stack.append(';');
+            }
+            stack.append(frameName(frames.get(i)));
+        }
+        stacks.merge(stack.toString(), weight, Long::sum);
+        leaves.merge(frameName(frames.get(0)), weight, Long::sum);
+        events++;
+        total += weight;
+    }
+
+    String collapsed() {
+        StringBuilder out = new StringBuilder();
+        stacks.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> out.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n'));
+        return out.toString();
+    }
+
+    List<Map<String, Object>> top(int limit, String weightName) {
+        List<Map<String, Object>> top = new ArrayList<>();
+        leaves.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(limit)
+                .forEach(entry -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("frame", entry.getKey());
+                    row.put(weightName, entry.getValue());
+                    row.put("percent", total == 0 ? 0 : Math.round(entry.getValue() * 1000.0 / total) / 10.0);
+                    top.add(row);
+                });
+        return top;
+    }
+
+    long events() {
+        return events;
+    }
+
+    long total() {
+        return total;
+    }
+
+    private static String frameName(RecordedFrame frame) {
+        RecordedMethod method = frame.getMethod();
+        if (method == null) {
+            return "[unknown]";
+        }
+        String type = method.getType() != null ? method.getType().getName() : "[unknown]";
+        return type + "." + method.getName();
+    }
+}
@@ -0,0 +1,34 @@
+package com.borakgul.demo.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 🧠 Process içi rate limit store
+ * Bucket'lar Caffeine ile sınırlandırılır: çok sayıda farklı IP'den gelen trafik belleği şişirmez,
+ * bir süre kullanılmayan bucket zaten dolmuş olacağından silinmesi davranışı değiştirmez.
+ */
+@Component
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, TokenBucket> buckets;
+
+    public InMemoryRateLimitStore(@Value("${app.rate-limit.max-buckets:100000}") long maxBuckets,
+                                  @Value("${app.rate-limit.idle-eviction-minutes:10}") long idleEvictionMinutes) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofMinutes(idleEvictionMinutes))
+                .build();
+    }
+
+    @Override
+    public long tryConsume(String key, RateLimitPolicy policy) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(policy, now));
+        return bucket.tryConsume(now);
+    }
+}
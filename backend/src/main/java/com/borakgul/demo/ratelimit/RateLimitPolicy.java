@@ -0,0 +1,19 @@
+package com.borakgul.demo.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * 📏 Rate limit politikası: her period'da capacity kadar istek, en fazla capacity kadar burst
+ * Bucket'lar key = policy adı + subject (email veya IP) ile ayrılır.
+ */
+public record RateLimitPolicy(String name, long capacity, Duration period) {
+
+    public RateLimitPolicy {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity must be positive: " + name);
+        }
+        if (period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit period must be positive: " + name);
+        }
+    }
+}
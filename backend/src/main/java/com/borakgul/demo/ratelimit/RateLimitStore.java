@@ -0,0 +1,14 @@
+package com.borakgul.demo.ratelimit;
+
+/**
+ * 🗄️ Token bucket durumunu tutan store
+ * Varsayılan implementasyon process içidir ({@link InMemoryRateLimitStore}); replica'lar arasında
+ * paylaşılan bir limit gerektiğinde (örn. Redis, PostgreSQL) aynı arayüzle değiştirilebilir.
+ */
+public interface RateLimitStore {
+
+    /**
+     * @return 0 ise istek kabul edildi; aksi halde Retry-After için beklenmesi gereken nanosaniye
+     */
+    long tryConsume(String key, RateLimitPolicy policy);
+}
@@ -0,0 +1,40 @@
+package com.borakgul.demo.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🪣 Lock-free Token Bucket
+ * GCRA (virtual scheduling) formunda tutulur: tek bir AtomicLong "theoretical arrival time" saklar,
+ * CAS ile güncellenir. Davranış olarak capacity kadar burst'e izin veren, period başına capacity
+ * token dolduran klasik token bucket ile aynıdır; request başına allocation yapmaz.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    public TokenBucket(RateLimitPolicy policy, long nowNanos) {
+        this.emissionIntervalNanos = Math.max(1, policy.period().toNanos() / policy.capacity());
+        this.burstToleranceNanos = emissionIntervalNanos * policy.capacity();
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * 🎯 Bir token tüketmeyi dener
+     * @return 0 ise izin verildi; aksi halde bir sonraki token için beklenmesi gereken nanosaniye
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrivalNanos.get();
+            long newTat = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long waitNanos = newTat - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.borakgul.demo.repository;
+
+import com.borakgul.demo.model.ArchivedTask;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+    
+    Page<ArchivedTask> findByUserId(Long userId, Pageable pageable);
+    
+    Page<ArchivedTask> findByTitleContainingIgnoreCase(String title, Pageable pageable);
+    
+    // Hot tablodan arşive kopyalama - satırlar uygulamaya yüklenmeden DB içinde taşınır.
+    // Seçim koşulu tekrarlanır: arada yeniden açılmış bir task arşive kopyalanmaz
+    @Modifying
+    @Query(value = "INSERT INTO tasks_archive (id, title, description, status, priority, due_date, user_id, " +
+                   "created_at, updated_at, completed, version, archived_at) " +
+                   "SELECT id, title, description, status, priority, due_date, user_id, " +
+                   "created_at, updated_at, completed, version, :archivedAt FROM tasks " +
+                   "WHERE id IN (:ids) AND completed = true AND updated_at < :before",
+           nativeQuery = true)
+    int copyFromTasks(@Param("ids") List<Long> ids,
+                      @Param("before") LocalDateTime before,
+                      @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,20 @@
+package com.borakgul.demo.repository;
+
+import com.borakgul.demo.model.Job;
+import com.borakgul.demo.model.JobStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, Long> {
+    
+    // Restart sonrası devam ettirilecek job'lar
+    List<Job> findByStatusInOrderByIdAsc(Collection<JobStatus> statuses);
+    
+    Page<Job> findAllByOrderByIdDesc(Pageable pageable);
+}
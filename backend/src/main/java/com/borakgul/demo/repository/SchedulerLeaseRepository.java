@@ -0,0 +1,74 @@
+package com.borakgul.demo.repository;
+
+import com.borakgul.demo.model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Koşullu UPDATE: aynı anda deneyen node'lardan sadece biri 1 satır günceller
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.fencingToken = l.fencingToken + 1, " +
+           "l.acquiredAt = :now, l.expiresAt = :expiresAt " +
+           "WHERE l.name = :name AND l.expiresAt <= :now " +
+           "AND (l.completedAt IS NULL OR l.completedAt < :notCompletedSince)")
+    int tryAcquire(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("now") LocalDateTime now,
+                   @Param("expiresAt") LocalDateTime expiresAt,
+                   @Param("notCompletedSince") LocalDateTime notCompletedSince);
+
+    // Fence: token hâlâ geçerliyse uzat; 0 = lease kaybedildi
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :expiresAt " +
+           "WHERE l.name = :name AND l.fencingToken = :token AND l.expiresAt > :now")
+    int extend(@Param("name") String name,
+               @Param("token") Long token,
+               @Param("now") LocalDateTime now,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :expiresAt, l.checkpoint = :checkpoint " +
+           "WHERE l.name = :name AND l.fencingToken = :token AND l.expiresAt > :now")
+    int extendWithCheckpoint(@Param("name") String name,
+                             @Param("token") Long token,
+                             @Param("now") LocalDateTime now,
+                             @Param("expiresAt") LocalDateTime expiresAt,
+                             @Param("checkpoint") Long checkpoint);
+
+    // Bırak (checkpoint korunur, sonraki sahip kaldığı yerden devam eder)
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :now WHERE l.name = :name AND l.fencingToken = :token")
+    int release(@Param("name") String name, @Param("token") Long token, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :now, l.completedAt = :now, l.checkpoint = NULL " +
+           "WHERE l.name = :name AND l.fencingToken = :token")
+    int complete(@Param("name") String name, @Param("token") Long token, @Param("now") LocalDateTime now);
+
+    // Sharded sweep planı: çalışan bir run yoksa üst ID sınırını sabitleyerek yenisini başlat
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.fencingToken = l.fencingToken + 1, " +
+           "l.acquiredAt = :now, l.checkpoint = :upperBound " +
+           "WHERE l.name = :name AND l.checkpoint IS NULL " +
+           "AND (l.completedAt IS NULL OR l.completedAt < :notCompletedSince)")
+    int startRun(@Param("name") String name,
+                 @Param("owner") String owner,
+                 @Param("now") LocalDateTime now,
+                 @Param("upperBound") Long upperBound,
+                 @Param("notCompletedSince") LocalDateTime notCompletedSince);
+
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.completedAt = :now, l.checkpoint = NULL " +
+           "WHERE l.name = :name AND l.fencingToken = :token AND l.checkpoint IS NOT NULL")
+    int completeRun(@Param("name") String name, @Param("token") Long token, @Param("now") LocalDateTime now);
+
+    long countByNameInAndCompletedAtGreaterThanEqual(Collection<String> names, LocalDateTime since);
+}
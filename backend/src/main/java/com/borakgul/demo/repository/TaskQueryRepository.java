@@ -0,0 +1,115 @@
+package com.borakgul.demo.repository;
+
+import com.borakgul.demo.dto.TaskFilter;
+import com.borakgul.demo.model.Task;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 🧮 Task filtre sorguları - sadece verilen kriterler için predicate üretir
+ * "(:x IS NULL OR t.x = :x)" kalıbı yerine her filtre kombinasyonu kendi sorgu şeklini (shape) alır;
+ * böylece veritabanı her şekil için uygun index'i seçen ayrı bir plan kurar.
+ * Shape = hangi filtrelerin dolu olduğu (bitmask) + sıralama alanı + yön. Derlenmiş JPQL (select + count)
+ * shape başına bir kez üretilip cache'lenir; aynı string Hibernate'in sorgu planı cache'ine ve
+ * JDBC statement cache'ine de tek giriş olarak düşer. Shape sayısı sınırlı: 2^7 filtre kombinasyonu * 3 alan * 2 yön.
+ */
+@Repository
+public class TaskQueryRepository {
+
+    // Sıra önemli: index'i shape bitmask'indeki bit pozisyonu
+    private static final List<Criterion> CRITERIA = List.of(
+            new Criterion("t.status = :status", "status", TaskFilter::status),
+            new Criterion("t.priority = :priority", "priority", TaskFilter::priority),
+            new Criterion("t.completed = :completed", "completed", TaskFilter::completed),
+            new Criterion("t.dueDate >= :dueFrom", "dueFrom", TaskFilter::dueFrom),
+            new Criterion("t.dueDate < :dueTo", "dueTo", TaskFilter::dueTo),
+            new Criterion("t.createdAt >= :createdFrom", "createdFrom", TaskFilter::createdFrom),
+            new Criterion("t.createdAt < :createdTo", "createdTo", TaskFilter::createdTo));
+
+    private record Criterion(String predicate, String parameter, Function<TaskFilter, Object> value) {
+    }
+
+    private record CompiledShape(String selectJpql, String countJpql) {
+    }
+
+    private final EntityManager entityManager;
+    private final ConcurrentHashMap<Integer, CompiledShape> shapes = new ConcurrentHashMap<>();
+
+    public TaskQueryRepository(EntityManager entityManager, MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        Gauge.builder("tasks.query.shapes", shapes, ConcurrentHashMap::size)
+                .description("Compiled task filter query shapes")
+                .register(meterRegistry);
+    }
+
+    public Page<Task> findTasks(TaskFilter filter, Pageable pageable) {
+        Sort.Order order = pageable.getSort().stream().findFirst()
+                .orElse(Sort.Order.desc(TaskSortField.CREATED_AT.getProperty()));
+        TaskSortField sortField = TaskSortField.fromProperty(order.getProperty());
+
+        int mask = mask(filter);
+        int shapeKey = (mask << 3) | (sortField.ordinal() << 1) | (order.isDescending() ? 1 : 0);
+        CompiledShape shape = shapes.computeIfAbsent(shapeKey, key -> compile(mask, sortField, order.isDescending()));
+
+        TypedQuery<Task> select = entityManager.createQuery(shape.selectJpql(), Task.class);
+        bind(select, filter, mask);
+        select.setFirstResult((int) pageable.getOffset());
+        select.setMaxResults(pageable.getPageSize());
+        List<Task> content = select.getResultList();
+
+        // Count sadece gerçekten gerektiğinde (son sayfa değilse) çalışır
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            TypedQuery<Long> count = entityManager.createQuery(shape.countJpql(), Long.class);
+            bind(count, filter, mask);
+            return count.getSingleResult();
+        });
+    }
+
+    private static int mask(TaskFilter filter) {
+        int mask = 0;
+        for (int i = 0; i < CRITERIA.size(); i++) {
+            if (CRITERIA.get(i).value().apply(filter) != null) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    private static CompiledShape compile(int mask, TaskSortField sortField, boolean descending) {
+        StringBuilder where = new StringBuilder();
+        for (int i = 0; i < CRITERIA.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                where.append(where.isEmpty() ? " WHERE " : " AND ").append(CRITERIA.get(i).predicate());
+            }
+        }
+
+        String direction = descending ? " DESC" : " ASC";
+        // id ikincil anahtar: eşit değerlerde sayfalar arası kararlı sıralama
+        String orderBy = " ORDER BY t." + sortField.getProperty() + direction
+                + (sortField == TaskSortField.ID ? "" : ", t.id" + direction);
+
+        return new CompiledShape(
+                "SELECT t FROM Task t" + where + orderBy,
+                "SELECT COUNT(t) FROM Task t" + where);
+    }
+
+    private static void bind(TypedQuery<?> query, TaskFilter filter, int mask) {
+        for (int i = 0; i < CRITERIA.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                Criterion criterion = CRITERIA.get(i);
+                query.setParameter(criterion.parameter(), criterion.value().apply(filter));
+            }
+        }
+    }
+}
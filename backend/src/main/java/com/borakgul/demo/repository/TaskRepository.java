@@ -1,17 +1,20 @@
 package com.borakgul.demo.repository;
 
+import com.borakgul.demo.index.TaskIndexRow;
 import com.borakgul.demo.model.Priority;
 import com.borakgul.demo.model.Task;
 import com.borakgul.demo.model.TaskStatus;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -36,21 +39,21 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     // Find tasks by title containing (case insensitive)
     List<Task> findByTitleContainingIgnoreCase(String title);
     
+    // Kullanıcının task'ları (working set yüklemesi)
+    List<Task> findByUserIdOrderByIdAsc(Long userId, Pageable pageable);
+    
+    // Working set'e sığmayan kullanıcının task'ları: filtre ve sayfa SQL'de
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId " +
+           "AND (:status IS NULL OR t.status = :status) AND (:priority IS NULL OR t.priority = :priority) " +
+           "ORDER BY t.id")
+    List<Task> findOwnTasks(@Param("userId") Long userId,
+                            @Param("status") TaskStatus status,
+                            @Param("priority") Priority priority,
+                            Pageable pageable);
+    
     // Find tasks created between dates
     List<Task> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
     
-    // Custom query for complex filtering
-    @Query("SELECT t FROM Task t WHERE " +
-           "(:status IS NULL OR t.status = :status) AND " +
-           "(:priority IS NULL OR t.priority = :priority) AND " +
-           "(:completed IS NULL OR t.completed = :completed)")
-    Page<Task> findTasksWithFilters(
-        @Param("status") TaskStatus status,
-        @Param("priority") Priority priority,
-        @Param("completed") Boolean completed,
-        Pageable pageable
-    );
-    
     // Bulk update status
     @Modifying
     @Query("UPDATE Task t SET t.status = :status WHERE t.id IN :ids")
@@ -59,7 +62,65 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     // Count tasks by status
     long countByStatus(TaskStatus status);
     
+    long countByPriority(Priority priority);
+    
+    long countByCompleted(Boolean completed);
+    
+    long countByUserId(Long userId);
+    
     // Find high priority pending tasks
     @Query("SELECT t FROM Task t WHERE t.priority IN ('HIGH', 'URGENT') AND t.completed = false")
     List<Task> findHighPriorityPendingTasks();
+    
+    // Keyset chunk'lar (job'lar için) - OFFSET yerine id > checkpoint, PK index'i ile okunur
+    @Query("SELECT t.id FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Bitmap index rebuild'i: entity yerine sadece index'lenen kolonlar
+    @Query("SELECT new com.borakgul.demo.index.TaskIndexRow(t.id, t.user.id, t.status, t.priority, t.completed) " +
+           "FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<TaskIndexRow> findIndexRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.borakgul.demo.index.TaskIndexRow(t.id, t.user.id, t.status, t.priority, t.completed) " +
+           "FROM Task t WHERE t.id IN :ids")
+    List<TaskIndexRow> findIndexRowsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT t FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<Task> findChunkAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT t.id FROM Task t WHERE t.id > :afterId AND t.completed = true " +
+           "AND t.updatedAt < :before ORDER BY t.id")
+    List<Long> findCompletedIdsBefore(@Param("afterId") Long afterId,
+                                      @Param("before") LocalDateTime before,
+                                      Pageable pageable);
+    
+    // Sharded sweep'ler için üstten sınırlı varyant: (afterId, upToId] aralığı.
+    // Satırlar FOR UPDATE ile kilitlenir; arşiv kopyası ve silme bitene kadar eşzamanlı update bekler
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM Task t WHERE t.id > :afterId AND t.id <= :upToId AND t.completed = true " +
+           "AND t.updatedAt < :before ORDER BY t.id")
+    List<Long> findCompletedIdsInRange(@Param("afterId") Long afterId,
+                                       @Param("upToId") Long upToId,
+                                       @Param("before") LocalDateTime before,
+                                       Pageable pageable);
+    
+    // Arşivlenen task'ları sil - seçim koşulu tekrarlanır, kopyalanmamış bir satır silinmez
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id IN :ids AND t.completed = true AND t.updatedAt < :before")
+    int deleteCompletedBefore(@Param("ids") List<Long> ids, @Param("before") LocalDateTime before);
+    
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM Task t")
+    long findMaxId();
+    
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.completed = true AND t.updatedAt < :before")
+    long countCompletedBefore(@Param("before") LocalDateTime before);
+    
+    // Bulk status change - version artırılır, açık optimistic lock'lar çakışmayı görür
+    @Modifying
+    @Query("UPDATE VERSIONED Task t SET t.status = :status, t.completed = :completed, " +
+           "t.updatedAt = :now WHERE t.id IN :ids")
+    int bulkUpdateStatus(@Param("ids") List<Long> ids,
+                         @Param("status") TaskStatus status,
+                         @Param("completed") Boolean completed,
+                         @Param("now") LocalDateTime now);
 }
\ No newline at end of file
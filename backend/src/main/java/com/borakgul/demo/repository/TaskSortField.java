@@ -0,0 +1,34 @@
+package com.borakgul.demo.repository;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * ↕️ /api/tasks/filter için izin verilen sıralama alanları - her biri index'li kolon
+ * Client'tan gelen sortBy sadece bu whitelist üzerinden sorguya girer.
+ */
+public enum TaskSortField {
+    CREATED_AT("createdAt"),
+    DUE_DATE("dueDate"),
+    ID("id");
+
+    private final String property;
+
+    TaskSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static TaskSortField fromProperty(String property) {
+        for (TaskSortField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort field: " + property + ", allowed: "
+                + Arrays.stream(values()).map(TaskSortField::getProperty).collect(Collectors.joining(", ")));
+    }
+}
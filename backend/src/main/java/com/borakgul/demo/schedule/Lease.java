@@ -0,0 +1,10 @@
+package com.borakgul.demo.schedule;
+
+/**
+ * Alınmış bir scheduler lease'i
+ * @param name       lease adı (sharded sweep'lerde "<sweep>#<shard>")
+ * @param token      fencing token; lease her el değiştirdiğinde artar
+ * @param checkpoint önceki sahibin bıraktığı son işlenen ID (yoksa null)
+ */
+public record Lease(String name, long token, Long checkpoint) {
+}
@@ -0,0 +1,207 @@
+package com.borakgul.demo.schedule;
+
+import com.borakgul.demo.exception.LeaseLostException;
+import com.borakgul.demo.model.SchedulerLease;
+import com.borakgul.demo.repository.SchedulerLeaseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * 🔒 Lease Manager - periyodik işlerin cluster'da tek bir node'da çalışmasını sağlar
+ * Her @Scheduled tetikleme tüm replica'larda olur; işi yapan, scheduler_leases tablosundaki satırı koşullu
+ * UPDATE ile alan node'dur. Lease ttl sonra kendiliğinden düşer (çöken node işi kilitlemez), sahip her
+ * batch'te {@link #fence} ile uzatır. Fence, batch'in yazmalarıyla aynı transaction'da lease satırını
+ * token ile günceller: lease arada başkasına geçtiyse LeaseLostException ile batch geri alınır; satır kilidi
+ * commit'e kadar tutulduğu için yeni sahip de ancak bu batch bittikten sonra devralabilir.
+ *
+ * Süreler uygulama saatiyle hesaplanır; node saatleri arasındaki fark ttl ve minInterval'e göre küçük olmalı.
+ */
+@Component
+@Slf4j
+public class LeaseManager {
+
+    private static final LocalDateTime NEVER = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final Duration ttl;
+    private final Set<String> knownLeases = ConcurrentHashMap.newKeySet();
+
+    public LeaseManager(SchedulerLeaseRepository leaseRepository,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.scheduler.node-id:}") String nodeId,
+                        @Value("${app.scheduler.lease-ttl-ms:30000}") long ttlMs) {
+        this.leaseRepository = leaseRepository;
+        // Lease işlemleri çağıranın transaction'ından bağımsız commit edilir (diğer node'lar hemen görsün)
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.ttl = Duration.ofMillis(ttlMs);
+        log.info("🔒 Scheduler node id: {}", this.nodeId);
+    }
+
+    /**
+     * Lease boştaysa ve son minInterval içinde tamamlanmamışsa al
+     */
+    public Optional<Lease> tryAcquire(String name, Duration minInterval) {
+        return tryAcquire(name, now().minus(minInterval));
+    }
+
+    public Optional<Lease> tryAcquire(String name, LocalDateTime notCompletedSince) {
+        ensureExists(name);
+        LocalDateTime now = now();
+        Lease lease = leaseTransaction.execute(status -> {
+            if (leaseRepository.tryAcquire(name, nodeId, now, now.plus(ttl), notCompletedSince) == 0) {
+                return null;
+            }
+            SchedulerLease row = leaseRepository.findById(name).orElseThrow();
+            return new Lease(name, row.getFencingToken(), row.getCheckpoint());
+        });
+        if (lease == null) {
+            return Optional.empty();
+        }
+        meterRegistry.counter("scheduler.lease.acquired", "lease", name).increment();
+        log.debug("🔒 Acquired lease {} with fencing token {}", name, lease.token());
+        return Optional.of(lease);
+    }
+
+    /**
+     * Tutulan lease'i kendi transaction'ında uzat; false = lease kaybedildi
+     */
+    public boolean renew(Lease lease) {
+        LocalDateTime now = now();
+        Integer updated = leaseTransaction.execute(status ->
+                leaseRepository.extend(lease.name(), lease.token(), now, now.plus(ttl)));
+        if (updated == null || updated == 0) {
+            lost(lease);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 🛡️ Çağıranın transaction'ında lease'i doğrula ve uzat; tutulmuyorsa transaction geri alınır
+     */
+    public void fence(Lease lease) {
+        requireTransaction();
+        LocalDateTime now = now();
+        if (leaseRepository.extend(lease.name(), lease.token(), now, now.plus(ttl)) == 0) {
+            lost(lease);
+            throw new LeaseLostException(lease.name(), lease.token());
+        }
+    }
+
+    /**
+     * Fence + checkpoint: batch commit olursa devralan node işlenen son ID'den devam eder
+     */
+    public void fence(Lease lease, long checkpoint) {
+        requireTransaction();
+        LocalDateTime now = now();
+        if (leaseRepository.extendWithCheckpoint(lease.name(), lease.token(), now, now.plus(ttl), checkpoint) == 0) {
+            lost(lease);
+            throw new LeaseLostException(lease.name(), lease.token());
+        }
+    }
+
+    /**
+     * İş bitmeden bırak (checkpoint korunur)
+     */
+    public void release(Lease lease) {
+        leaseTransaction.executeWithoutResult(status -> leaseRepository.release(lease.name(), lease.token(), now()));
+    }
+
+    /**
+     * İş bitti: lease bırakılır, checkpoint silinir, tamamlanma zamanı yazılır
+     */
+    public void complete(Lease lease) {
+        leaseTransaction.executeWithoutResult(status -> leaseRepository.complete(lease.name(), lease.token(), now()));
+    }
+
+    /**
+     * ▶️ Lease alınabilirse işi çalıştır; başarıyla biterse tamamlandı işaretle, hata verirse sadece bırak
+     * @return iş bu node'da çalıştıysa true
+     */
+    public boolean runExclusively(String name, Duration minInterval, Consumer<Lease> work) {
+        Optional<Lease> acquired = tryAcquire(name, minInterval);
+        if (acquired.isEmpty()) {
+            log.debug("🔒 Lease {} is held or recently completed elsewhere, skipping", name);
+            return false;
+        }
+        Lease lease = acquired.get();
+        try {
+            work.accept(lease);
+        } catch (RuntimeException e) {
+            release(lease);
+            throw e;
+        }
+        complete(lease);
+        return true;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    LocalDateTime now() {
+        return LocalDateTime.now();
+    }
+
+    // Satır yoksa boşta (süresi dolmuş) olarak ekle; yarışı kaybeden node'un insert'i PK ihlaliyle düşer
+    void ensureExists(String name) {
+        if (knownLeases.contains(name)) {
+            return;
+        }
+        try {
+            leaseTransaction.executeWithoutResult(status -> {
+                if (!leaseRepository.existsById(name)) {
+                    leaseRepository.saveAndFlush(new SchedulerLease(name, null, 0L, NEVER, null, null, null));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Lease {} was created concurrently", name);
+        }
+        knownLeases.add(name);
+    }
+
+    private void lost(Lease lease) {
+        meterRegistry.counter("scheduler.lease.lost", "lease", lease.name()).increment();
+        log.warn("🔓 Lease {} (fencing token {}) was lost", lease.name(), lease.token());
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Lease fencing must run inside the transaction it protects");
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + Integer.toHexString(ThreadLocalRandom.current().nextInt());
+    }
+}
@@ -0,0 +1,137 @@
+package com.borakgul.demo.schedule;
+
+import com.borakgul.demo.exception.LeaseLostException;
+import com.borakgul.demo.model.SchedulerLease;
+import com.borakgul.demo.repository.SchedulerLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * 🧩 Sharded Sweep - büyük taramaları ID aralıklarına bölüp node'lar arasında paylaştırır
+ * Run'ı ilk başlatan node üst ID sınırını plan satırına ("<sweep>") yazar; böylece tüm node'lar aynı
+ * aralıkları hesaplar: shard i = (upper/n·i, upper/n·(i+1)], son shard üstten açık (run sırasında eklenenler).
+ * Her shard ayrı bir lease'tir ("<sweep>#i"); node'lar farklı shard'lardan başlayarak boştakileri alır ve
+ * keyset chunk'larla işler. Her chunk ve checkpoint'i tek transaction'dır; çöken bir node'un shard'ı lease
+ * düşünce başka bir node tarafından checkpoint'ten devam ettirilir. Son shard'ı bitiren node run'ı kapatır.
+ */
+@Component
+@Slf4j
+public class ShardedSweeper {
+
+    private final LeaseManager leaseManager;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ShardedSweeper(LeaseManager leaseManager,
+                          SchedulerLeaseRepository leaseRepository,
+                          TransactionTemplate transactionTemplate) {
+        this.leaseManager = leaseManager;
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @FunctionalInterface
+    public interface RangeWorker {
+
+        /**
+         * (afterId, upToId] aralığından bir chunk işle; işlenen son ID'yi ya da aralık bittiyse null döner
+         * Çağıranın transaction'ında çalışır; chunk'ın yazmaları lease fence'iyle birlikte commit edilir.
+         */
+        Long processChunk(long afterId, long upToId);
+    }
+
+    /**
+     * ▶️ Çalışan run'a katıl ya da (son minInterval içinde tamamlanmış bir run yoksa) yenisini başlat
+     * @param maxChunks bu çağrıda işlenecek en fazla chunk; dolunca shard bırakılır, sonraki tetiklemede devam edilir
+     */
+    public SweepResult sweep(String name, int shards, Duration minInterval, int maxChunks,
+                             LongSupplier upperBound, RangeWorker worker) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Sweep '" + name + "' needs at least one shard");
+        }
+        leaseManager.ensureExists(name);
+        LocalDateTime now = leaseManager.now();
+        long upper = upperBound.getAsLong();
+        transactionTemplate.executeWithoutResult(status ->
+                leaseRepository.startRun(name, leaseManager.nodeId(), now, upper, now.minus(minInterval)));
+
+        SchedulerLease plan = leaseRepository.findById(name).orElseThrow();
+        if (plan.getCheckpoint() == null) {
+            return SweepResult.skipped();
+        }
+        long runUpper = plan.getCheckpoint();
+        LocalDateTime runStartedAt = plan.getAcquiredAt();
+
+        int shardsCompleted = 0;
+        int chunks = 0;
+        // Node'lar aynı anda tetiklenir; farklı shard'lardan başlasınlar ki lease yarışı az olsun
+        int first = Math.floorMod(leaseManager.nodeId().hashCode(), shards);
+        for (int offset = 0; offset < shards && chunks < maxChunks; offset++) {
+            int shard = (first + offset) % shards;
+            // Bu run'da tamamlanmış shard tekrar alınmaz
+            Optional<Lease> acquired = leaseManager.tryAcquire(shardName(name, shard), runStartedAt);
+            if (acquired.isEmpty()) {
+                continue;
+            }
+            Lease lease = acquired.get();
+            long from = runUpper / shards * shard;
+            long to = shard == shards - 1 ? Long.MAX_VALUE : runUpper / shards * (shard + 1);
+            long afterId = lease.checkpoint() != null ? Math.max(from, lease.checkpoint()) : from;
+
+            try {
+                boolean done = false;
+                while (chunks < maxChunks) {
+                    long cursor = afterId;
+                    Long lastId = transactionTemplate.execute(status -> {
+                        Long last = worker.processChunk(cursor, to);
+                        if (last != null) {
+                            leaseManager.fence(lease, last);
+                        }
+                        return last;
+                    });
+                    if (lastId == null) {
+                        done = true;
+                        break;
+                    }
+                    afterId = lastId;
+                    chunks++;
+                }
+                if (done) {
+                    leaseManager.complete(lease);
+                    shardsCompleted++;
+                } else {
+                    leaseManager.release(lease);
+                }
+            } catch (LeaseLostException e) {
+                log.warn("🧩 Sweep {} lost shard {} at id {}, another node continues from its checkpoint", name, shard, afterId);
+            } catch (RuntimeException e) {
+                leaseManager.release(lease);
+                throw e;
+            }
+        }
+
+        boolean runCompleted = false;
+        List<String> shardNames = IntStream.range(0, shards).mapToObj(shard -> shardName(name, shard)).toList();
+        if (leaseRepository.countByNameInAndCompletedAtGreaterThanEqual(shardNames, runStartedAt) == shards) {
+            Integer closed = transactionTemplate.execute(status ->
+                    leaseRepository.completeRun(name, plan.getFencingToken(), leaseManager.now()));
+            runCompleted = closed != null && closed == 1;
+            if (runCompleted) {
+                log.info("🧩 Sweep {} completed all {} shards up to id {}", name, shards, runUpper);
+            }
+        }
+        return new SweepResult(true, shardsCompleted, chunks, runCompleted);
+    }
+
+    private static String shardName(String name, int shard) {
+        return name + "#" + shard;
+    }
+}
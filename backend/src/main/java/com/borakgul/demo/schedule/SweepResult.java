@@ -0,0 +1,15 @@
+package com.borakgul.demo.schedule;
+
+/**
+ * Bir node'un sharded sweep'e katkısı
+ * @param joined          çalışan bir run vardı (ya da bu node başlattı)
+ * @param shardsCompleted bu node'un bitirdiği shard sayısı
+ * @param chunks          bu node'un commit ettiği chunk sayısı
+ * @param runCompleted    tüm shard'lar bitti ve run kapatıldı
+ */
+public record SweepResult(boolean joined, int shardsCompleted, int chunks, boolean runCompleted) {
+
+    public static SweepResult skipped() {
+        return new SweepResult(false, 0, 0, false);
+    }
+}
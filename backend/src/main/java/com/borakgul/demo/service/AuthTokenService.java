@@ -0,0 +1,123 @@
+package com.borakgul.demo.service;
+
+import com.borakgul.demo.config.JwtTokenProvider;
+import com.borakgul.demo.model.User;
+import com.borakgul.demo.token.TokenDenylist;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * ♻️ Auth Token Service - access/refresh token çifti, rotation ve iptal
+ * Her refresh çağrısı kullanılan refresh token'ı iptal eder ve yenisini verir. İptal edilmiş bir refresh
+ * token tekrar gelirse token çalınmış sayılır ve aynı family'deki tüm refresh token'lar iptal edilir.
+ * Refresh token'lar da kullanıcının token version'ını taşır; şifre değişikliği veya hesap durumu değişikliği
+ * (bumpTokenVersion) sonrası eski refresh token'lar yeni token alamaz.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthTokenService {
+
+    private static final String FAMILY_KEY_PREFIX = "fam:";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenDenylist tokenDenylist;
+    private final UserService userService;
+
+    public record TokenPair(String accessToken, String refreshToken, long expiresInSeconds) {
+    }
+
+    /**
+     * 🎫 Login sonrası yeni family ile token çifti
+     */
+    public TokenPair issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * 🔄 Refresh token rotation
+     */
+    public TokenPair refresh(String refreshToken) {
+        Claims claims = parse(refreshToken, JwtTokenProvider.REFRESH_TOKEN);
+        String familyId = claims.get(JwtTokenProvider.FAMILY_CLAIM, String.class);
+
+        if (tokenDenylist.isRevoked(FAMILY_KEY_PREFIX + familyId)) {
+            throw new BadCredentialsException("Refresh token has been revoked");
+        }
+        if (!tokenDenylist.revoke(claims.getId(), claims.getExpiration().toInstant())) {
+            // Zaten kullanılmış bir refresh token: zinciri tamamen kapat
+            revokeFamily(familyId);
+            log.warn("⚠️ Refresh token reuse detected for {}, family {} revoked", claims.getSubject(), familyId);
+            throw new BadCredentialsException("Refresh token has already been used");
+        }
+
+        User user = (User) userService.loadUserByUsername(claims.getSubject());
+        if (!user.isEnabled()) {
+            revokeFamily(familyId);
+            throw new DisabledException("User account is disabled");
+        }
+        // Version'sız (eski) refresh token'lar da bayat sayılır
+        Number version = claims.get(JwtTokenProvider.USER_VERSION_CLAIM, Number.class);
+        if (version == null || version.longValue() != user.currentTokenVersion()) {
+            revokeFamily(familyId);
+            throw new BadCredentialsException("Refresh token has been invalidated");
+        }
+        log.info("🔄 Token refreshed for user: {}", user.getEmail());
+        return issue(user, familyId);
+    }
+
+    /**
+     * 🚪 Access token'ı ve (verildiyse) refresh token zincirini iptal et
+     */
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            try {
+                Claims claims = jwtTokenProvider.extractAllClaims(accessToken);
+                tokenDenylist.revoke(claims.getId(), claims.getExpiration().toInstant());
+            } catch (JwtException e) {
+                log.debug("Ignoring invalid access token on logout: {}", e.getMessage());
+            }
+        }
+        if (refreshToken != null) {
+            try {
+                Claims claims = parse(refreshToken, JwtTokenProvider.REFRESH_TOKEN);
+                revokeFamily(claims.get(JwtTokenProvider.FAMILY_CLAIM, String.class));
+            } catch (BadCredentialsException e) {
+                log.debug("Ignoring invalid refresh token on logout: {}", e.getMessage());
+            }
+        }
+    }
+
+    private TokenPair issue(User user, String familyId) {
+        return new TokenPair(
+                jwtTokenProvider.generateToken(user),
+                jwtTokenProvider.generateRefreshToken(user, familyId),
+                jwtTokenProvider.getExpirationMs() / 1000);
+    }
+
+    // Family'nin son refresh token'ı en geç şimdi + refresh süresi kadar geçerli olabilir
+    private void revokeFamily(String familyId) {
+        tokenDenylist.revoke(FAMILY_KEY_PREFIX + familyId,
+                Instant.now().plusMillis(jwtTokenProvider.getRefreshExpirationMs()));
+    }
+
+    private Claims parse(String token, String expectedType) {
+        try {
+            Claims claims = jwtTokenProvider.extractAllClaims(token);
+            if (!expectedType.equals(claims.get(JwtTokenProvider.TOKEN_TYPE_CLAIM, String.class))) {
+                throw new BadCredentialsException("Unexpected token type");
+            }
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BadCredentialsException("Invalid token", e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.borakgul.demo.service;
+
+import com.borakgul.demo.exception.IdempotencyKeyException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 🔁 Idempotency Service
+ * Idempotency-Key header'ı ile gelen mutation'ların sonucunu kullanıcı bazında saklar.
+ * Retry'lar veritabanına gitmeden store'dan döner; aynı anda gelen kopyalar tek bir çalışmayı bekler.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> store;
+    private final long inFlightTimeoutMs;
+
+    public IdempotencyService(@Value("${app.idempotency.max-entries:10000}") long maxEntries,
+                              @Value("${app.idempotency.ttl-minutes:60}") long ttlMinutes,
+                              @Value("${app.idempotency.in-flight-timeout-ms:10000}") long inFlightTimeoutMs) {
+        this.store = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+        this.inFlightTimeoutMs = inFlightTimeoutMs;
+    }
+
+    /**
+     * 🎯 Action'ı key başına en fazla bir kez çalıştırır
+     * Key yoksa action doğrudan çalışır. Aynı key farklı bir operation/payload ile gelirse 422 döner.
+     */
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String operation, Object payload,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyKeyException(HttpStatus.BAD_REQUEST,
+                    HEADER + " must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String storeKey = currentUserScope() + ":" + idempotencyKey;
+        Entry candidate = new Entry(Objects.hash(operation, payload));
+        Entry existing = store.asMap().putIfAbsent(storeKey, candidate);
+
+        if (existing == null) {
+            return executeFirst(storeKey, candidate, action);
+        }
+
+        if (existing.fingerprint != candidate.fingerprint) {
+            throw new IdempotencyKeyException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " '" + idempotencyKey + "' was already used for a different request");
+        }
+
+        log.debug("🔁 Replaying stored response for idempotency key: {}", idempotencyKey);
+        return replay(existing, idempotencyKey);
+    }
+
+    private <T> ResponseEntity<T> executeFirst(String storeKey, Entry entry, Supplier<ResponseEntity<T>> action) {
+        try {
+            ResponseEntity<T> response = action.get();
+            entry.response.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            // Hatalar saklanmaz: key serbest kalır, client aynı key ile tekrar deneyebilir
+            store.asMap().remove(storeKey, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Entry entry, String idempotencyKey) {
+        ResponseEntity<?> original;
+        try {
+            original = entry.response.get(inFlightTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyException(HttpStatus.CONFLICT,
+                    "Request with " + HEADER + " '" + idempotencyKey + "' is still in progress");
+        } catch (ExecutionException e) {
+            // In-flight orijinal istek başarısız olduysa bekleyenler de aynı hatayı alır
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight request", e);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(original.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>((T) original.getBody(), headers, original.getStatusCode());
+    }
+
+    private String currentUserScope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    /**
+     * Store girdisi: istek parmak izi + (tamamlanınca) response
+     */
+    private static final class Entry {
+        private final int fingerprint;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        private Entry(int fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
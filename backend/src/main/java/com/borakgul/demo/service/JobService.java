@@ -0,0 +1,317 @@
+package com.borakgul.demo.service;
+
+import com.borakgul.demo.dto.CreateJobRequest;
+import com.borakgul.demo.dto.JobResponse;
+import com.borakgul.demo.exception.LeaseLostException;
+import com.borakgul.demo.exception.NotFoundException;
+import com.borakgul.demo.job.ChunkResult;
+import com.borakgul.demo.job.JobHandler;
+import com.borakgul.demo.model.Job;
+import com.borakgul.demo.model.JobStatus;
+import com.borakgul.demo.model.JobType;
+import com.borakgul.demo.repository.JobRepository;
+import com.borakgul.demo.schedule.Lease;
+import com.borakgul.demo.schedule.LeaseManager;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ⚙️ Job Service - uzun süren task işlemlerini HTTP request dışında çalıştırır
+ * Job'lar `jobs` tablosunda tutulur, sabit boyutlu bir worker pool'da chunk chunk işlenir.
+ * Her chunk + checkpoint tek transaction'dır; restart sonrası yarım kalan job'lar kaldığı yerden devam eder.
+ * Bir job'ı çalıştıran node "job-{id}" lease'ini alır ve her chunk transaction'ında fence eder: açılışta ve
+ * periyodik taramada tüm replica'lar yarım kalan job'ları dener, ama aynı job aynı anda tek node'da işlenir.
+ * Lease'in sahibi çökerse ttl sonra bir sonraki taramada başka bir node checkpoint'ten devralır.
+ */
+@Service
+@Slf4j
+public class JobService {
+
+    private static final TypeReference<Map<String, Object>> PARAMETERS_TYPE = new TypeReference<>() {
+    };
+    private static final String LEASE_PREFIX = "job-";
+    // Kapanışta çalışan chunk'ın commit edip lease'i bırakması için beklenen süre
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaseManager leaseManager;
+    private final ObjectMapper objectMapper;
+    private final Map<JobType, JobHandler> handlers = new EnumMap<>(JobType.class);
+    private final ExecutorService workers;
+    // Bu node'da kuyrukta/çalışan job'lar; taramalar aynı job'ı tekrar kuyruğa almaz
+    private final Set<Long> dispatched = ConcurrentHashMap.newKeySet();
+    private final int chunkSize;
+
+    public JobService(JobRepository jobRepository,
+                      TransactionTemplate transactionTemplate,
+                      LeaseManager leaseManager,
+                      ObjectMapper objectMapper,
+                      List<JobHandler> jobHandlers,
+                      @Value("${app.jobs.worker-threads:2}") int workerThreads,
+                      @Value("${app.jobs.chunk-size:500}") int chunkSize) {
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.leaseManager = leaseManager;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        jobHandlers.forEach(handler -> handlers.put(handler.type(), handler));
+        this.workers = Executors.newFixedThreadPool(workerThreads, namedThreads());
+    }
+
+    /**
+     * 📥 Yeni job oluştur ve kuyruğa al
+     */
+    public JobResponse submit(CreateJobRequest request) {
+        JobHandler handler = handlerFor(request.getType());
+        Map<String, Object> parameters = new HashMap<>(
+                request.getParameters() != null ? request.getParameters() : Map.of());
+        handler.validate(parameters);
+        parameters.put("submittedAt", LocalDateTime.now().toString());
+
+        Job job = new Job();
+        job.setType(request.getType());
+        job.setStatus(JobStatus.QUEUED);
+        job.setParameters(writeParameters(parameters));
+        job.setCreatedBy(currentUser());
+
+        Job savedJob = jobRepository.save(job);
+        log.info("⚙️ Job {} queued: {} by {}", savedJob.getId(), savedJob.getType(), savedJob.getCreatedBy());
+
+        dispatch(savedJob.getId());
+        return new JobResponse(savedJob);
+    }
+
+    public JobResponse getJob(Long id) {
+        return new JobResponse(findJob(id));
+    }
+
+    public Page<JobResponse> getJobs(Pageable pageable) {
+        return jobRepository.findAllByOrderByIdDesc(pageable).map(JobResponse::new);
+    }
+
+    /**
+     * 🛑 İptal isteği - worker bir sonraki chunk'tan önce görür; kuyruktaki job hemen iptal edilir
+     */
+    public JobResponse cancel(Long id) {
+        Job job = transactionTemplate.execute(status -> {
+            Job current = findJob(id);
+            if (current.getStatus().isFinished()) {
+                return current;
+            }
+            current.setCancelRequested(true);
+            if (current.getStatus() == JobStatus.QUEUED) {
+                current.finish(JobStatus.CANCELLED);
+            }
+            return jobRepository.saveAndFlush(current);
+        });
+        log.info("🛑 Cancel requested for job {}", id);
+        return new JobResponse(job);
+    }
+
+    /**
+     * 🔁 Restart sonrası (ve periyodik olarak) yarım kalan job'ları yeniden kuyruğa al
+     * Başka bir node'un lease'ini tuttuğu job'lar worker'da lease alınamayınca atlanır.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<Job> unfinished = jobRepository.findByStatusInOrderByIdAsc(List.of(JobStatus.QUEUED, JobStatus.RUNNING));
+        for (Job job : unfinished) {
+            if (dispatch(job.getId())) {
+                log.info("🔁 Resuming job {} ({}) from checkpoint {}", job.getId(), job.getType(), job.getCheckpoint());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.resume-interval-ms:60000}",
+               initialDelayString = "${app.jobs.resume-interval-ms:60000}")
+    public void resumeOrphanedJobs() {
+        resumeUnfinishedJobs();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Çalışan job'lar RUNNING kalır; çalışan chunk commit edilir, lease bırakılır ve başka bir node
+        // (ya da bir sonraki açılış) checkpoint'ten devam eder
+        workers.shutdownNow();
+        try {
+            workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean dispatch(Long jobId) {
+        if (!dispatched.add(jobId)) {
+            return false;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    dispatched.remove(jobId);
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            dispatched.remove(jobId);
+            throw e;
+        }
+    }
+
+    private void run(Long jobId) {
+        Optional<Lease> claimed = leaseManager.tryAcquire(LEASE_PREFIX + jobId, Duration.ZERO);
+        if (claimed.isEmpty()) {
+            log.debug("Job {} is claimed by another node, skipping", jobId);
+            return;
+        }
+        Lease lease = claimed.get();
+        try {
+            if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> start(jobId, lease)))) {
+                return;
+            }
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    if (!Boolean.TRUE.equals(transactionTemplate.execute(status -> runChunk(jobId, lease)))) {
+                        return;
+                    }
+                } catch (OptimisticLockingFailureException e) {
+                    // Chunk sırasında job güncellendi (örn. cancel); chunk rollback oldu, yeniden okunup devam edilir
+                    log.debug("Job {} changed concurrently, re-reading", jobId);
+                }
+            }
+        } catch (LeaseLostException e) {
+            // Lease süresi dolup başka bir node devraldı; son chunk geri alındı, job orada devam eder
+            log.warn("⚠️ Job {} was taken over by another node, stopping here", jobId);
+        } catch (RuntimeException e) {
+            log.error("❌ Job {} failed: {}", jobId, e.getMessage(), e);
+            transactionTemplate.executeWithoutResult(status -> {
+                leaseManager.fence(lease);
+                Job job = findJob(jobId);
+                job.setErrorMessage(e.getMessage());
+                job.finish(JobStatus.FAILED);
+            });
+        } finally {
+            leaseManager.release(lease);
+        }
+    }
+
+    private boolean start(Long jobId, Lease lease) {
+        leaseManager.fence(lease);
+        Job job = findJob(jobId);
+        if (job.getStatus().isFinished()) {
+            return false;
+        }
+        if (job.getStatus() == JobStatus.QUEUED) {
+            job.setStatus(JobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+        }
+        if (job.getTotalCount() == null) {
+            job.setTotalCount(handlerFor(job.getType()).estimateTotal(readParameters(job)));
+        }
+        return true;
+    }
+
+    // Bir chunk işler; devam edilecekse true
+    private boolean runChunk(Long jobId, Lease lease) {
+        leaseManager.fence(lease);
+        Job job = findJob(jobId);
+        if (job.getStatus().isFinished()) {
+            return false;
+        }
+        if (job.getCancelRequested()) {
+            job.finish(JobStatus.CANCELLED);
+            log.info("🛑 Job {} cancelled at checkpoint {}", jobId, job.getCheckpoint());
+            return false;
+        }
+
+        ChunkResult result = handlerFor(job.getType()).processChunk(job, readParameters(job), chunkSize);
+        if (result.isDone()) {
+            job.finish(JobStatus.COMPLETED);
+            log.info("✅ Job {} completed: processed {}, affected {}", jobId, job.getProcessedCount(), job.getAffectedCount());
+            return false;
+        }
+
+        job.setCheckpoint(result.lastId());
+        job.setProcessedCount(job.getProcessedCount() + result.processed());
+        job.setAffectedCount(job.getAffectedCount() + result.affected());
+        jobRepository.saveAndFlush(job);
+        return true;
+    }
+
+    private Job findJob(Long id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Job", id));
+    }
+
+    private JobHandler handlerFor(JobType type) {
+        JobHandler handler = handlers.get(type);
+        if (handler == null) {
+            throw new IllegalArgumentException("No handler registered for job type: " + type);
+        }
+        return handler;
+    }
+
+    private Map<String, Object> readParameters(Job job) {
+        if (job.getParameters() == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(job.getParameters(), PARAMETERS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt parameters for job " + job.getId(), e);
+        }
+    }
+
+    private String writeParameters(Map<String, Object> parameters) {
+        try {
+            return objectMapper.writeValueAsString(parameters);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Job parameters are not serializable", e);
+        }
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "job-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.borakgul.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 🛫 Single-Flight Service
+ * Aynı anda gelen özdeş read'leri tek bir veritabanı çağrısına bağlar.
+ * İlk gelen (leader) sorguyu çalıştırır; aynı key ile bekleyenler (follower) onun sonucunu paylaşır.
+ * Sonuç cache'lenmez: leader bittiği anda key serbest kalır.
+ * Follower'lar en fazla follower-timeout-ms bekler; leader takılırsa loader'ı kendileri çalıştırır.
+ */
+@Service
+@Slf4j
+public class SingleFlightService {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter fallbacks;
+    private final long followerTimeoutMs;
+
+    public SingleFlightService(MeterRegistry meterRegistry,
+                               @Value("${app.singleflight.follower-timeout-ms:2000}") long followerTimeoutMs) {
+        this.followerTimeoutMs = followerTimeoutMs;
+        this.leaders = Counter.builder("tasks.read.singleflight")
+                .tag("role", "leader")
+                .description("Reads that executed their own query")
+                .register(meterRegistry);
+        this.followers = Counter.builder("tasks.read.singleflight")
+                .tag("role", "follower")
+                .description("Reads that shared an in-flight query")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("tasks.read.singleflight")
+                .tag("role", "fallback")
+                .description("Followers that timed out waiting and executed their own query")
+                .register(meterRegistry);
+        Gauge.builder("tasks.read.singleflight.coalescing.ratio", this, SingleFlightService::coalescingRatio)
+                .description("Share of reads served by an already in-flight query")
+                .register(meterRegistry);
+        Gauge.builder("tasks.read.singleflight.in-flight", inFlight, ConcurrentHashMap::size)
+                .description("Distinct queries currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 🎯 Key için in-flight bir çağrı varsa onu bekler, yoksa loader'ı çalıştırır
+     * Key, normalize edilmiş sorgu + caller scope olmalı (bkz. {@link #key(String, Object...)}).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader) {
+        CompletableFuture<Object> candidate = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, candidate);
+
+        if (existing != null) {
+            followers.increment();
+            log.debug("🛫 Coalesced read on in-flight query: {}", key);
+            try {
+                return (T) await(existing);
+            } catch (TimeoutException e) {
+                fallbacks.increment();
+                log.warn("⏱️ In-flight query {} did not finish within {} ms, executing it directly", key, followerTimeoutMs);
+                return loader.get();
+            }
+        }
+
+        leaders.increment();
+        try {
+            T result = loader.get();
+            candidate.complete(result);
+            return result;
+        } catch (Throwable t) {
+            // Error'lar dahil: tamamlanmayan future follower'ları timeout'a kadar bekletir
+            candidate.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, candidate);
+        }
+    }
+
+    /**
+     * 🔑 Normalize edilmiş key: caller scope + method + parametreler
+     */
+    public static String key(String scope, String method, Object... params) {
+        StringBuilder sb = new StringBuilder(scope).append('|').append(method);
+        for (Object param : params) {
+            sb.append('|').append(param);
+        }
+        return sb.toString();
+    }
+
+    public double coalescingRatio() {
+        double total = leaders.count() + followers.count();
+        return total == 0 ? 0.0 : followers.count() / total;
+    }
+
+    private Object await(CompletableFuture<Object> future) throws TimeoutException {
+        try {
+            return future.get(followerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Leader'ın hatası follower'lara da aynen yansır
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.borakgul.demo.service;
+
+import com.borakgul.demo.cache.CacheInvalidation;
+import com.borakgul.demo.cache.CacheInvalidationBus;
+import com.borakgul.demo.cache.TaskWorkingSetCache;
+import com.borakgul.demo.dto.ArchivedTaskResponse;
+import com.borakgul.demo.exception.NotFoundException;
+import com.borakgul.demo.index.TaskBitmapIndex;
+import com.borakgul.demo.outbox.TaskEventOutbox;
+import com.borakgul.demo.repository.ArchivedTaskRepository;
+import com.borakgul.demo.repository.TaskRepository;
+import com.borakgul.demo.schedule.ShardedSweeper;
+import com.borakgul.demo.schedule.SweepResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🗄️ Task Archive Service
+ * N günden önce tamamlanmış task'ları batch'ler halinde `tasks` → `tasks_archive` tablosuna taşır.
+ * Her batch ayrı transaction'dır (kısa lock'lar); hot tablo küçük kalır ve index'leri bellekte tutulur.
+ * Tamamlanma zamanı ayrı bir kolonda tutulmadığı için updatedAt kullanılır.
+ * Arşivlenen her task için aynı batch transaction'ında outbox'a TaskArchived olayı yazılır.
+ * Tarama {@link ShardedSweeper} ile ID aralıklarına bölünür: cron tüm replica'larda tetiklenir, her node
+ * boştaki shard'ları alır; aynı aralık iki node'da arşivlenmez.
+ */
+@Service
+@Slf4j
+public class TaskArchiveService {
+
+    private static final String SWEEP_NAME = "task-archive";
+    // Günlük cron; saatleri kaymış node'ların geç tetiklemeleri yeni bir run başlatmasın
+    private static final Duration SCHEDULED_MIN_INTERVAL = Duration.ofHours(12);
+
+    private final TaskRepository taskRepository;
+    private final TaskBitmapIndex taskBitmapIndex;
+    private final TaskWorkingSetCache taskWorkingSetCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final TaskEventOutbox taskEventOutbox;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ShardedSweeper shardedSweeper;
+    private final boolean enabled;
+    private final int olderThanDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int shards;
+
+    public TaskArchiveService(TaskRepository taskRepository,
+                              TaskBitmapIndex taskBitmapIndex,
+                              TaskWorkingSetCache taskWorkingSetCache,
+                              CacheInvalidationBus cacheInvalidationBus,
+                              TaskEventOutbox taskEventOutbox,
+                              ArchivedTaskRepository archivedTaskRepository,
+                              ShardedSweeper shardedSweeper,
+                              @Value("${app.archive.enabled:true}") boolean enabled,
+                              @Value("${app.archive.older-than-days:90}") int olderThanDays,
+                              @Value("${app.archive.batch-size:1000}") int batchSize,
+                              @Value("${app.archive.max-batches-per-run:100}") int maxBatchesPerRun,
+                              @Value("${app.archive.shards:4}") int shards) {
+        this.taskRepository = taskRepository;
+        this.taskBitmapIndex = taskBitmapIndex;
+        this.taskWorkingSetCache = taskWorkingSetCache;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.taskEventOutbox = taskEventOutbox;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.shardedSweeper = shardedSweeper;
+        this.enabled = enabled;
+        this.olderThanDays = olderThanDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.shards = shards;
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive(SCHEDULED_MIN_INTERVAL);
+        }
+    }
+
+    /**
+     * 📦 Eşik tarihinden önce tamamlanmış task'ları arşivle
+     * Çalışan bir run varsa ona katılır (boşta shard kalmadıysa beklemeden 0 döner); dönen sayı bu node'un payıdır.
+     */
+    public Map<String, Object> archiveCompletedTasks() {
+        return archive(Duration.ZERO);
+    }
+
+    private Map<String, Object> archive(Duration minInterval) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(olderThanDays);
+        AtomicInteger archived = new AtomicInteger();
+        SweepResult result = shardedSweeper.sweep(SWEEP_NAME, shards, minInterval, maxBatchesPerRun,
+                taskRepository::findMaxId, (afterId, upToId) -> archiveBatch(afterId, upToId, cutoff, archived));
+        log.info("🗄️ Archived {} tasks completed before {} ({} shard(s) finished here, run completed: {})",
+                archived.get(), cutoff, result.shardsCompleted(), result.runCompleted());
+        return Map.of("archived", archived.get(), "cutoff", cutoff, "skipped", !result.joined(),
+                "runCompleted", result.runCompleted());
+    }
+
+    // Sweeper'ın chunk transaction'ında çalışır; arşivlenen son ID checkpoint olur
+    private Long archiveBatch(long afterId, long upToId, LocalDateTime cutoff, AtomicInteger archived) {
+        List<Long> ids = taskRepository.findCompletedIdsInRange(afterId, upToId, cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return null;
+        }
+        // ID'ler kilitli seçildi; kopya ve silme aynı koşulla aynı satırları görür
+        int copied = archivedTaskRepository.copyFromTasks(ids, cutoff, LocalDateTime.now());
+        int deleted = taskRepository.deleteCompletedBefore(ids, cutoff);
+        if (copied != deleted) {
+            throw new IllegalStateException("Archive copied " + copied + " tasks but deleted " + deleted);
+        }
+        taskEventOutbox.tasksArchived(ids);
+        taskBitmapIndex.removedAfterCommit(ids);
+        taskWorkingSetCache.invalidateAllAfterCommit();
+        cacheInvalidationBus.invalidateAfterCommit(CacheInvalidation.Type.TASK, ids);
+        cacheInvalidationBus.invalidateAllAfterCommit(CacheInvalidation.Type.TASK_LIST);
+        archived.addAndGet(ids.size());
+        return ids.get(ids.size() - 1);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ArchivedTaskResponse> getArchivedTasks(Long userId, String title, Pageable pageable) {
+        log.info("Fetching archived tasks - User: {}, Title: {}", userId, title);
+        if (userId != null) {
+            return archivedTaskRepository.findByUserId(userId, pageable).map(ArchivedTaskResponse::new);
+        }
+        if (title != null && !title.isBlank()) {
+            return archivedTaskRepository.findByTitleContainingIgnoreCase(title, pageable).map(ArchivedTaskResponse::new);
+        }
+        return archivedTaskRepository.findAll(pageable).map(ArchivedTaskResponse::new);
+    }
+
+    @Transactional(readOnly = true)
+    public ArchivedTaskResponse getArchivedTask(Long id) {
+        log.info("Fetching archived task with ID: {}", id);
+        return archivedTaskRepository.findById(id)
+                .map(ArchivedTaskResponse::new)
+                .orElseThrow(() -> new NotFoundException("Archived task", id));
+    }
+}
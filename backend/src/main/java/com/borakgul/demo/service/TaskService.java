@@ -1,21 +1,63 @@
 package com.borakgul.demo.service;
 
+import com.borakgul.demo.audit.AuditAction;
+import com.borakgul.demo.audit.AuditLog;
+import com.borakgul.demo.cache.CachedTask;
+import com.borakgul.demo.cache.TaskWorkingSetCache;
 import com.borakgul.demo.dto.CreateTaskRequest;
+import com.borakgul.demo.dto.TaskFilter;
 import com.borakgul.demo.dto.TaskResponse;
+import com.borakgul.demo.dto.TaskStatsResponse;
 import com.borakgul.demo.dto.UpdateTaskRequest;
+import com.borakgul.demo.event.TaskCreated;
+import com.borakgul.demo.event.TaskDeleted;
+import com.borakgul.demo.event.TaskEventBus;
+import com.borakgul.demo.event.TaskSnapshot;
+import com.borakgul.demo.event.TaskUpdated;
+import com.borakgul.demo.exception.NotFoundException;
+import com.borakgul.demo.exception.PreconditionFailedException;
+import com.borakgul.demo.index.TaskBitmapIndex;
+import com.borakgul.demo.index.TaskCounts;
+import com.borakgul.demo.index.TaskIdBitmap;
 import com.borakgul.demo.model.Priority;
 import com.borakgul.demo.model.Task;
 import com.borakgul.demo.model.TaskStatus;
+import com.borakgul.demo.model.User;
+import com.borakgul.demo.outbox.TaskEventOutbox;
+import com.borakgul.demo.repository.TaskQueryRepository;
 import com.borakgul.demo.repository.TaskRepository;
+import com.borakgul.demo.repository.TaskSortField;
+import com.borakgul.demo.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +67,29 @@ import java.util.stream.Collectors;
 public class TaskService {
     
     private final TaskRepository taskRepository;
+    private final TaskQueryRepository taskQueryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskEventOutbox taskEventOutbox;
+    private final TaskEventBus taskEventBus;
+    private final AuditLog auditLog;
+    private final TaskBitmapIndex taskBitmapIndex;
+    private final TaskWorkingSetCache taskWorkingSetCache;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    
+    // Idempotent status geçişlerinde optimistic lock çakışması için retry politikası
+    @Value("${app.tasks.conflict-retry.max-attempts:3}")
+    private int conflictMaxAttempts;
+    
+    @Value("${app.tasks.conflict-retry.backoff-ms:20}")
+    private long conflictBackoffMs;
+    
+    @Value("${app.tasks.bitmap-index.created-at-follows-id:true}")
+    private boolean createdAtFollowsId;
+    
+    // /api/tasks/mine sayfa boyutu üst sınırı (size verilmezse de bu kullanılır)
+    @Value("${app.tasks.mine.max-page-size:2000}")
+    private int mineMaxPageSize;
     
     public TaskResponse createTask(CreateTaskRequest request) {
         log.info("Creating new task with title: {}", request.getTitle());
@@ -36,8 +101,14 @@ public class TaskService {
         task.setDueDate(request.getDueDate());
         task.setStatus(TaskStatus.TODO);
         task.setCompleted(false);
+        // Principal token claim'lerinden kurulmuş detached bir User; FK için sadece referans yeterli
+        task.setUser(userRepository.getReferenceById(currentUserId()));
         
         Task savedTask = taskRepository.save(task);
+        taskWorkingSetCache.putAfterCommit(savedTask);
+        taskEventOutbox.taskCreated(savedTask);
+        taskEventBus.publishAfterCommit(new TaskCreated(TaskSnapshot.of(savedTask), Instant.now()));
+        auditLog.record(AuditAction.TASK_CREATED, savedTask.getId(), savedTask.getTitle());
         log.info("Task created with ID: {}", savedTask.getId());
         
         return new TaskResponse(savedTask);
@@ -51,19 +122,46 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * 👤 Çağıranın task'ları (ID sırasıyla, sayfalı); status / priority opsiyonel
+     * Working set cache'ten okunur; kullanıcı cache'lenemiyorsa (çok fazla task) veritabanından, sayfa SQL'de
+     * uygulanarak. size en fazla app.tasks.mine.max-page-size.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getMyTasks(TaskStatus status, Priority priority, int page, Integer size) {
+        Long userId = currentUserId();
+        int pageNumber = Math.max(page, 0);
+        int pageSize = size == null ? mineMaxPageSize : Math.max(1, Math.min(size, mineMaxPageSize));
+        log.info("Fetching tasks of user {} - Status: {}, Priority: {}, Page: {}/{}", userId, status, priority,
+                pageNumber, pageSize);
+        
+        return taskWorkingSetCache.get(userId)
+                .map(tasks -> tasks.view(status, priority).stream()
+                        .skip((long) pageNumber * pageSize)
+                        .limit(pageSize)
+                        .map(CachedTask::toResponse)
+                        .collect(Collectors.toList()))
+                .orElseGet(() -> taskRepository.findOwnTasks(userId, status, priority,
+                                PageRequest.of(pageNumber, pageSize)).stream()
+                        .map(TaskResponse::new)
+                        .collect(Collectors.toList()));
+    }
+    
     @Transactional(readOnly = true)
     public TaskResponse getTaskById(Long id) {
         log.info("Fetching task with ID: {}", id);
         Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found with ID: " + id));
+                .orElseThrow(() -> new NotFoundException("Task", id));
         return new TaskResponse(task);
     }
     
-    public TaskResponse updateTask(Long id, UpdateTaskRequest request) {
+    public TaskResponse updateTask(Long id, UpdateTaskRequest request, Set<Long> expectedVersions) {
         log.info("Updating task with ID: {}", id);
         
         Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found with ID: " + id));
+                .orElseThrow(() -> new NotFoundException("Task", id));
+        checkVersion(task, expectedVersions);
+        TaskSnapshot before = TaskSnapshot.of(task);
         
         // Update only non-null fields
         if (request.getTitle() != null) {
@@ -89,45 +187,135 @@ public class TaskService {
             }
         }
         
-        Task updatedTask = taskRepository.save(task);
+        // Flush: response'taki version ve updatedAt commit sonrası değerlerle aynı olsun
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        taskWorkingSetCache.putAfterCommit(updatedTask);
+        taskEventOutbox.taskUpdated(updatedTask);
+        taskEventBus.publishAfterCommit(new TaskUpdated(before, TaskSnapshot.of(updatedTask), Instant.now()));
+        auditLog.record(AuditAction.TASK_UPDATED, id, describeChanges(before, updatedTask, request));
         log.info("Task updated successfully with ID: {}", id);
         
         return new TaskResponse(updatedTask);
     }
     
-    public void deleteTask(Long id) {
+    public void deleteTask(Long id, Set<Long> expectedVersions) {
         log.info("Deleting task with ID: {}", id);
         
-        if (!taskRepository.existsById(id)) {
-            throw new RuntimeException("Task not found with ID: " + id);
-        }
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Task", id));
+        checkVersion(task, expectedVersions);
+        TaskSnapshot snapshot = TaskSnapshot.of(task);
         
-        taskRepository.deleteById(id);
+        taskRepository.delete(task);
+        taskWorkingSetCache.removeAfterCommit(snapshot.ownerId(), id);
+        taskEventOutbox.taskDeleted(id);
+        taskEventBus.publishAfterCommit(new TaskDeleted(snapshot, Instant.now()));
+        auditLog.record(AuditAction.TASK_DELETED, id, "version " + snapshot.version() + "; " + snapshot.title());
         log.info("Task deleted successfully with ID: {}", id);
     }
     
-    public TaskResponse markTaskAsCompleted(Long id) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TaskResponse markTaskAsCompleted(Long id, Set<Long> expectedVersions) {
         log.info("Marking task as completed with ID: {}", id);
-        
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found with ID: " + id));
-        
-        task.markAsCompleted();
-        Task updatedTask = taskRepository.save(task);
-        
-        return new TaskResponse(updatedTask);
+        return transitionWithRetry(id, expectedVersions, Task::markAsCompleted);
     }
     
-    public TaskResponse markTaskAsPending(Long id) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TaskResponse markTaskAsPending(Long id, Set<Long> expectedVersions) {
         log.info("Marking task as pending with ID: {}", id);
+        return transitionWithRetry(id, expectedVersions, Task::markAsPending);
+    }
+    
+    /**
+     * Status geçişleri idempotent olduğu için çakışmada kaydı yeniden okuyup tekrar denemek güvenlidir.
+     * Her deneme kendi transaction'ında çalışır; client If-Match gönderdiyse çakışma client'a döner.
+     * Task zaten hedef durumdaysa dirty checking UPDATE üretmez, version artmaz.
+     */
+    private TaskResponse transitionWithRetry(Long id, Set<Long> expectedVersions, Consumer<Task> transition) {
+        int maxAttempts = expectedVersions == null ? Math.max(1, conflictMaxAttempts) : 1;
         
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found with ID: " + id));
-        
-        task.markAsPending();
-        Task updatedTask = taskRepository.save(task);
-        
-        return new TaskResponse(updatedTask);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(txStatus -> {
+                    Task task = taskRepository.findById(id)
+                            .orElseThrow(() -> new NotFoundException("Task", id));
+                    checkVersion(task, expectedVersions);
+                    TaskSnapshot before = TaskSnapshot.of(task);
+                    transition.accept(task);
+                    Task savedTask = taskRepository.saveAndFlush(task);
+                    // Zaten hedef durumdaysa değişiklik yok, olay da yok
+                    if (!Objects.equals(before.completed(), savedTask.getCompleted())
+                            || before.status() != savedTask.getStatus()) {
+                        taskWorkingSetCache.putAfterCommit(savedTask);
+                        taskEventOutbox.taskUpdated(savedTask);
+                        taskEventBus.publishAfterCommit(
+                                new TaskUpdated(before, TaskSnapshot.of(savedTask), Instant.now()));
+                        auditLog.record(AuditAction.TASK_STATUS_CHANGED, id, "version " + savedTask.getVersion()
+                                + "; status: " + before.status() + " -> " + savedTask.getStatus());
+                    }
+                    return new TaskResponse(savedTask);
+                });
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Giving up on task ID: {} after {} conflicting attempts", id, attempt);
+                    throw e;
+                }
+                log.debug("Optimistic lock conflict on task ID: {}, retrying (attempt {}/{})", id, attempt, maxAttempts);
+                backoff(attempt);
+            }
+        }
+    }
+    
+    private void backoff(int attempt) {
+        // Jitter: aynı task'a yarışan istekler aynı anda tekrar denemesin
+        long delay = ThreadLocalRandom.current().nextLong(conflictBackoffMs * attempt + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying task update", e);
+        }
+    }
+    
+    // Audit detayı: hangi alanlar değişti; kısa enum alanları için eski -> yeni değer
+    private String describeChanges(TaskSnapshot before, Task after, UpdateTaskRequest request) {
+        StringJoiner changes = new StringJoiner(", ");
+        if (!Objects.equals(before.title(), after.getTitle())) {
+            changes.add("title");
+        }
+        if (request.getDescription() != null) {
+            changes.add("description");
+        }
+        if (before.status() != after.getStatus()) {
+            changes.add("status: " + before.status() + " -> " + after.getStatus());
+        }
+        if (before.priority() != after.getPriority()) {
+            changes.add("priority: " + before.priority() + " -> " + after.getPriority());
+        }
+        if (!Objects.equals(before.completed(), after.getCompleted())) {
+            changes.add("completed: " + before.completed() + " -> " + after.getCompleted());
+        }
+        if (!Objects.equals(before.dueDate(), after.getDueDate())) {
+            changes.add("dueDate: " + before.dueDate() + " -> " + after.getDueDate());
+        }
+        return "version " + after.getVersion() + (changes.length() > 0 ? "; " + changes : "; no changes");
+    }
+    
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user) || user.getId() == null) {
+            throw new AuthenticationCredentialsNotFoundException("No authenticated user");
+        }
+        return user.getId();
+    }
+    
+    // null: If-Match yok ya da *; aksi halde güncel versiyon listedekilerden biri olmalı
+    private void checkVersion(Task task, Set<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(task.getVersion())) {
+            throw new PreconditionFailedException(
+                    "Task " + task.getId() + " has version " + task.getVersion() + ", expected one of " + expectedVersions,
+                    task.getVersion());
+        }
     }
     
     @Transactional(readOnly = true)
@@ -155,15 +343,72 @@ public class TaskService {
     }
     
     @Transactional(readOnly = true)
-    public Page<TaskResponse> getTasksWithFilters(TaskStatus status, Priority priority, 
-                                                  Boolean completed, Pageable pageable) {
-        log.info("Fetching tasks with filters - Status: {}, Priority: {}, Completed: {}", 
-                status, priority, completed);
+    public Page<TaskResponse> getTasksWithFilters(TaskFilter filter, Pageable pageable) {
+        log.info("Fetching tasks with filters: {}", filter);
         
-        return taskRepository.findTasksWithFilters(status, priority, completed, pageable)
+        Sort.Order order = pageable.getSort().stream().findFirst()
+                .orElse(Sort.Order.desc(TaskSortField.CREATED_AT.getProperty()));
+        Optional<TaskIdBitmap> matches = servableFromIndex(filter, order)
+                ? taskBitmapIndex.select(filter.status(), filter.priority(), filter.completed(), null)
+                : Optional.empty();
+        
+        if (matches.isPresent()) {
+            meterRegistry.counter("tasks.filter.source", "source", "index").increment();
+            return hydrate(matches.get(), filter, pageable, order.isDescending());
+        }
+        meterRegistry.counter("tasks.filter.source", "source", "database").increment();
+        return taskQueryRepository.findTasks(filter, pageable)
                 .map(TaskResponse::new);
     }
     
+    // Index id sırasını bilir; createdAt insert anında yazıldığı için id sırası createdAt sırasıyla aynıdır
+    private boolean servableFromIndex(TaskFilter filter, Sort.Order order) {
+        if (!filter.isEqualityOnly()) {
+            return false;
+        }
+        TaskSortField sortField = TaskSortField.fromProperty(order.getProperty());
+        return sortField == TaskSortField.ID || (sortField == TaskSortField.CREATED_AT && createdAtFollowsId);
+    }
+    
+    // Veritabanına sadece sayfadaki id'ler için gidilir; index'in henüz görmediği bir değişiklik
+    // varsa satır filtreye karşı yeniden doğrulanır (sayfa o an bir eksik dönebilir)
+    private Page<TaskResponse> hydrate(TaskIdBitmap matches, TaskFilter filter, Pageable pageable, boolean descending) {
+        List<Long> ids = matches.page(pageable.getOffset(), pageable.getPageSize(), descending);
+        Map<Long, Task> tasks = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        
+        List<TaskResponse> content = ids.stream()
+                .map(tasks::get)
+                .filter(task -> task != null && filter.matches(task))
+                .map(TaskResponse::new)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, matches.cardinality());
+    }
+    
+    @Transactional(readOnly = true)
+    public TaskStatsResponse getTaskStats(Long userId) {
+        Optional<TaskCounts> indexed = taskBitmapIndex.counts(userId);
+        if (indexed.isPresent()) {
+            TaskCounts counts = indexed.get();
+            return new TaskStatsResponse(counts.total(), counts.completed(), counts.total() - counts.completed(),
+                    counts.byStatus(), counts.byPriority(), counts.owned(), "index");
+        }
+        
+        log.info("Task bitmap index not ready, computing stats from database");
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, taskRepository.countByStatus(status));
+        }
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, taskRepository.countByPriority(priority));
+        }
+        long total = taskRepository.count();
+        long completed = taskRepository.countByCompleted(true);
+        long mine = userId != null ? taskRepository.countByUserId(userId) : 0;
+        return new TaskStatsResponse(total, completed, total - completed, byStatus, byPriority, mine, "database");
+    }
+    
     @Transactional(readOnly = true)
     public List<TaskResponse> searchTasksByTitle(String title) {
         log.info("Searching tasks by title: {}", title);
@@ -1,7 +1,16 @@
 package com.borakgul.demo.service;
 
+import com.borakgul.demo.audit.AuditAction;
+import com.borakgul.demo.audit.AuditLog;
+import com.borakgul.demo.cache.CacheInvalidation;
+import com.borakgul.demo.cache.CacheInvalidationBus;
+import com.borakgul.demo.exception.ConflictException;
+import com.borakgul.demo.exception.ExpectedErrorSampler;
+import com.borakgul.demo.exception.NotFoundException;
+import com.borakgul.demo.exception.ValidationFailedException;
 import com.borakgul.demo.model.User;
 import com.borakgul.demo.repository.UserRepository;
+import com.borakgul.demo.token.UserVersionCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
@@ -25,6 +34,10 @@ public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuditLog auditLog;
+    private final UserVersionCache userVersionCache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ExpectedErrorSampler expectedErrorSampler;
 
     /**
      * 🔍 Spring Security UserDetailsService implementation
@@ -36,7 +49,8 @@ public class UserService implements UserDetailsService {
         
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> {
-                    log.error("❌ User not found with email: {}", email);
+                    // Bilinmeyen email ile login denemesi beklenen bir durum; AuthController da loglar
+                    expectedErrorSampler.debug(log, "UsernameNotFoundException", "User not found with email: " + email);
                     return new UsernameNotFoundException("User not found with email: " + email);
                 });
 
@@ -53,7 +67,7 @@ public class UserService implements UserDetailsService {
         // Email kontrolü
         if (userRepository.existsByEmail(email)) {
             log.warn("⚠️ Email already exists: {}", email);
-            throw new RuntimeException("Email already registered: " + email);
+            throw new ConflictException("Email already registered: " + email);
         }
 
         // Yeni kullanıcı oluştur
@@ -110,10 +124,15 @@ public class UserService implements UserDetailsService {
      */
     public User toggleUserStatus(Long userId) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
+                .orElseThrow(() -> new NotFoundException("User", userId));
 
         user.setEnabled(!user.isEnabled());
+        user.bumpTokenVersion();
         User savedUser = userRepository.save(user);
+        userVersionCache.put(savedUser.getId(), savedUser.currentTokenVersion());
+        cacheInvalidationBus.invalidateAfterCommit(CacheInvalidation.Type.USER, savedUser.getId());
+        auditLog.record(AuditAction.USER_STATUS_CHANGED, savedUser.getId(),
+                user.getEmail() + " enabled: " + !savedUser.isEnabled() + " -> " + savedUser.isEnabled());
         
         log.info("🔄 User status changed: {} - Enabled: {}", user.getEmail(), savedUser.isEnabled());
         return savedUser;
@@ -124,17 +143,22 @@ public class UserService implements UserDetailsService {
      */
     public void changePassword(String email, String oldPassword, String newPassword) {
         User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
+                .orElseThrow(() -> new NotFoundException("User not found with email: " + email));
 
         // Eski şifre kontrolü
         if (!passwordEncoder.matches(oldPassword, user.getPassword())) {
             log.warn("⚠️ Password change failed - incorrect old password for: {}", email);
-            throw new RuntimeException("Current password is incorrect");
+            throw new ValidationFailedException("Current password is incorrect");
         }
 
         // Yeni şifreyi kaydet
         user.setPassword(passwordEncoder.encode(newPassword));
+        // Mevcut access token'lar bir sonraki request'te bayat sayılır
+        user.bumpTokenVersion();
         userRepository.save(user);
+        userVersionCache.put(user.getId(), user.currentTokenVersion());
+        cacheInvalidationBus.invalidateAfterCommit(CacheInvalidation.Type.USER, user.getId());
+        auditLog.record(AuditAction.PASSWORD_CHANGED, user.getId(), user.getEmail());
         
         log.info("🔑 Password changed successfully for user: {}", email);
     }
@@ -0,0 +1,322 @@
+package com.borakgul.demo.token;
+
+import com.borakgul.demo.schedule.LeaseManager;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 🗝️ JWT imza anahtarları (RS256 veya EdDSA) - kid ile indekslenmiş key ring
+ * Ring'in en yeni anahtarı "next": JWKS'te yayınlanır ama henüz imzalamaz, böylece verifier'ların
+ * cache'i rotation'dan önce onu öğrenir. Bir önceki "active" anahtar imzalar. Rotation'da next active
+ * olur ve yeni bir next üretilir; eski anahtarlar, imzaladıkları en uzun ömürlü token da bitene
+ * kadar sadece doğrulama için tutulur.
+ * Doğrulama anahtarları parse edilmiş PublicKey olarak ConcurrentHashMap'te; okuma lock-free.
+ * Anahtarlar app.jwt.keys.dir'de saklanır (restart token'ları geçersiz kılmaz); çoklu instance'ta dizin
+ * paylaşılır. Üretme/silme "jwt-key-rotation" lease'ini alan tek node'da yapılır; her node her rotation
+ * turunda dizini yeniden tarar ve bilinmeyen bir kid gelince (rate-limited) reddetmeden önce bir kez tarar,
+ * böylece başka node'un ürettiği anahtarla imzalanmış token'lar da doğrulanır.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    private static final String PRIVATE_SUFFIX = ".key";
+    private static final String PUBLIC_SUFFIX = ".pub";
+    private static final String ROTATION_LEASE = "jwt-key-rotation";
+    private static final long STARTUP_WAIT_MS = 200;
+    // Tüm node'lar aynı sırayı görsün: createdAt (kid'den, saniye hassasiyetinde), eşitlikte kid
+    private static final Comparator<SigningKey> AGE_ORDER =
+            Comparator.comparing(SigningKey::createdAt).thenComparing(SigningKey::kid);
+
+    public record SigningKey(String kid, Instant createdAt, PrivateKey privateKey, PublicKey publicKey) {
+    }
+
+    private final LeaseManager leaseManager;
+    private final Path directory;
+    private final String algorithm;
+    private final Duration rotationInterval;
+    private final Duration retention;
+    private final long rescanIntervalNanos;
+    private final AtomicLong lastRescan = new AtomicLong();
+    private final ConcurrentHashMap<String, PublicKey> verificationKeys = new ConcurrentHashMap<>();
+    private final List<SigningKey> keys = new ArrayList<>();
+    private volatile SigningKey active;
+    private volatile Map<String, Object> jwks;
+    private volatile String jwksETag;
+
+    public JwtKeyRing(LeaseManager leaseManager,
+                      @Value("${app.jwt.keys.dir:${java.io.tmpdir}/jwt-keys}") String directory,
+                      @Value("${app.jwt.keys.algorithm:RS256}") String algorithm,
+                      @Value("${app.jwt.keys.rotation-interval-hours:24}") long rotationIntervalHours,
+                      @Value("${app.jwt.refresh-expiration:1209600000}") long maxTokenLifetimeMs,
+                      @Value("${app.jwt.keys.unknown-kid-rescan-ms:5000}") long unknownKidRescanMs) {
+        this.leaseManager = leaseManager;
+        this.directory = Path.of(directory);
+        this.algorithm = switch (algorithm) {
+            case "RS256", "EdDSA" -> algorithm;
+            default -> throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + algorithm);
+        };
+        this.rotationInterval = Duration.ofHours(rotationIntervalHours);
+        // Anahtar en fazla [created + interval, created + 2 * interval] arasında imzalar
+        this.retention = rotationInterval.multipliedBy(2).plusMillis(maxTokenLifetimeMs);
+        this.rescanIntervalNanos = Duration.ofMillis(unknownKidRescanMs).toNanos();
+        this.lastRescan.set(System.nanoTime() - rescanIntervalNanos);
+    }
+
+    @PostConstruct
+    public void init() throws IOException, InterruptedException {
+        Files.createDirectories(directory);
+        rotateIfDue();
+        // Boş dizinde ilk anahtarları lease'i alan node üretir; diğerleri dizinde görünene kadar bekler
+        while (active == null) {
+            log.info("🗝️ Waiting for another node to create the initial JWT keys in {}", directory);
+            Thread.sleep(STARTUP_WAIT_MS);
+            rotateIfDue();
+        }
+        log.info("🗝️ JWT key ring loaded: {} key(s), signing with {}", keys.size(), active.kid());
+    }
+
+    /**
+     * 🔁 Dizini yeniden tara; next anahtar rotation-interval kadar yayında kaldıysa (veya silinecek anahtar
+     * varsa) lease altında rotation yap: next active olur, yeni next üretilir, süresi dolanlar silinir
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.keys.rotation-check-ms:60000}")
+    public void rotateIfDue() {
+        reload();
+        if (rotationDue(Instant.now())) {
+            leaseManager.runExclusively(ROTATION_LEASE, Duration.ZERO, lease -> rotate());
+        }
+    }
+
+    // Lease altında: arada başka node rotation yapmış olabilir, güncel dizine göre karar verilir
+    private synchronized void rotate() {
+        reload();
+        Instant now = Instant.now();
+        if (keys.size() < 2) {
+            while (keys.size() < 2) {
+                keys.add(generate());
+            }
+            keys.sort(AGE_ORDER);
+        } else if (keys.get(keys.size() - 1).createdAt().plus(rotationInterval).isBefore(now)) {
+            SigningKey next = generate();
+            keys.add(next);
+            keys.sort(AGE_ORDER);
+            log.info("🔁 JWT signing key rotated, pre-published next key {}", next.kid());
+        }
+        while (keys.size() > 2 && keys.get(0).createdAt().plus(retention).isBefore(now)) {
+            SigningKey expired = keys.remove(0);
+            verificationKeys.remove(expired.kid());
+            delete(expired);
+            log.info("🗑️ JWT key {} retired", expired.kid());
+        }
+        publish();
+    }
+
+    private synchronized boolean rotationDue(Instant now) {
+        return keys.size() < 2
+                || keys.get(keys.size() - 1).createdAt().plus(rotationInterval).isBefore(now)
+                || keys.size() > 2 && keys.get(0).createdAt().plus(retention).isBefore(now);
+    }
+
+    /**
+     * 📂 Dizindeki anahtarları ring'e yansıt: başka node'un ürettikleri eklenir, sildikleri çıkarılır
+     * Sadece yeni dosyalar parse edilir
+     */
+    private synchronized void reload() {
+        Set<String> present = new HashSet<>();
+        List<SigningKey> added = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(kidPrefix()) && name.endsWith(PRIVATE_SUFFIX))
+                    .map(name -> name.substring(0, name.length() - PRIVATE_SUFFIX.length()))
+                    .forEach(kid -> {
+                        present.add(kid);
+                        if (!verificationKeys.containsKey(kid)) {
+                            SigningKey key = load(kid);
+                            if (key != null) {
+                                added.add(key);
+                            }
+                        }
+                    });
+        } catch (IOException e) {
+            log.warn("⚠️ Could not scan JWT key directory {}: {}", directory, e.getMessage());
+            return;
+        }
+
+        // Boş tarama (örn. paylaşılan dizin geçici olarak erişilemez) ring'i boşaltmasın
+        boolean removed = !present.isEmpty() && keys.removeIf(key -> !present.contains(key.kid()));
+        if (removed) {
+            verificationKeys.keySet().retainAll(present);
+        }
+        if (added.isEmpty() && !removed) {
+            return;
+        }
+        keys.addAll(added);
+        keys.sort(AGE_ORDER);
+        if (!added.isEmpty()) {
+            log.info("🗝️ Loaded JWT key(s) {} from {}", added.stream().map(SigningKey::kid).toList(), directory);
+        }
+        publish();
+    }
+
+    public SigningKey signingKey() {
+        return active;
+    }
+
+    public SignatureAlgorithm signatureAlgorithm() {
+        return "EdDSA".equals(algorithm) ? Jwts.SIG.EdDSA : Jwts.SIG.RS256;
+    }
+
+    /**
+     * 🔍 kid → PublicKey; bilinmeyen kid imzayı geçersiz kılar
+     */
+    public PublicKey verificationKey(String kid) {
+        if (kid == null) {
+            throw new InvalidKeyException("JWT has no signing key id");
+        }
+        PublicKey key = verificationKeys.get(kid);
+        if (key == null && rescanAllowed()) {
+            // Başka node'un yeni ürettiği anahtar olabilir
+            reload();
+            key = verificationKeys.get(kid);
+        }
+        if (key == null) {
+            throw new InvalidKeyException("Unknown JWT signing key id: " + kid);
+        }
+        return key;
+    }
+
+    public Map<String, Object> jwks() {
+        return jwks;
+    }
+
+    public String jwksETag() {
+        return jwksETag;
+    }
+
+    // Uydurma kid'li token'lar dizin taramasını tetikleyemesin: aralık başına en fazla bir tarama
+    private boolean rescanAllowed() {
+        long now = System.nanoTime();
+        long last = lastRescan.get();
+        return now - last >= rescanIntervalNanos && lastRescan.compareAndSet(last, now);
+    }
+
+    // Doğrulama map'i ve JWKS sadece değişen anahtarlar için güncellenir; okuyucular eski ya da yeni görünümü görür
+    private void publish() {
+        for (SigningKey key : keys) {
+            verificationKeys.putIfAbsent(key.kid(), key.publicKey());
+        }
+        if (keys.size() < 2) {
+            // Henüz yayınlanmış bir next anahtar yok; imzalama ilk rotation'ı bekler
+            return;
+        }
+        active = keys.get(keys.size() - 2);
+
+        List<Jwk<?>> published = new ArrayList<>();
+        StringBuilder etag = new StringBuilder();
+        for (SigningKey key : keys) {
+            published.add(Jwks.builder().key(key.publicKey())
+                    .id(key.kid())
+                    .algorithm(algorithm)
+                    .publicKeyUse("sig")
+                    .build());
+            etag.append(key.kid()).append(',');
+        }
+        jwks = Map.of("keys", published);
+        jwksETag = "\"" + Integer.toHexString(etag.toString().hashCode()) + "\"";
+    }
+
+    private SigningKey generate() {
+        // EdDSA için Ed25519 (jjwt varsayılanı Ed448)
+        KeyPair pair = "EdDSA".equals(algorithm)
+                ? Jwks.CRV.Ed25519.keyPair().build()
+                : Jwts.SIG.RS256.keyPair().build();
+        Instant createdAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        String kid = kidPrefix() + createdAt.getEpochSecond() + "-"
+                + HexFormat.of().toHexDigits((short) ThreadLocalRandom.current().nextInt());
+        SigningKey key = new SigningKey(kid, createdAt, pair.getPrivate(), pair.getPublic());
+        try {
+            // Diğer node'lar .key dosyasını görünce okur: önce .pub, sonra .key tmp dosyadan taşınarak yazılır
+            Files.write(directory.resolve(kid + PUBLIC_SUFFIX), pair.getPublic().getEncoded());
+            Path tmpFile = directory.resolve(kid + PRIVATE_SUFFIX + ".tmp");
+            Files.write(tmpFile, pair.getPrivate().getEncoded());
+            restrictPermissions(tmpFile);
+            Files.move(tmpFile, directory.resolve(kid + PRIVATE_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot store JWT signing key " + kid, e);
+        }
+        return key;
+    }
+
+    private SigningKey load(String kid) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EdDSA".equals(algorithm) ? "Ed25519" : "RSA");
+            PrivateKey privateKey = keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(Files.readAllBytes(directory.resolve(kid + PRIVATE_SUFFIX))));
+            PublicKey publicKey = keyFactory.generatePublic(
+                    new X509EncodedKeySpec(Files.readAllBytes(directory.resolve(kid + PUBLIC_SUFFIX))));
+            long epochSecond = Long.parseLong(kid.substring(kidPrefix().length(), kid.lastIndexOf('-')));
+            return new SigningKey(kid, Instant.ofEpochSecond(epochSecond), privateKey, publicKey);
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            log.warn("⚠️ Skipping unreadable JWT key {}: {}", kid, e.getMessage());
+            return null;
+        }
+    }
+
+    private void delete(SigningKey key) {
+        try {
+            Files.deleteIfExists(directory.resolve(key.kid() + PRIVATE_SUFFIX));
+            Files.deleteIfExists(directory.resolve(key.kid() + PUBLIC_SUFFIX));
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete retired JWT key {}: {}", key.kid(), e.getMessage());
+        }
+    }
+
+    private String kidPrefix() {
+        return algorithm.toLowerCase() + "-";
+    }
+
+    private static void restrictPermissions(Path file) throws IOException {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // POSIX olmayan dosya sistemi
+        }
+    }
+}
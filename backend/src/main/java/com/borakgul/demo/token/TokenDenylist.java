@@ -0,0 +1,92 @@
+package com.borakgul.demo.token;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🚫 İptal edilmiş token id'leri (jti) - bellek içi, süreli denylist
+ * Kontrol her authenticated request'te çalışır: önce bloom filter (iptal edilmemiş token'ların neredeyse
+ * tamamı burada, map'e dokunmadan elenir), filtre "belki" derse kesin map kontrolü.
+ * Kayıtlar token'ın kendi exp zamanına kadar tutulur; periyodik purge süresi dolanları siler ve
+ * filtreyi kalan kayıtlardan yeniden kurar (bloom filter silmeyi desteklemez).
+ * Tek instance'lık; çoklu instance'ta iptaller instance'lar arasında paylaşılmaz.
+ */
+@Component
+@Slf4j
+public class TokenDenylist {
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+    private volatile BloomFilter filter;
+
+    public TokenDenylist(MeterRegistry meterRegistry,
+                         @Value("${app.jwt.denylist.expected-entries:100000}") long expectedEntries,
+                         @Value("${app.jwt.denylist.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(expectedEntries, falsePositiveRate);
+        Gauge.builder("auth.denylist.entries", revoked, Map::size)
+                .description("Revoked token ids that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    /**
+     * ⛔ jti'yi expiresAt'e kadar iptal et; sonrasında token zaten geçersizdir
+     * false: jti zaten iptal edilmişti (refresh token rotation'da tekrar kullanım tespiti için atomik)
+     */
+    public synchronized boolean revoke(String jti, Instant expiresAt) {
+        if (jti == null) {
+            return false;
+        }
+        if (isRevoked(jti)) {
+            return false;
+        }
+        if (expiresAt.isAfter(Instant.now())) {
+            revoked.put(jti, expiresAt.toEpochMilli());
+            filter.put(jti);
+        }
+        return true;
+    }
+
+    /**
+     * ✅ Lock-free; iptal edilmemiş token'lar için çoğunlukla sadece bloom filter'a bakar
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * 🧹 Süresi dolanları sil, filtreyi yeniden kur; revoke ile aynı kilit altında, yeni filtre tam kurulunca yayınlanır
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.denylist.purge-interval-ms:60000}")
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        BloomFilter rebuilt = BloomFilter.create(Math.max(expectedEntries, revoked.size() * 2L), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+
+        if (before != revoked.size()) {
+            log.debug("🧹 Purged {} expired token id(s), {} remaining", before - revoked.size(), revoked.size());
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+}
@@ -0,0 +1,57 @@
+package com.borakgul.demo.token;
+
+import com.borakgul.demo.cache.CacheInvalidation;
+import com.borakgul.demo.cache.CacheInvalidationHandler;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 🔁 userId → güncel token version
+ * Token'daki "ver" claim'i buradaki değerle eşitse principal claim'lerden kurulur; kayıt yoksa
+ * (restart, TTL) ya da farklıysa filtre kullanıcıyı bir kez veritabanından okur ve buraya yazar.
+ * Başka bir instance'taki değişiklikler CacheInvalidationBus ile silinir; TTL, kaçan bir invalidation için üst sınırdır.
+ */
+@Component
+public class UserVersionCache implements CacheInvalidationHandler {
+
+    private final Cache<Long, Long> versions;
+
+    public UserVersionCache(@Value("${app.jwt.user-version.max-entries:100000}") long maxEntries,
+                            @Value("${app.jwt.user-version.ttl-seconds:60}") long ttlSeconds) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Bilinen güncel version; bilinmiyorsa null
+     */
+    public Long get(Long userId) {
+        return versions.getIfPresent(userId);
+    }
+
+    public void put(Long userId, long version) {
+        versions.put(userId, version);
+    }
+
+    // Başka bir node'da disable / şifre değişikliği: bir sonraki request kullanıcıyı veritabanından okur
+    @Override
+    public void invalidate(CacheInvalidation.Type type, Set<Long> ids) {
+        if (type == CacheInvalidation.Type.USER) {
+            versions.invalidateAll(ids);
+        }
+    }
+
+    @Override
+    public void invalidateAll(CacheInvalidation.Type type) {
+        if (type == CacheInvalidation.Type.USER) {
+            versions.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.borakgul.demo.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * 🧵 Controller / servis çağrılarını "method.observed" observation'ı ile sarar (span adı: Sınıf.metot)
+ * @Observed'ın AspectJ'siz karşılığı; registry ilk çağrıda çözülür (BeanPostProcessor'dan erken bağımlılık olmasın).
+ */
+public class ObservedMethodInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
+
+    public ObservedMethodInterceptor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ObservationRegistry registry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+        if (registry.isNoop()) {
+            return invocation.proceed();
+        }
+        Object target = invocation.getThis();
+        String type = target != null ? AopUtils.getTargetClass(target).getSimpleName()
+                : invocation.getMethod().getDeclaringClass().getSimpleName();
+        String method = invocation.getMethod().getName();
+        return Observation.createNotStarted("method.observed", registry)
+                .contextualName(type + "." + method)
+                .lowCardinalityKeyValue("class", type)
+                .lowCardinalityKeyValue("method", method)
+                .observeChecked(invocation::proceed);
+    }
+}
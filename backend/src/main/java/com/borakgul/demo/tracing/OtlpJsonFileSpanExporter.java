@@ -0,0 +1,61 @@
+package com.borakgul.demo.tracing;
+
+import io.opentelemetry.exporter.logging.otlp.internal.traces.OtlpStdoutSpanExporter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * 📝 Span'leri dosyaya OTLP JSON satırları olarak yazar (her export bir ExportTraceServiceRequest)
+ * Collector'ın otlpjsonfile receiver'ı ya da `otel-cli`/Jaeger import'u bu dosyayı doğrudan okur.
+ * Yazımı OTel'in stdout exporter'ı yapar (internal paket; sürümü Boot BOM'u sabitler), dosya shutdown'da kapanır.
+ */
+public class OtlpJsonFileSpanExporter implements SpanExporter {
+
+    private final OutputStream output;
+    private final SpanExporter delegate;
+
+    public OtlpJsonFileSpanExporter(Path path) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.output = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Trace file " + path + " could not be opened", e);
+        }
+        this.delegate = OtlpStdoutSpanExporter.builder()
+                .setOutput(output)
+                .setWrapperJsonObject(true)
+                .build();
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        return delegate.export(spans);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        CompletableResultCode result = delegate.shutdown();
+        try {
+            output.close();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,171 @@
+package com.borakgul.demo.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 🎯 Tail-based sampling - trace'in export edilip edilmeyeceği bittikten sonra kararlaştırılır
+ * Tüm span'ler kaydedilir (management.tracing.sampling.probability=1.0), biten span'ler trace ID'ye göre
+ * bekletilir. Local root span (HTTP isteği, scheduled iş) bitince karar verilir: root slowThreshold'dan uzun
+ * sürdüyse, herhangi bir span ERROR ise (ya da 5xx outcome) ya da baseline olasılığıyla trace'in tüm span'leri
+ * delegate'e (BatchSpanProcessor → exporter'lar) verilir, değilse atılır. Root'tan sonra biten span'ler
+ * (async) son kararları hatırlayan küçük bir map ile aynı kaderi paylaşır.
+ * Bellek sınırlı: bekleyen trace sayısı ve trace başına span sayısı üst sınırlı, taşanlar atılır ve sayılır.
+ * Karar tek JVM'deki parçaya göredir; servisler arası tam tail sampling için bu processor yerine collector'daki
+ * tail_sampling processor'ı kullanılmalı.
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+
+    private final SpanProcessor delegate;
+    private final long slowThresholdNanos;
+    private final double baselineProbability;
+    private final int maxSpansPerTrace;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, PendingTrace> pending;
+    private final Map<String, Boolean> decided;
+
+    public TailSamplingSpanProcessor(SpanProcessor delegate, long slowThresholdMs, double baselineProbability,
+                                     int maxPendingTraces, int maxSpansPerTrace, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.slowThresholdNanos = slowThresholdMs * 1_000_000L;
+        this.baselineProbability = baselineProbability;
+        this.maxSpansPerTrace = maxSpansPerTrace;
+        this.meterRegistry = meterRegistry;
+        this.pending = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PendingTrace> eldest) {
+                if (size() > maxPendingTraces) {
+                    count("evicted");
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.decided = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxPendingTraces;
+            }
+        };
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+        delegate.onStart(parentContext, span);
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return delegate.isStartRequired();
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        String traceId = span.getSpanContext().getTraceId();
+        boolean error = isError(span);
+        List<ReadableSpan> export;
+        String decision;
+
+        synchronized (this) {
+            Boolean previous = decided.get(traceId);
+            if (previous != null) {
+                // Root'tan sonra biten span
+                if (previous) {
+                    delegate.onEnd(span);
+                }
+                return;
+            }
+            PendingTrace trace = pending.computeIfAbsent(traceId, id -> new PendingTrace());
+            trace.error |= error;
+            if (!isLocalRoot(span)) {
+                if (trace.spans.size() < maxSpansPerTrace) {
+                    trace.spans.add(span);
+                } else {
+                    trace.truncated = true;
+                }
+                return;
+            }
+
+            pending.remove(traceId);
+            decision = decide(span, trace.error);
+            decided.put(traceId, decision != null);
+            if (decision == null) {
+                export = null;
+            } else {
+                export = trace.spans;
+                export.add(span);
+                if (trace.truncated) {
+                    count("truncated");
+                }
+            }
+        }
+
+        count(decision != null ? decision : "dropped");
+        if (export != null) {
+            export.forEach(delegate::onEnd);
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return delegate.shutdown();
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return delegate.forceFlush();
+    }
+
+    private String decide(ReadableSpan root, boolean error) {
+        if (error) {
+            return "error";
+        }
+        if (root.getLatencyNanos() >= slowThresholdNanos) {
+            return "slow";
+        }
+        if (baselineProbability > 0 && ThreadLocalRandom.current().nextDouble() < baselineProbability) {
+            return "baseline";
+        }
+        return null;
+    }
+
+    private static boolean isLocalRoot(ReadableSpan span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+
+    private static boolean isError(ReadableSpan span) {
+        return "SERVER_ERROR".equals(span.getAttribute(OUTCOME))
+                || span.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR;
+    }
+
+    private void count(String decision) {
+        meterRegistry.counter("tracing.tail.traces", "decision", decision).increment();
+    }
+
+    private static final class PendingTrace {
+        private final List<ReadableSpan> spans = new ArrayList<>();
+        private boolean error;
+        private boolean truncated;
+    }
+}
@@ -0,0 +1,73 @@
+package com.borakgul.demo.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanProcessors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+
+/**
+ * 🛰️ Tracing - istek başına uçtan uca trace: HTTP (Boot) → JwtAuthenticationFilter → controller → servis → JDBC
+ * Span'ler Micrometer Observation'dan OpenTelemetry SDK'ya köprülenir. JDBC statement / result-set span'leri
+ * (satır sayılarıyla) datasource-micrometer'dan gelir. Export edilecek trace'leri TailSamplingSpanProcessor seçer.
+ * Exporter'lar: app.tracing.file.path (OTLP JSON dosyası) ve/veya management.otlp.tracing.endpoint (collector, OTLP/HTTP).
+ * management.tracing.enabled=false hepsini kapatır; AOT image'da koşul build'de değerlendirilir (Dockerfile
+ * AOT_PROPERTIES build-arg'ı), runtime'da değiştirmek etkisizdir.
+ */
+@Configuration
+@ConditionalOnProperty(name = "management.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    /**
+     * @RestController ve @Service bean'lerine ObservedMethodInterceptor ekler; transaction proxy'sinin dışına
+     */
+    @Bean
+    public static AbstractBeanFactoryAwareAdvisingPostProcessor tracingMethodPostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        AbstractBeanFactoryAwareAdvisingPostProcessor postProcessor = new AbstractBeanFactoryAwareAdvisingPostProcessor() {
+            {
+                this.advisor = new DefaultPointcutAdvisor(
+                        new ComposablePointcut(new AnnotationMatchingPointcut(RestController.class, true))
+                                .union(new AnnotationMatchingPointcut(Service.class, true)),
+                        new ObservedMethodInterceptor(observationRegistry));
+            }
+        };
+        postProcessor.setBeforeExistingAdvisors(true);
+        postProcessor.setProxyTargetClass(true);
+        return postProcessor;
+    }
+
+    /**
+     * Boot'un SpanProcessors'ı yerine: tüm processor'lar (BatchSpanProcessor dahil) tail sampling'in arkasında
+     */
+    @Bean
+    public SpanProcessors spanProcessors(ObjectProvider<SpanProcessor> spanProcessors,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${app.tracing.tail.slow-threshold-ms:500}") long slowThresholdMs,
+                                         @Value("${app.tracing.tail.baseline-probability:0.01}") double baselineProbability,
+                                         @Value("${app.tracing.tail.max-pending-traces:5000}") int maxPendingTraces,
+                                         @Value("${app.tracing.tail.max-spans-per-trace:500}") int maxSpansPerTrace) {
+        SpanProcessor delegate = SpanProcessor.composite(spanProcessors.orderedStream().toList());
+        return SpanProcessors.of(new TailSamplingSpanProcessor(delegate, slowThresholdMs, baselineProbability,
+                maxPendingTraces, maxSpansPerTrace, meterRegistry));
+    }
+
+    @Bean
+    @ConditionalOnExpression("!'${app.tracing.file.path:}'.isBlank()")
+    public OtlpJsonFileSpanExporter otlpJsonFileSpanExporter(@Value("${app.tracing.file.path}") String path) {
+        return new OtlpJsonFileSpanExporter(Path.of(path));
+    }
+}
@@ -0,0 +1,118 @@
+package com.borakgul.demo.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void rollsSegmentsAndFiltersAcrossThem() throws Exception {
+		AuditLog auditLog = open();
+		for (long i = 0; i < 2_000; i++) {
+			auditLog.record(i % 2 == 0 ? AuditAction.TASK_UPDATED : AuditAction.USER_STATUS_CHANGED, i, "change " + i);
+		}
+		auditLog.flush();
+
+		assertThat(segmentCount()).isGreaterThan(1);
+		List<AuditEntry> newest = auditLog.query(query(null, null, 5, true));
+		assertThat(newest).extracting(AuditEntry::entityId).containsExactly(1999L, 1998L, 1997L, 1996L, 1995L);
+
+		List<AuditEntry> task42 = auditLog.query(query(AuditAction.TASK_UPDATED, 42L, 10, false));
+		assertThat(task42).singleElement().satisfies(entry -> {
+			assertThat(entry.actor()).isEqualTo("system");
+			assertThat(entry.entityType()).isEqualTo("Task");
+			assertThat(entry.details()).isEqualTo("change 42");
+		});
+		assertThat(auditLog.query(query(AuditAction.USER_STATUS_CHANGED, 42L, 10, false))).isEmpty();
+		auditLog.close();
+	}
+
+	@Test
+	void newestFirstWalksSegmentsBackwardsAndMatchesTheForwardScan() throws Exception {
+		AuditLog auditLog = open();
+		for (long i = 0; i < 3_000; i++) {
+			auditLog.record(i % 3 == 0 ? AuditAction.TASK_STATUS_CHANGED : AuditAction.TASK_UPDATED, i % 50, "change " + i);
+			if (i % 500 == 0) {
+				auditLog.flush();
+				Thread.sleep(2);
+			}
+		}
+		auditLog.flush();
+
+		List<AuditEntry> all = auditLog.query(query(null, null, 10_000, false));
+		assertThat(all).hasSize(3_000);
+		long from = all.get(700).timestamp().toEpochMilli();
+		long to = all.get(2_300).timestamp().toEpochMilli();
+
+		// Zaman aralığı + filtre: sondan başa tarama ileri taramanın ters çevrilmiş ilk limit kaydını vermeli
+		AuditQuery newest = new AuditQuery(from, to, null, AuditAction.TASK_STATUS_CHANGED, 7L, 5, true);
+		List<String> expected = new ArrayList<>(all.stream()
+				.filter(entry -> entry.timestamp().toEpochMilli() >= from && entry.timestamp().toEpochMilli() <= to)
+				.filter(entry -> entry.action() == AuditAction.TASK_STATUS_CHANGED && entry.entityId() == 7L)
+				.map(AuditEntry::details)
+				.toList());
+		Collections.reverse(expected);
+		assertThat(expected).hasSizeGreaterThan(5);
+		assertThat(auditLog.query(newest)).extracting(AuditEntry::details)
+				.containsExactlyElementsOf(expected.subList(0, 5));
+
+		assertThat(auditLog.query(query(null, null, 3, true))).extracting(AuditEntry::details)
+				.containsExactly("change 2999", "change 2998", "change 2997");
+		auditLog.close();
+	}
+
+	@Test
+	void recoveryDropsTornTailAndKeepsAppending() throws Exception {
+		AuditLog auditLog = open();
+		for (long i = 0; i < 10; i++) {
+			auditLog.record(AuditAction.PASSWORD_CHANGED, i, "user" + i);
+		}
+		auditLog.flush();
+		auditLog.close();
+
+		Path last;
+		try (Stream<Path> files = Files.list(directory)) {
+			last = files.sorted().reduce((first, second) -> second).orElseThrow();
+		}
+		Files.write(last, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+		AuditLog reopened = open();
+		reopened.record(AuditAction.PASSWORD_CHANGED, 10L, "user10");
+		reopened.flush();
+
+		assertThat(reopened.query(query(null, null, 100, false)))
+				.extracting(AuditEntry::entityId)
+				.containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+		reopened.close();
+	}
+
+	private AuditLog open() throws Exception {
+		AuditLog auditLog = new AuditLog(new SimpleMeterRegistry(), directory.toString(), 16 * 1024, 16, 10_000, 100);
+		auditLog.open();
+		return auditLog;
+	}
+
+	private long segmentCount() throws Exception {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.count();
+		}
+	}
+
+	private static AuditQuery query(AuditAction action, Long entityId, int limit, boolean newestFirst) {
+		return new AuditQuery(0L, Long.MAX_VALUE, null, action, entityId, limit, newestFirst);
+	}
+}
@@ -0,0 +1,83 @@
+package com.borakgul.demo.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationBusTest {
+
+	private final LoopbackInvalidationTransport transport = new LoopbackInvalidationTransport();
+	private final List<String> payloads = new ArrayList<>();
+
+	@Test
+	void otherNodesReceiveCoalescedBatchesAndTheSenderSkipsItsOwn() {
+		RecordingHandler senderHandler = new RecordingHandler();
+		RecordingHandler receiverHandler = new RecordingHandler();
+		CacheInvalidationBus sender = bus(senderHandler, 7900);
+		bus(receiverHandler, 7900);
+
+		for (int round = 0; round < 3; round++) {
+			sender.invalidateAfterCommit(CacheInvalidation.Type.USER, 7L);
+			sender.invalidateAfterCommit(CacheInvalidation.Type.TASK, List.of(1L, 2L, 3L));
+		}
+		sender.invalidateAllAfterCommit(CacheInvalidation.Type.TASK_LIST);
+		sender.flush();
+
+		// Her iki node da aynı tek payload'ı görür
+		assertThat(new HashSet<>(payloads)).hasSize(1);
+		assertThat(receiverHandler.ids).containsExactlyInAnyOrder("USER:7", "TASK:1", "TASK:2", "TASK:3");
+		assertThat(receiverHandler.all).containsExactly(CacheInvalidation.Type.TASK_LIST);
+		assertThat(senderHandler.ids).isEmpty();
+		assertThat(senderHandler.all).isEmpty();
+	}
+
+	@Test
+	void payloadsStayWithinTheSizeLimit() {
+		RecordingHandler receiverHandler = new RecordingHandler();
+		CacheInvalidationBus sender = bus(new RecordingHandler(), 64);
+		bus(receiverHandler, 64);
+
+		List<Long> ids = new ArrayList<>();
+		for (long id = 100_000; id < 100_200; id++) {
+			ids.add(id);
+		}
+		sender.invalidateAfterCommit(CacheInvalidation.Type.TASK, ids);
+		sender.flush();
+
+		assertThat(payloads).hasSizeGreaterThan(1).allSatisfy(payload -> assertThat(payload.length()).isLessThanOrEqualTo(64));
+		assertThat(receiverHandler.ids).hasSize(200);
+	}
+
+	private CacheInvalidationBus bus(CacheInvalidationHandler handler, int maxPayloadBytes) {
+		CacheInvalidationBus bus = new CacheInvalidationBus(List.of(transport), List.of(handler),
+				new SimpleMeterRegistry(), "loopback", 20, maxPayloadBytes, 10_000);
+		transport.start(payload -> {
+			payloads.add(payload);
+			bus.receive(payload);
+		}, () -> {
+		});
+		return bus;
+	}
+
+	private static class RecordingHandler implements CacheInvalidationHandler {
+
+		private final Set<String> ids = new HashSet<>();
+		private final List<CacheInvalidation.Type> all = new ArrayList<>();
+
+		@Override
+		public void invalidate(CacheInvalidation.Type type, Set<Long> invalidated) {
+			invalidated.forEach(id -> ids.add(type + ":" + id));
+		}
+
+		@Override
+		public void invalidateAll(CacheInvalidation.Type type) {
+			all.add(type);
+		}
+	}
+}
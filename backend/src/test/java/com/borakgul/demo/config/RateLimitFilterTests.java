@@ -0,0 +1,82 @@
+package com.borakgul.demo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rate limit policies over HTTP: auth endpoints per client IP, API calls per user, health exempt.
+ */
+// Uzun period: bir token'ın dolması (60s) bcrypt ağırlıklı auth isteklerinin toplam süresinden uzun olsun
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {"app.rate-limit.enabled=true", "app.rate-limit.auth.capacity=10",
+				"app.rate-limit.auth.period-seconds=600", "app.rate-limit.api.capacity=3",
+				"app.rate-limit.api.period-seconds=60"})
+class RateLimitFilterTests {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Test
+	void authIsLimitedPerIpAndApiPerUserWithHealthExempt() {
+		// 4 auth isteği: iki kullanıcı kaydı + login
+		String alice = registerAndLogin();
+		String bob = registerAndLogin();
+
+		for (int i = 5; i <= 10; i++) {
+			assertThat(login("nobody@example.com").getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+		}
+		ResponseEntity<String> limited = login("nobody@example.com");
+		assertThat(limited.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+		long retryAfter = Long.parseLong(limited.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertThat(retryAfter).isBetween(1L, 60L);
+
+		// Auth bucket'ı dolu olsa da API çağrıları kullanıcı bazında ayrı sayılır
+		for (int i = 0; i < 3; i++) {
+			assertThat(tasks(alice).getStatusCode()).isEqualTo(HttpStatus.OK);
+		}
+		ResponseEntity<String> aliceLimited = tasks(alice);
+		assertThat(aliceLimited.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+		assertThat(aliceLimited.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotBlank();
+		assertThat(tasks(bob).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(restTemplate.getForEntity("/api/tasks/health", String.class).getStatusCode())
+					.isEqualTo(HttpStatus.OK);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private String registerAndLogin() {
+		String email = "limit-" + UUID.randomUUID() + "@example.com";
+		ResponseEntity<String> register = restTemplate.postForEntity("/api/auth/register",
+				Map.of("name", "Rate Limit", "email", email, "password", "password123"), String.class);
+		assertThat(register.getStatusCode()).isEqualTo(HttpStatus.OK);
+		ResponseEntity<Map> login = restTemplate.postForEntity("/api/auth/login",
+				Map.of("email", email, "password", "password123"), Map.class);
+		assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+		return (String) login.getBody().get("token");
+	}
+
+	private ResponseEntity<String> login(String email) {
+		return restTemplate.postForEntity("/api/auth/login", Map.of("email", email, "password", "wrong-password"),
+				String.class);
+	}
+
+	private ResponseEntity<String> tasks(String token) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(token);
+		return restTemplate.exchange("/api/tasks", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+	}
+}
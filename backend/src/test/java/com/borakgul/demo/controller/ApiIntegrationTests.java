@@ -0,0 +1,362 @@
+package com.borakgul.demo.controller;
+
+import com.borakgul.demo.model.Task;
+import com.borakgul.demo.model.TaskStatus;
+import com.borakgul.demo.model.User;
+import com.borakgul.demo.repository.TaskRepository;
+import com.borakgul.demo.repository.UserRepository;
+import com.borakgul.demo.service.UserService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end checks for AuthController and TaskController over HTTP.
+ * Runs on the JVM with mvn test and against the native executable with mvn -PnativeTest test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = "app.rate-limit.enabled=false")
+class ApiIntegrationTests {
+
+	private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT = new ParameterizedTypeReference<>() {
+	};
+	private static final ParameterizedTypeReference<List<Map<String, Object>>> JSON_ARRAY = new ParameterizedTypeReference<>() {
+	};
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private Long userId;
+	private String email;
+	private String token;
+	private String refreshToken;
+
+	@BeforeEach
+	void registerAndLogin() {
+		email = "native-" + UUID.randomUUID() + "@example.com";
+		Map<String, String> credentials = Map.of("email", email, "password", "password123");
+
+		ResponseEntity<Map<String, Object>> register = restTemplate.exchange("/api/auth/register", HttpMethod.POST,
+				new HttpEntity<>(Map.of("name", "Native Test", "email", email, "password", "password123")), JSON_OBJECT);
+		assertThat(register.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		ResponseEntity<Map<String, Object>> login = restTemplate.exchange("/api/auth/login", HttpMethod.POST,
+				new HttpEntity<>(credentials), JSON_OBJECT);
+		assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+		token = (String) login.getBody().get("token");
+		refreshToken = (String) login.getBody().get("refreshToken");
+		userId = ((Number) login.getBody().get("id")).longValue();
+		assertThat(token).isNotBlank();
+		assertThat(refreshToken).isNotBlank();
+	}
+
+	@Test
+	void profileIsResolvedFromToken() {
+		ResponseEntity<Map<String, Object>> profile = restTemplate.exchange("/api/auth/profile", HttpMethod.GET,
+				authorized(null), JSON_OBJECT);
+
+		assertThat(profile.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(profile.getBody()).containsEntry("email", email);
+	}
+
+	@Test
+	void taskEndpointsRespond() {
+		assertThat(restTemplate.getForEntity("/api/tasks/health", Map.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		ResponseEntity<List<Map<String, Object>>> all = restTemplate.exchange("/api/tasks", HttpMethod.GET,
+				authorized(null), JSON_ARRAY);
+		assertThat(all.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		ResponseEntity<Map<String, Object>> filtered = restTemplate.exchange(
+				"/api/tasks/filter?status=TODO&priority=HIGH&page=0&size=5", HttpMethod.GET, authorized(null), JSON_OBJECT);
+		assertThat(filtered.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		ResponseEntity<Map<String, Object>> ranged = restTemplate.exchange(
+				"/api/tasks/filter?completed=false&dueFrom=2020-01-01T00:00:00&dueTo=2100-01-01T00:00:00&sortBy=dueDate&sortDir=asc",
+				HttpMethod.GET, authorized(null), JSON_OBJECT);
+		assertThat(ranged.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		ResponseEntity<Map<String, Object>> unsortable = restTemplate.exchange(
+				"/api/tasks/filter?sortBy=description", HttpMethod.GET, authorized(null), JSON_OBJECT);
+		assertThat(unsortable.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+		ResponseEntity<Map<String, Object>> stats = restTemplate.exchange("/api/tasks/stats", HttpMethod.GET,
+				authorized(null), JSON_OBJECT);
+		assertThat(stats.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(stats.getBody()).containsKeys("total", "byStatus", "byPriority", "source");
+
+		ResponseEntity<Map<String, Object>> missing = restTemplate.exchange("/api/tasks/999999", HttpMethod.GET,
+				authorized(null), JSON_OBJECT);
+		assertThat(missing.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
+	@Test
+	void ownTasksAreServedWriteThroughFromTheWorkingSet() {
+		assertThat(restTemplate.exchange("/api/tasks/mine", HttpMethod.GET, authorized(null), JSON_ARRAY).getBody())
+				.isEmpty();
+
+		ResponseEntity<Map<String, Object>> created = restTemplate.exchange("/api/tasks", HttpMethod.POST,
+				authorized(Map.of("title", "Working set task", "priority", "HIGH")), JSON_OBJECT);
+		assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		Object taskId = created.getBody().get("id");
+
+		restTemplate.exchange("/api/tasks/" + taskId + "/complete", HttpMethod.PATCH, authorized(null), JSON_OBJECT);
+
+		ResponseEntity<List<Map<String, Object>>> done = restTemplate.exchange("/api/tasks/mine?status=DONE",
+				HttpMethod.GET, authorized(null), JSON_ARRAY);
+		assertThat(done.getBody()).singleElement()
+				.satisfies(task -> assertThat(task).containsEntry("id", taskId).containsEntry("completed", true));
+		assertThat(restTemplate.exchange("/api/tasks/mine?priority=LOW", HttpMethod.GET, authorized(null), JSON_ARRAY)
+				.getBody()).isEmpty();
+
+		// Cache raporu sadece ADMIN'e açık
+		assertThat(restTemplate.exchange("/actuator/taskcache", HttpMethod.GET, null, String.class).getStatusCode())
+				.isEqualTo(HttpStatus.UNAUTHORIZED);
+		assertThat(restTemplate.exchange("/actuator/taskcache", HttpMethod.GET, authorized(null), String.class)
+				.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+
+		User user = userRepository.findById(userId).orElseThrow();
+		user.setRole(User.Role.ADMIN);
+		userRepository.save(user);
+		ResponseEntity<Map<String, Object>> login = restTemplate.exchange("/api/auth/login", HttpMethod.POST,
+				new HttpEntity<>(Map.of("email", email, "password", "password123")), JSON_OBJECT);
+		token = (String) login.getBody().get("token");
+
+		ResponseEntity<Map<String, Object>> report = restTemplate.exchange("/actuator/taskcache", HttpMethod.GET,
+				authorized(null), JSON_OBJECT);
+		assertThat(report.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(report.getBody()).containsKeys("users", "tasks", "estimatedBytes", "hitRate");
+	}
+
+	@Test
+	void ownTasksArePagedInIdOrder() {
+		List<Object> ids = List.of(createTask("Paged 1"), createTask("Paged 2"), createTask("Paged 3"));
+
+		ResponseEntity<List<Map<String, Object>>> first = restTemplate.exchange("/api/tasks/mine?page=0&size=2",
+				HttpMethod.GET, authorized(null), JSON_ARRAY);
+		ResponseEntity<List<Map<String, Object>>> second = restTemplate.exchange("/api/tasks/mine?page=1&size=2",
+				HttpMethod.GET, authorized(null), JSON_ARRAY);
+		assertThat(first.getBody()).extracting(task -> task.get("id")).containsExactly(ids.get(0), ids.get(1));
+		assertThat(second.getBody()).extracting(task -> task.get("id")).containsExactly(ids.get(2));
+
+		// Working set'e sığmayan kullanıcılar için SQL yolu aynı sayfayı döner
+		assertThat(taskRepository.findOwnTasks(userId, TaskStatus.TODO, null, PageRequest.of(1, 2)))
+				.extracting(Task::getId).containsExactly(((Number) ids.get(2)).longValue());
+		assertThat(taskRepository.findOwnTasks(userId, TaskStatus.DONE, null, PageRequest.of(0, 2))).isEmpty();
+	}
+
+	@Test
+	void ifMatchGuardsTaskWritesWithTheETagVersion() {
+		Object taskId = createTask("Versioned task");
+		ResponseEntity<Map<String, Object>> fetched = restTemplate.exchange("/api/tasks/" + taskId, HttpMethod.GET,
+				authorized(null), JSON_OBJECT);
+		Number version = (Number) fetched.getBody().get("version");
+		assertThat(fetched.getHeaders().getETag()).isEqualTo("\"" + version + "\"");
+
+		ResponseEntity<Map<String, Object>> stale = restTemplate.exchange("/api/tasks/" + taskId + "/complete",
+				HttpMethod.PATCH, ifMatch("\"" + (version.longValue() + 5) + "\""), JSON_OBJECT);
+		assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+		assertThat(((Number) stale.getBody().get("currentVersion")).longValue()).isEqualTo(version.longValue());
+
+		ResponseEntity<Map<String, Object>> malformed = restTemplate.exchange("/api/tasks/" + taskId + "/complete",
+				HttpMethod.PATCH, ifMatch("\"abc\""), JSON_OBJECT);
+		assertThat(malformed.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+		// If-Match güçlü karşılaştırma ister: versiyon doğru olsa da zayıf tag eşleşmez
+		ResponseEntity<Map<String, Object>> weak = restTemplate.exchange("/api/tasks/" + taskId + "/complete",
+				HttpMethod.PATCH, ifMatch("W/\"" + version + "\""), JSON_OBJECT);
+		assertThat(weak.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+		ResponseEntity<Map<String, Object>> list = restTemplate.exchange("/api/tasks/" + taskId + "/complete",
+				HttpMethod.PATCH, ifMatch("\"" + (version.longValue() + 5) + "\", W/\"" + version + "\", \"" + version + "\""),
+				JSON_OBJECT);
+		assertThat(list.getStatusCode()).isEqualTo(HttpStatus.OK);
+		Number completedVersion = (Number) list.getBody().get("version");
+		assertThat(completedVersion.longValue()).isGreaterThan(version.longValue());
+		assertThat(list.getHeaders().getETag()).isEqualTo("\"" + completedVersion + "\"");
+
+		ResponseEntity<Map<String, Object>> staleList = restTemplate.exchange("/api/tasks/" + taskId + "/pending",
+				HttpMethod.PATCH, ifMatch("\"" + version + "\", \"" + (completedVersion.longValue() + 1) + "\""), JSON_OBJECT);
+		assertThat(staleList.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+		assertThat(((Number) staleList.getBody().get("currentVersion")).longValue()).isEqualTo(completedVersion.longValue());
+
+		ResponseEntity<Map<String, Object>> any = restTemplate.exchange("/api/tasks/" + taskId + "/pending",
+				HttpMethod.PATCH, ifMatch("*"), JSON_OBJECT);
+		assertThat(any.getStatusCode()).isEqualTo(HttpStatus.OK);
+	}
+
+	@Test
+	void concurrentUpdateConflictIsA409OnceRetriesAreExhausted() {
+		Object taskId = createTask("Contended task");
+		long id = ((Number) taskId).longValue();
+		// Repository proxy'sine geçici advice: bu task'ın her flush'ı eşzamanlı bir yazmayla çakışmış gibi
+		AtomicInteger attempts = new AtomicInteger();
+		MethodInterceptor conflict = invocation -> {
+			if (invocation.getMethod().getName().equals("saveAndFlush")
+					&& invocation.getArguments()[0] instanceof Task task && task.getId() == id) {
+				attempts.incrementAndGet();
+				throw new ObjectOptimisticLockingFailureException(Task.class, id);
+			}
+			return invocation.proceed();
+		};
+		Advised repository = (Advised) taskRepository;
+		repository.addAdvice(0, conflict);
+		try {
+			ResponseEntity<Map<String, Object>> retried = restTemplate.exchange("/api/tasks/" + taskId + "/complete",
+					HttpMethod.PATCH, authorized(null), JSON_OBJECT);
+			assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+			assertThat(attempts).hasValue(3);
+
+			// If-Match gönderen client'ın isteği tekrar denenmez
+			attempts.set(0);
+			ResponseEntity<Map<String, Object>> conditional = restTemplate.exchange("/api/tasks/" + taskId + "/complete",
+					HttpMethod.PATCH, ifMatch("\"0\""), JSON_OBJECT);
+			assertThat(conditional.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+			assertThat(attempts).hasValue(1);
+		} finally {
+			repository.removeAdvice(conflict);
+		}
+	}
+
+	@Test
+	void expectedErrorsAreProblemDetails() {
+		ResponseEntity<Map<String, Object>> missing = restTemplate.exchange("/api/tasks/999998", HttpMethod.GET,
+				authorized(null), JSON_OBJECT);
+		assertThat(missing.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+		assertThat(missing.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+		assertThat(missing.getBody())
+				.containsEntry("status", 404)
+				.containsEntry("type", "urn:problem-type:not-found")
+				.containsEntry("detail", "Task not found with ID: 999998")
+				.containsEntry("instance", "/api/tasks/999998");
+
+		ResponseEntity<Map<String, Object>> duplicate = restTemplate.exchange("/api/auth/register", HttpMethod.POST,
+				new HttpEntity<>(Map.of("name", "Native Test", "email", email, "password", "password123")), JSON_OBJECT);
+		assertThat(duplicate.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+		assertThat(duplicate.getBody()).containsEntry("type", "urn:problem-type:conflict");
+	}
+
+	@Test
+	void profileEndpointIsAdminOnly() {
+		assertThat(restTemplate.exchange("/actuator/profile/summary", HttpMethod.POST, null, JSON_OBJECT)
+				.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+		assertThat(restTemplate.exchange("/actuator/profile/summary", HttpMethod.POST, authorized(null), JSON_OBJECT)
+				.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+	}
+
+	@Test
+	void refreshTokensRotateAndReuseRevokesTheFamily() {
+		ResponseEntity<Map<String, Object>> rotated = refresh(refreshToken);
+		assertThat(rotated.getStatusCode()).isEqualTo(HttpStatus.OK);
+		String nextRefreshToken = (String) rotated.getBody().get("refreshToken");
+		assertThat(nextRefreshToken).isNotEqualTo(refreshToken);
+
+		assertThat(refresh(refreshToken).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+		assertThat(refresh(nextRefreshToken).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+	}
+
+	@Test
+	void logoutRevokesAccessToken() {
+		ResponseEntity<Map<String, Object>> logout = restTemplate.exchange("/api/auth/logout", HttpMethod.POST,
+				authorized(Map.of("refreshToken", refreshToken)), JSON_OBJECT);
+		assertThat(logout.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		ResponseEntity<String> tasks = restTemplate.exchange("/api/tasks", HttpMethod.GET, authorized(null), String.class);
+		assertThat(tasks.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+		assertThat(refresh(refreshToken).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+	}
+
+	@Test
+	void tokenVersionBumpInvalidatesIssuedTokens() {
+		userService.toggleUserStatus(userId);
+
+		ResponseEntity<String> profile = restTemplate.exchange("/api/auth/profile", HttpMethod.GET, authorized(null), String.class);
+		assertThat(profile.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+		// Hesap tekrar açılsa da bump öncesi verilen refresh token yeni token alamaz
+		userService.toggleUserStatus(userId);
+		assertThat(refresh(refreshToken).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+	}
+
+	@Test
+	void jobEndpointsAreAdminOnly() {
+		ResponseEntity<String> jobs = restTemplate.exchange("/api/jobs", HttpMethod.GET, authorized(null), String.class);
+		assertThat(jobs.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+
+		ResponseEntity<String> submit = restTemplate.exchange("/api/jobs", HttpMethod.POST,
+				authorized(Map.of("type", "CLEANUP_COMPLETED", "parameters", Map.of("olderThanDays", 0))), String.class);
+		assertThat(submit.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void jwksPublishesSigningKeysWithCaching() {
+		ResponseEntity<Map<String, Object>> jwks = restTemplate.exchange("/.well-known/jwks.json", HttpMethod.GET,
+				null, JSON_OBJECT);
+		assertThat(jwks.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(jwks.getHeaders().getCacheControl()).contains("max-age");
+		List<Map<String, Object>> keys = (List<Map<String, Object>>) jwks.getBody().get("keys");
+		assertThat(keys).hasSizeGreaterThanOrEqualTo(2)
+				.allSatisfy(key -> assertThat(key).containsKeys("kid", "kty", "n", "e").containsEntry("use", "sig"));
+
+		HttpHeaders conditional = new HttpHeaders();
+		conditional.setIfNoneMatch(jwks.getHeaders().getETag());
+		ResponseEntity<String> notModified = restTemplate.exchange("/.well-known/jwks.json", HttpMethod.GET,
+				new HttpEntity<>(conditional), String.class);
+		assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+	}
+
+	private ResponseEntity<Map<String, Object>> refresh(String refreshToken) {
+		return restTemplate.exchange("/api/auth/refresh", HttpMethod.POST,
+				new HttpEntity<>(Map.of("refreshToken", refreshToken)), JSON_OBJECT);
+	}
+
+	private Object createTask(String title) {
+		ResponseEntity<Map<String, Object>> created = restTemplate.exchange("/api/tasks", HttpMethod.POST,
+				authorized(Map.of("title", title, "priority", "MEDIUM")), JSON_OBJECT);
+		assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		return created.getBody().get("id");
+	}
+
+	private HttpEntity<Object> ifMatch(String value) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(token);
+		headers.setIfMatch(value);
+		return new HttpEntity<>(null, headers);
+	}
+
+	private HttpEntity<Object> authorized(Object body) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(token);
+		return new HttpEntity<>(body, headers);
+	}
+}
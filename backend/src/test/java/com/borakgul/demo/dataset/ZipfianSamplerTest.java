@@ -0,0 +1,39 @@
+package com.borakgul.demo.dataset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZipfianSamplerTest {
+
+	@Test
+	void sameSeedProducesTheSameSequence() {
+		ZipfianSampler sampler = new ZipfianSampler(1000, 1.1);
+		SplittableRandom first = new SplittableRandom(42);
+		SplittableRandom second = new SplittableRandom(42);
+
+		int[] a = IntStream.range(0, 1000).map(i -> sampler.sample(first)).toArray();
+		int[] b = IntStream.range(0, 1000).map(i -> sampler.sample(second)).toArray();
+
+		assertThat(a).isEqualTo(b);
+	}
+
+	@Test
+	void lowRanksDominate() {
+		ZipfianSampler sampler = new ZipfianSampler(1000, 1.1);
+		SplittableRandom random = new SplittableRandom(7);
+		int[] counts = new int[sampler.size()];
+		for (int i = 0; i < 100_000; i++) {
+			counts[sampler.sample(random)]++;
+		}
+
+		// En yoğun %1'lik dilim örneklerin yaklaşık yarısını alır; tüm rank'lar aralık içinde kalır
+		int top = IntStream.range(0, 10).map(rank -> counts[rank]).sum();
+		assertThat(top).isGreaterThan(40_000);
+		assertThat(counts[0]).isGreaterThan(counts[1]).isGreaterThan(counts[100]);
+		assertThat(IntStream.of(counts).sum()).isEqualTo(100_000);
+	}
+}
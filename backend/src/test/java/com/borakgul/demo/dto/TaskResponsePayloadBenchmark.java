@@ -0,0 +1,86 @@
+package com.borakgul.demo.dto;
+
+import com.borakgul.demo.model.Priority;
+import com.borakgul.demo.model.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and serialization time of a task list page, JSON vs CBOR, raw and gzipped.
+ * Not picked up by the default surefire includes; run with:
+ * mvn test -Dtest=TaskResponsePayloadBenchmark
+ */
+class TaskResponsePayloadBenchmark {
+
+	private static final int ROWS = 1_000;
+	private static final int WARMUP_ROUNDS = 200;
+	private static final int MEASURED_ROUNDS = 500;
+
+	private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.build();
+	private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json()
+			.factory(new CBORFactory())
+			.featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.build();
+
+	@Test
+	void compareJsonAndCbor() throws IOException {
+		List<TaskResponse> page = samplePage();
+
+		byte[] json = jsonMapper.writeValueAsBytes(page);
+		byte[] cbor = cborMapper.writeValueAsBytes(page);
+		double jsonMicros = serializeMicros(jsonMapper, page);
+		double cborMicros = serializeMicros(cborMapper, page);
+
+		System.out.printf("%d rows%n", ROWS);
+		System.out.printf("JSON: %8d bytes, gzip %7d bytes, %8.1f us/op%n", json.length, gzip(json), jsonMicros);
+		System.out.printf("CBOR: %8d bytes, gzip %7d bytes, %8.1f us/op%n", cbor.length, gzip(cbor), cborMicros);
+
+		assertThat(cbor.length).isLessThan(json.length);
+	}
+
+	private double serializeMicros(ObjectMapper mapper, List<TaskResponse> page) throws IOException {
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			mapper.writeValueAsBytes(page);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			mapper.writeValueAsBytes(page);
+		}
+		return (System.nanoTime() - start) / 1_000.0 / MEASURED_ROUNDS;
+	}
+
+	private int gzip(byte[] payload) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(payload);
+		}
+		return out.size();
+	}
+
+	private List<TaskResponse> samplePage() {
+		LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+		List<TaskResponse> page = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			page.add(new TaskResponse((long) i, "Task " + i, "Description of task number " + i,
+					TaskStatus.values()[i % TaskStatus.values().length],
+					Priority.values()[i % Priority.values().length],
+					now.plusDays(i % 30), now.minusDays(i % 90), now.minusHours(i % 48),
+					i % 3 == 0, i % 7 == 0, (long) (i % 5)));
+		}
+		return page;
+	}
+}
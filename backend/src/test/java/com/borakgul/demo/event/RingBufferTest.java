@@ -0,0 +1,69 @@
+package com.borakgul.demo.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferTest {
+
+	@Test
+	void everyConsumerSeesEveryEventDespiteSmallBuffer() throws Exception {
+		RingBuffer<Integer> ringBuffer = new RingBuffer<>(8, WaitStrategy.of("yielding"));
+		int producers = 4;
+		int perProducer = 5_000;
+		int total = producers * perProducer;
+
+		List<List<Integer>> received = List.of(new ArrayList<>(), new ArrayList<>());
+		CountDownLatch done = new CountDownLatch(2);
+		List<EventProcessor<Integer>> processors = new ArrayList<>();
+		for (List<Integer> sink : received) {
+			processors.add(new EventProcessor<>("test", ringBuffer, (event, sequence, endOfBatch) -> {
+				sink.add(event);
+				if (sink.size() == total) {
+					done.countDown();
+				}
+			}, 16));
+		}
+		processors.forEach(processor -> new Thread(processor).start());
+
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			int base = p * perProducer;
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < perProducer; i++) {
+					assertThat(ringBuffer.publish(base + i, TimeUnit.SECONDS.toNanos(10))).isTrue();
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		processors.forEach(EventProcessor::halt);
+		for (List<Integer> sink : received) {
+			assertThat(sink).hasSize(total).doesNotHaveDuplicates();
+		}
+		// Tüm consumer'lar aynı yayın sırasını görür
+		assertThat(received.get(0)).isEqualTo(received.get(1));
+	}
+
+	@Test
+	void tryPublishFailsWhenSlowestConsumerIsAFullLapBehind() {
+		RingBuffer<Integer> ringBuffer = new RingBuffer<>(4, WaitStrategy.of("busy-spin"));
+		ringBuffer.addConsumer();
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(ringBuffer.tryPublish(i)).isTrue();
+		}
+		assertThat(ringBuffer.tryPublish(4)).isFalse();
+		assertThat(ringBuffer.highestPublished(0, ringBuffer.cursor())).isEqualTo(3);
+	}
+}
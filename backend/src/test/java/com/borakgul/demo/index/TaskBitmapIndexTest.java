@@ -0,0 +1,249 @@
+package com.borakgul.demo.index;
+
+import com.borakgul.demo.cache.CacheInvalidation;
+import com.borakgul.demo.dto.TaskFilter;
+import com.borakgul.demo.dto.TaskResponse;
+import com.borakgul.demo.event.TaskCreated;
+import com.borakgul.demo.event.TaskDeleted;
+import com.borakgul.demo.event.TaskSnapshot;
+import com.borakgul.demo.event.TaskUpdated;
+import com.borakgul.demo.model.Priority;
+import com.borakgul.demo.model.Task;
+import com.borakgul.demo.model.TaskStatus;
+import com.borakgul.demo.model.User;
+import com.borakgul.demo.repository.TaskQueryRepository;
+import com.borakgul.demo.repository.TaskRepository;
+import com.borakgul.demo.repository.UserRepository;
+import com.borakgul.demo.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Ayrı veritabanı: SQL karşılaştırmaları sadece bu testin task'larını görsün
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bitmap-index-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+class TaskBitmapIndexTest {
+
+	private static final int TASKS = 300;
+	private static final int LOAD_BATCH_SIZE = 64;
+	private static final Boolean[] COMPLETED_VALUES = {null, true, false};
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TaskQueryRepository taskQueryRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private TaskBitmapIndex applicationIndex;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<Long> ids = new ArrayList<>();
+
+	@BeforeEach
+	void seed() {
+		jdbcTemplate.update("DELETE FROM tasks");
+		List<User> owners = List.of(user(), user());
+		Random random = new Random(7);
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < TASKS; i++) {
+			Task task = new Task();
+			task.setTitle("indexed " + i);
+			task.setUser(owners.get(random.nextInt(owners.size())));
+			task.setStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)]);
+			task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+			task.setCompleted(random.nextBoolean());
+			tasks.add(task);
+		}
+		taskRepository.saveAll(tasks).forEach(task -> ids.add(task.getId()));
+	}
+
+	@Test
+	void everyEqualityFilterMatchesTheSqlResult() {
+		TaskBitmapIndex index = index(taskRepository);
+		index.rebuild();
+
+		assertThat(index.isReady()).isTrue();
+		assertMatchesSql(index);
+		Long ownerId = taskRepository.findById(ids.get(0)).orElseThrow().getUser().getId();
+		assertThat(index.select(null, null, null, ownerId).orElseThrow().page(0, TASKS, false))
+				.containsExactlyElementsOf(taskRepository.findAll(Sort.by("id")).stream()
+						.filter(task -> task.getUser().getId().equals(ownerId))
+						.map(Task::getId)
+						.toList());
+	}
+
+	@Test
+	void mutationsDuringRebuildAreReplayedOntoTheFreshCopy() {
+		Long updated = ids.get(1);
+		Long deleted = ids.get(2);
+		AtomicInteger loads = new AtomicInteger();
+		TaskBitmapIndex[] holder = new TaskBitmapIndex[1];
+
+		// İlk chunk okunduktan sonra, o chunk'taki iki task değişir; olaylar kurulum sürerken gelir
+		TaskBitmapIndex index = index(interceptIndexLoads(() -> {
+			if (loads.incrementAndGet() == 2) {
+				Task task = taskRepository.findById(updated).orElseThrow();
+				TaskSnapshot before = TaskSnapshot.of(task);
+				task.markAsCompleted();
+				holder[0].onEvent(new TaskUpdated(before, TaskSnapshot.of(taskRepository.save(task)), Instant.now()), 0, true);
+
+				TaskSnapshot removed = TaskSnapshot.of(taskRepository.findById(deleted).orElseThrow());
+				taskRepository.deleteById(deleted);
+				holder[0].onEvent(new TaskDeleted(removed, Instant.now()), 1, true);
+			}
+		}));
+		holder[0] = index;
+		index.rebuild();
+
+		assertThat(loads.get()).isGreaterThan(2);
+		assertThat(index.isReady()).isTrue();
+		assertThat(index.select(TaskStatus.DONE, null, true, null).orElseThrow().contains(updated)).isTrue();
+		assertThat(index.select(null, null, null, null).orElseThrow().contains(deleted)).isFalse();
+		assertMatchesSql(index);
+	}
+
+	@Test
+	void failedMutationFallsBackToSqlUntilTheNextRebuild() {
+		TaskBitmapIndex index = index(taskRepository);
+		index.rebuild();
+
+		Task outOfRange = taskRepository.findById(ids.get(0)).orElseThrow();
+		TaskSnapshot snapshot = TaskSnapshot.of(outOfRange);
+		index.onEvent(new TaskCreated(new TaskSnapshot(TaskIdBitmap.MAX_ID + 1, snapshot.ownerId(), snapshot.title(),
+				snapshot.status(), snapshot.priority(), snapshot.completed(), snapshot.dueDate(), snapshot.version()),
+				Instant.now()), 0, true);
+
+		assertThat(index.isReady()).isFalse();
+		assertThat(index.select(TaskStatus.TODO, null, null, null)).isEmpty();
+		assertThat(index.counts(null)).isEmpty();
+
+		index.rebuild();
+		assertThat(index.isReady()).isTrue();
+		assertMatchesSql(index);
+	}
+
+	@Test
+	void remoteInvalidationReloadsChangedRowsAndDropsDeletedOnes() {
+		TaskBitmapIndex index = index(taskRepository);
+		index.rebuild();
+		Long changed = ids.get(3);
+		Long deleted = ids.get(4);
+
+		// Başka bir node'un yazmaları: bu node'a olay gelmez, sadece invalidation mesajı gelir
+		jdbcTemplate.update("UPDATE tasks SET status = 'REVIEW', priority = 'URGENT', completed = false WHERE id = ?", changed);
+		jdbcTemplate.update("DELETE FROM tasks WHERE id = ?", deleted);
+		index.invalidate(CacheInvalidation.Type.TASK, Set.of(changed, deleted));
+
+		assertThat(index.select(TaskStatus.REVIEW, Priority.URGENT, false, null).orElseThrow().contains(changed)).isTrue();
+		assertThat(index.select(null, null, null, null).orElseThrow().contains(deleted)).isFalse();
+		assertMatchesSql(index);
+	}
+
+	@Test
+	void staleIndexEntryIsFilteredFromThePageButStillCounted() {
+		applicationIndex.rebuild();
+		TaskFilter todo = filter(TaskStatus.TODO, null, null);
+		PageRequest firstPage = PageRequest.of(0, 10, Sort.by("id"));
+		List<Long> expected = sqlIds(todo);
+		Long stale = expected.get(0);
+
+		// Index'in görmediği bir değişiklik: satır hydrate sırasında filtreye karşı yeniden doğrulanır
+		jdbcTemplate.update("UPDATE tasks SET status = 'DONE' WHERE id = ?", stale);
+		Page<TaskResponse> page = taskService.getTasksWithFilters(todo, firstPage);
+
+		assertThat(page.getContent()).extracting(TaskResponse::getId)
+				.doesNotContain(stale)
+				.containsExactlyElementsOf(expected.subList(1, 10));
+		// Toplam index kardinalitesidir; bir sonraki rebuild/invalidation'a kadar SQL'den bir fazla
+		assertThat(page.getTotalElements()).isEqualTo(expected.size());
+		assertThat(sqlIds(todo)).hasSize(expected.size() - 1);
+	}
+
+	private void assertMatchesSql(TaskBitmapIndex index) {
+		for (TaskStatus status : withNull(TaskStatus.values())) {
+			for (Priority priority : withNull(Priority.values())) {
+				for (Boolean completed : COMPLETED_VALUES) {
+					assertThat(index.select(status, priority, completed, null).orElseThrow().page(0, TASKS, false))
+							.as("status=%s priority=%s completed=%s", status, priority, completed)
+							.containsExactlyElementsOf(sqlIds(filter(status, priority, completed)));
+				}
+			}
+		}
+	}
+
+	private List<Long> sqlIds(TaskFilter filter) {
+		return transactionTemplate.execute(status -> taskQueryRepository
+				.findTasks(filter, PageRequest.of(0, TASKS, Sort.by("id")))
+				.map(Task::getId)
+				.getContent());
+	}
+
+	private TaskBitmapIndex index(TaskRepository repository) {
+		return new TaskBitmapIndex(repository, new SimpleMeterRegistry(), true, LOAD_BATCH_SIZE);
+	}
+
+	// findIndexRowsAfter her çağrıldığında önce hook çalışır; diğer metotlar gerçek repository'ye gider
+	private TaskRepository interceptIndexLoads(Runnable hook) {
+		return (TaskRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{TaskRepository.class},
+				(proxy, method, args) -> {
+					if (method.getName().equals("findIndexRowsAfter")) {
+						hook.run();
+					}
+					try {
+						return method.invoke(taskRepository, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+	private User user() {
+		return userRepository.save(User.builder()
+				.name("Index User")
+				.email("index-" + UUID.randomUUID() + "@example.com")
+				.password("password")
+				.build());
+	}
+
+	private static TaskFilter filter(TaskStatus status, Priority priority, Boolean completed) {
+		return new TaskFilter(status, priority, completed, null, null, null, null);
+	}
+
+	@SafeVarargs
+	private static <T> List<T> withNull(T... values) {
+		List<T> all = new ArrayList<>(Arrays.asList(values));
+		all.add(null);
+		return all;
+	}
+}
@@ -0,0 +1,74 @@
+package com.borakgul.demo.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskIdBitmapTest {
+
+	@Test
+	void matchesSortedSetAcrossArrayAndBitmapContainers() {
+		Random random = new Random(42);
+		TaskIdBitmap left = new TaskIdBitmap();
+		TaskIdBitmap right = new TaskIdBitmap();
+		NavigableSet<Long> leftIds = new TreeSet<>();
+		NavigableSet<Long> rightIds = new TreeSet<>();
+
+		// İlk container yoğun (bitmap), ikincisi seyrek (array), üçüncüsü ikisi arasında gidip gelir
+		for (int i = 0; i < 60_000; i++) {
+			long id = random.nextInt(3 * 65_536);
+			long dense = random.nextInt(65_536);
+			if (random.nextInt(4) == 0) {
+				left.remove(id);
+				leftIds.remove(id);
+			} else {
+				left.add(id);
+				leftIds.add(id);
+			}
+			right.add(dense);
+			rightIds.add(dense);
+			if (i % 3 == 0) {
+				right.add(dense + 2 * 65_536);
+				rightIds.add(dense + 2 * 65_536);
+			}
+		}
+
+		assertThat(left.cardinality()).isEqualTo(leftIds.size());
+		assertThat(left.page(0, Integer.MAX_VALUE, false)).containsExactlyElementsOf(leftIds);
+		assertThat(left.page(0, Integer.MAX_VALUE, true)).containsExactlyElementsOf(leftIds.descendingSet());
+
+		NavigableSet<Long> expected = new TreeSet<>(leftIds);
+		expected.retainAll(rightIds);
+		assertThat(TaskIdBitmap.and(left, right).page(0, Integer.MAX_VALUE, false)).containsExactlyElementsOf(expected);
+		assertThat(TaskIdBitmap.andCardinality(left, right)).isEqualTo(expected.size());
+
+		List<Long> ascending = new ArrayList<>(leftIds);
+		int middle = ascending.size() / 2;
+		assertThat(left.page(middle, 25, false)).isEqualTo(ascending.subList(middle, middle + 25));
+		List<Long> descending = new ArrayList<>(leftIds.descendingSet());
+		assertThat(left.page(middle, 25, true)).isEqualTo(descending.subList(middle, middle + 25));
+		assertThat(left.page(leftIds.size(), 10, false)).isEmpty();
+	}
+
+	@Test
+	void removingEverythingLeavesAnEmptyBitmap() {
+		TaskIdBitmap bitmap = new TaskIdBitmap();
+		for (long id = 1; id <= 10_000; id++) {
+			bitmap.add(id);
+		}
+		TaskIdBitmap copy = bitmap.copy();
+		for (long id = 1; id <= 10_000; id++) {
+			bitmap.remove(id);
+		}
+
+		assertThat(bitmap.isEmpty()).isTrue();
+		assertThat(copy.cardinality()).isEqualTo(10_000);
+		assertThat(copy.contains(TaskIdBitmap.MAX_ID)).isFalse();
+	}
+}
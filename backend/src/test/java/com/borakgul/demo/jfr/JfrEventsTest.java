@@ -0,0 +1,78 @@
+package com.borakgul.demo.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = "app.rate-limit.enabled=false")
+class JfrEventsTest {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Test
+	void requestPhasesAreRecorded() throws Exception {
+		String email = "jfr-" + UUID.randomUUID() + "@example.com";
+		restTemplate.postForEntity("/api/auth/register", Map.of("name", "Jfr Test", "email", email, "password", "password123"), String.class);
+		ResponseEntity<Map<String, Object>> login = restTemplate.exchange("/api/auth/login", HttpMethod.POST,
+				new HttpEntity<>(Map.of("email", email, "password", "password123")), new ParameterizedTypeReference<>() {
+				});
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth((String) login.getBody().get("token"));
+
+		Path file = Files.createTempFile("task-api", ".jfr");
+		try (Recording recording = new Recording()) {
+			for (Class<? extends jdk.jfr.Event> type : List.of(JwtAuthenticationEvent.class, ServiceCallEvent.class,
+					SqlEvent.class, SerializationEvent.class)) {
+				recording.enable(type).withThreshold(Duration.ZERO);
+			}
+			recording.start();
+			ResponseEntity<String> tasks = restTemplate.exchange("/api/tasks/mine", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+			assertThat(tasks.getStatusCode()).isEqualTo(HttpStatus.OK);
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		Files.deleteIfExists(file);
+		assertThat(events).anySatisfy(event -> {
+			assertThat(event.getEventType().getName()).isEqualTo("com.borakgul.demo.JwtAuthentication");
+			assertThat(event.getString("outcome")).isEqualTo("authenticated");
+			assertThat(event.getString("endpoint")).isEqualTo("GET /api/tasks/mine");
+		});
+		assertThat(events).anySatisfy(event -> {
+			assertThat(event.getEventType().getName()).isEqualTo("com.borakgul.demo.ServiceCall");
+			assertThat(event.getString("service")).isEqualTo("TaskService");
+			assertThat(event.getString("endpoint")).isEqualTo("GET /api/tasks/mine");
+			assertThat(event.getLong("userId")).isPositive();
+		});
+		assertThat(events).anySatisfy(event -> {
+			assertThat(event.getEventType().getName()).isEqualTo("com.borakgul.demo.Sql");
+			assertThat(event.getString("sql")).containsIgnoringCase("tasks");
+		});
+		assertThat(events).anySatisfy(event -> {
+			assertThat(event.getEventType().getName()).isEqualTo("com.borakgul.demo.Serialization");
+			assertThat(event.getLong("bytes")).isPositive();
+		});
+	}
+}
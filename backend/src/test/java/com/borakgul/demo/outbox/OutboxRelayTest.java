@@ -0,0 +1,170 @@
+package com.borakgul.demo.outbox;
+
+import com.borakgul.demo.exception.LeaseLostException;
+import com.borakgul.demo.model.OutboxEvent;
+import com.borakgul.demo.repository.OutboxEventRepository;
+import com.borakgul.demo.repository.SchedulerLeaseRepository;
+import com.borakgul.demo.schedule.Lease;
+import com.borakgul.demo.schedule.LeaseManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Ayrı veritabanı: diğer test context'lerinin relay'leri bu olayları yayınlamasın
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:outbox-relay-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+		"app.outbox.poll-interval-ms=3600000"
+})
+class OutboxRelayTest {
+
+	private static final String RELAY_LEASE = "outbox-relay";
+	private static final int BATCH_SIZE = 3;
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private SchedulerLeaseRepository leaseRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private TaskEventOutbox taskEventOutbox;
+
+	@Autowired
+	private OutboxRelay applicationRelay;
+
+	private final List<OutboxRelay> relays = new ArrayList<>();
+
+	@BeforeEach
+	void takeOverRelayLease() throws InterruptedException {
+		// Uygulamanın relay'i açılıştaki tek poll'unda lease'i alır; testteki relay'ler devralabilsin diye bırakılır
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (leaseRepository.findById(RELAY_LEASE).map(lease -> lease.getFencingToken() == 0).orElse(true)) {
+			assertThat(System.nanoTime()).as("application relay did not poll").isLessThan(deadline);
+			Thread.sleep(20);
+		}
+		applicationRelay.releaseRelayLease();
+		outboxEventRepository.deleteAllInBatch();
+	}
+
+	@AfterEach
+	void releaseLeases() {
+		relays.forEach(OutboxRelay::releaseRelayLease);
+	}
+
+	@Test
+	void pendingEventsAreDeliveredInOrderedBatches() {
+		List<Long> taskIds = LongStream.rangeClosed(1, 7).boxed().toList();
+		transactionTemplate.executeWithoutResult(status -> taskEventOutbox.tasksDeleted(taskIds));
+		RecordingSink sink = new RecordingSink(0);
+
+		relay(leaseManager("relay-a", 30_000), sink).poll();
+
+		assertThat(sink.batches).extracting(List::size).containsExactly(3, 3, 1);
+		List<OutboxMessage> delivered = sink.batches.stream().flatMap(List::stream).toList();
+		assertThat(delivered).extracting(OutboxMessage::aggregateId).containsExactlyElementsOf(taskIds);
+		assertThat(delivered).extracting(OutboxMessage::eventType).containsOnly(TaskEventOutbox.TASK_DELETED);
+		assertThat(delivered).extracting(OutboxMessage::id).isSorted();
+		assertThat(outboxEventRepository.countByPublishedAtIsNull()).isZero();
+	}
+
+	@Test
+	void failedBatchIsMarkedAndRetriedBeforeLaterEvents() {
+		transactionTemplate.executeWithoutResult(status -> taskEventOutbox.tasksDeleted(List.of(1L, 2L, 3L, 4L)));
+		RecordingSink sink = new RecordingSink(1);
+		OutboxRelay relay = relay(leaseManager("relay-a", 30_000), sink);
+
+		assertThat(relay.relayBatch()).isZero();
+		List<OutboxEvent> failed = outboxEventRepository.findAll();
+		assertThat(failed).allSatisfy(event -> assertThat(event.getPublishedAt()).isNull());
+		assertThat(failed).filteredOn(event -> event.getAttempts() == 1)
+				.hasSize(BATCH_SIZE)
+				.allSatisfy(event -> assertThat(event.getLastError()).isEqualTo("sink unavailable"));
+
+		// Sıradaki tur aynı batch'i baştan dener; sonraki olaylara geçilmez
+		assertThat(relay.relayBatch()).isEqualTo(BATCH_SIZE);
+		assertThat(sink.batches.get(1)).isEqualTo(sink.batches.get(0));
+		assertThat(outboxEventRepository.findAllById(sink.batches.get(1).stream().map(OutboxMessage::id).toList()))
+				.allSatisfy(event -> {
+					assertThat(event.getPublishedAt()).isNotNull();
+					assertThat(event.getAttempts()).isEqualTo(2);
+					assertThat(event.getLastError()).isNull();
+				});
+		assertThat(outboxEventRepository.countByPublishedAtIsNull()).isEqualTo(1);
+	}
+
+	@Test
+	void relayThatLostItsLeaseCannotMarkTheBatchPublished() throws InterruptedException {
+		RecordingSink sink = new RecordingSink(0);
+		OutboxRelay stale = relay(leaseManager("slow", 1), sink);
+		stale.poll();
+		Thread.sleep(5);
+		Lease current = leaseManager("fast", 30_000).tryAcquire(RELAY_LEASE, Duration.ZERO).orElseThrow();
+		transactionTemplate.executeWithoutResult(status -> taskEventOutbox.tasksDeleted(List.of(1L, 2L)));
+
+		// Sink'e iletim olur (at-least-once) ama published işareti fence ile geri alınır
+		assertThatThrownBy(stale::relayBatch).isInstanceOf(LeaseLostException.class);
+		assertThat(sink.batches).hasSize(1);
+		assertThat(outboxEventRepository.countByPublishedAtIsNull()).isEqualTo(2);
+
+		// Lease'i kaybeden node sonraki turlarda poll etmez
+		stale.poll();
+		assertThat(sink.batches).hasSize(1);
+		leaseManager("fast", 30_000).release(current);
+	}
+
+	private OutboxRelay relay(LeaseManager leaseManager, OutboxSink sink) {
+		OutboxRelay relay = new OutboxRelay(outboxEventRepository, transactionTemplate, leaseManager, List.of(sink),
+				new SimpleMeterRegistry(), List.of(sink.name()), BATCH_SIZE, 10, 24);
+		relays.add(relay);
+		return relay;
+	}
+
+	private LeaseManager leaseManager(String nodeId, long ttlMs) {
+		return new LeaseManager(leaseRepository, transactionManager, new SimpleMeterRegistry(), nodeId, ttlMs);
+	}
+
+	private static class RecordingSink implements OutboxSink {
+
+		private final List<List<OutboxMessage>> batches = new CopyOnWriteArrayList<>();
+		private int failuresLeft;
+
+		RecordingSink(int failures) {
+			this.failuresLeft = failures;
+		}
+
+		@Override
+		public String name() {
+			return "recording";
+		}
+
+		@Override
+		public void publish(List<OutboxMessage> batch) throws Exception {
+			batches.add(batch);
+			if (failuresLeft > 0) {
+				failuresLeft--;
+				throw new IllegalStateException("sink unavailable");
+			}
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.borakgul.demo.profiling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProfilingServiceTest {
+
+	private final ProfilingService profilingService = new ProfilingService(1, 5, 16 * 1024 * 1024, 10);
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void summaryContainsCpuSamplesAndSecondProfileIsRejectedWhileRunning() throws Exception {
+		CompletableFuture<Optional<ProfileOutput>> first = CompletableFuture.supplyAsync(() -> {
+			try {
+				return profilingService.profile(2, ProfileKind.SUMMARY);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		// Kayıt sürerken CPU örneği çıksın diye meşgul döngü
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+		while (!profilingService.isRunning() && System.nanoTime() < deadline) {
+			Thread.onSpinWait();
+		}
+		assertThat(profilingService.profile(1, ProfileKind.CPU)).isEmpty();
+		busy(1000);
+
+		ProfileOutput output = first.get(10, TimeUnit.SECONDS).orElseThrow();
+		Map<String, Object> summary = (Map<String, Object>) output.body();
+		assertThat(summary.get("seconds")).isEqualTo(2);
+		assertThat((Long) ((Map<String, Object>) summary.get("cpu")).get("samples")).isPositive();
+		assertThat(profilingService.isRunning()).isFalse();
+	}
+
+	@Test
+	void durationIsBounded() {
+		assertThatThrownBy(() -> profilingService.profile(6, ProfileKind.JFR))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> ProfileKind.fromPath("flame"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static long busy(long millis) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+		long sum = 0;
+		while (System.nanoTime() < deadline) {
+			sum += Long.toHexString(sum).hashCode();
+		}
+		return sum;
+	}
+}
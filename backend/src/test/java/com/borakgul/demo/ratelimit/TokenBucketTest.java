@@ -0,0 +1,91 @@
+package com.borakgul.demo.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+	private static final RateLimitPolicy POLICY = new RateLimitPolicy("auth", 10, Duration.ofSeconds(60));
+
+	@Test
+	void burstUpToCapacityThenOneTokenPerEmissionInterval() {
+		long start = 1_000 * SECOND;
+		TokenBucket bucket = new TokenBucket(POLICY, start);
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(bucket.tryConsume(start)).isZero();
+		}
+		// 60 s / 10 = 6 s'de bir token
+		assertThat(bucket.tryConsume(start)).isEqualTo(6 * SECOND);
+		assertThat(bucket.tryConsume(start + 2 * SECOND)).isEqualTo(4 * SECOND);
+
+		assertThat(bucket.tryConsume(start + 6 * SECOND)).isZero();
+		assertThat(bucket.tryConsume(start + 6 * SECOND)).isEqualTo(6 * SECOND);
+	}
+
+	@Test
+	void idleTimeRefillsButNeverBeyondCapacity() {
+		long start = 1_000 * SECOND;
+		TokenBucket bucket = new TokenBucket(POLICY, start);
+		for (int i = 0; i < 10; i++) {
+			bucket.tryConsume(start);
+		}
+
+		// Bir saat boşta kalsa da burst capacity ile sınırlı
+		long later = start + 3_600 * SECOND;
+		int allowed = 0;
+		while (bucket.tryConsume(later) == 0) {
+			allowed++;
+		}
+		assertThat(allowed).isEqualTo(10);
+
+		// Rejected denemeler bucket'ı tüketmez: 18 s sonra tam 3 token
+		assertThat(countAllowed(bucket, later + 18 * SECOND)).isEqualTo(3);
+	}
+
+	@Test
+	void concurrentConsumersNeverExceedCapacity() throws InterruptedException {
+		long now = 1_000 * SECOND;
+		TokenBucket bucket = new TokenBucket(new RateLimitPolicy("api", 100, Duration.ofSeconds(10)), now);
+		AtomicInteger allowed = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		for (int thread = 0; thread < 8; thread++) {
+			executor.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int i = 0; i < 100; i++) {
+					if (bucket.tryConsume(now) == 0) {
+						allowed.incrementAndGet();
+					}
+				}
+			});
+		}
+		start.countDown();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(allowed).hasValue(100);
+	}
+
+	private static int countAllowed(TokenBucket bucket, long now) {
+		int allowed = 0;
+		while (bucket.tryConsume(now) == 0) {
+			allowed++;
+		}
+		return allowed;
+	}
+}
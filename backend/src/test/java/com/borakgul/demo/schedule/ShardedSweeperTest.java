@@ -0,0 +1,84 @@
+package com.borakgul.demo.schedule;
+
+import com.borakgul.demo.exception.LeaseLostException;
+import com.borakgul.demo.repository.SchedulerLeaseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ShardedSweeperTest {
+
+	private static final long MAX_ID = 1000;
+
+	@Autowired
+	private SchedulerLeaseRepository leaseRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void nodesShareShardsAndEveryIdIsSweptExactlyOnce() {
+		String name = "sweep-" + UUID.randomUUID();
+		ShardedSweeper nodeA = new ShardedSweeper(leaseManager("node-a", 30_000), leaseRepository, transactionTemplate);
+		ShardedSweeper nodeB = new ShardedSweeper(leaseManager("node-b", 30_000), leaseRepository, transactionTemplate);
+		List<Long> swept = new ArrayList<>();
+		ShardedSweeper.RangeWorker worker = (afterId, upToId) -> {
+			long last = Math.min(Math.min(upToId, MAX_ID), afterId + 64);
+			if (last <= afterId) {
+				return null;
+			}
+			for (long id = afterId + 1; id <= last; id++) {
+				swept.add(id);
+			}
+			return last;
+		};
+
+		// Küçük chunk bütçeleriyle iki node sırayla tetiklenir; yarım kalan shard'lar checkpoint'ten devam eder
+		List<SweepResult> results = new ArrayList<>();
+		for (int round = 0; round < 10 && results.stream().noneMatch(SweepResult::runCompleted); round++) {
+			results.add(nodeA.sweep(name, 4, Duration.ofHours(1), 3, () -> MAX_ID, worker));
+			results.add(nodeB.sweep(name, 4, Duration.ofHours(1), 3, () -> MAX_ID, worker));
+		}
+
+		assertThat(results).anyMatch(SweepResult::runCompleted);
+		assertThat(swept).hasSize((int) MAX_ID).doesNotHaveDuplicates();
+		// Tamamlanan run minInterval içinde yeniden başlamaz
+		assertThat(nodeA.sweep(name, 4, Duration.ofHours(1), 3, () -> MAX_ID, worker).joined()).isFalse();
+	}
+
+	@Test
+	void expiredLeaseIsFencedOffAfterAnotherNodeTakesOver() throws InterruptedException {
+		String name = "lease-" + UUID.randomUUID();
+		LeaseManager slow = leaseManager("slow", 1);
+		LeaseManager fast = leaseManager("fast", 30_000);
+
+		Lease stale = slow.tryAcquire(name, Duration.ZERO).orElseThrow();
+		Thread.sleep(5);
+		Lease current = fast.tryAcquire(name, Duration.ZERO).orElseThrow();
+
+		assertThat(current.token()).isGreaterThan(stale.token());
+		assertThat(slow.tryAcquire(name, Duration.ZERO)).isEmpty();
+		assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> slow.fence(stale)))
+				.isInstanceOf(LeaseLostException.class);
+		transactionTemplate.executeWithoutResult(status -> fast.fence(current));
+	}
+
+	private LeaseManager leaseManager(String nodeId, long ttlMs) {
+		return new LeaseManager(leaseRepository, transactionManager, new SimpleMeterRegistry(), nodeId, ttlMs);
+	}
+}
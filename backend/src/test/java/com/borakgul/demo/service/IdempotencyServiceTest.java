@@ -0,0 +1,53 @@
+package com.borakgul.demo.service;
+
+import com.borakgul.demo.exception.IdempotencyKeyException;
+import com.borakgul.demo.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+
+	private final IdempotencyService idempotencyService = new IdempotencyService(100, 60, 1000);
+
+	@Test
+	void replaysStoredResponseWithoutRunningActionAgain() {
+		AtomicInteger calls = new AtomicInteger();
+
+		ResponseEntity<String> first = idempotencyService.execute("key-1", "POST /api/tasks", "body",
+				() -> new ResponseEntity<>("created-" + calls.incrementAndGet(), HttpStatus.CREATED));
+		ResponseEntity<String> retry = idempotencyService.execute("key-1", "POST /api/tasks", "body",
+				() -> new ResponseEntity<>("created-" + calls.incrementAndGet(), HttpStatus.CREATED));
+
+		assertThat(calls).hasValue(1);
+		assertThat(retry.getBody()).isEqualTo(first.getBody());
+		assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+	}
+
+	@Test
+	void rejectsKeyReusedForDifferentPayload() {
+		idempotencyService.execute("key-2", "POST /api/tasks", "a", () -> ResponseEntity.ok("a"));
+
+		assertThatThrownBy(() -> idempotencyService.execute("key-2", "POST /api/tasks", "b", () -> ResponseEntity.ok("b")))
+				.isInstanceOf(IdempotencyKeyException.class);
+	}
+
+	@Test
+	void failedRequestsAreNotStored() {
+		AtomicInteger calls = new AtomicInteger();
+
+		assertThatThrownBy(() -> idempotencyService.execute("key-3", "DELETE /api/tasks/1", null, () -> {
+			calls.incrementAndGet();
+			throw new NotFoundException("Task", 1L);
+		})).isInstanceOf(NotFoundException.class);
+		idempotencyService.execute("key-3", "DELETE /api/tasks/1", null, () -> ResponseEntity.ok(calls.incrementAndGet()));
+
+		assertThat(calls).hasValue(2);
+	}
+}
@@ -0,0 +1,206 @@
+package com.borakgul.demo.service;
+
+import com.borakgul.demo.dto.CreateJobRequest;
+import com.borakgul.demo.job.ChunkResult;
+import com.borakgul.demo.job.JobHandler;
+import com.borakgul.demo.model.Job;
+import com.borakgul.demo.model.JobStatus;
+import com.borakgul.demo.model.JobType;
+import com.borakgul.demo.repository.JobRepository;
+import com.borakgul.demo.repository.SchedulerLeaseRepository;
+import com.borakgul.demo.schedule.LeaseManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JobServiceTest {
+
+	private static final int CHUNK_SIZE = 10;
+	private static final long LAST_ID = 100;
+
+	@Autowired
+	private JobRepository jobRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private SchedulerLeaseRepository leaseRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final List<JobService> services = new ArrayList<>();
+
+	@AfterEach
+	void shutdown() {
+		services.forEach(JobService::shutdown);
+	}
+
+	@Test
+	void stoppedJobResumesFromItsLastCommittedCheckpoint() throws Exception {
+		Set<Long> seen = ConcurrentHashMap.newKeySet();
+		List<Long> duplicates = new CopyOnWriteArrayList<>();
+		SyntheticRangeHandler firstRun = new SyntheticRangeHandler(seen, duplicates, 3);
+		JobService firstNode = jobService("node-a", firstRun);
+
+		Long jobId = firstNode.submit(new CreateJobRequest(JobType.RECOMPUTE_OVERDUE, Map.of())).getId();
+		assertThat(firstRun.paused.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// Node duruyor: worker interrupt edilir, 3. chunk commit edilir ve döngü checkpoint'te bırakır
+		firstNode.shutdown();
+		Job stopped = awaitJob(jobId, job -> job.getCheckpoint() == 3L * CHUNK_SIZE);
+		assertThat(stopped.getStatus()).isEqualTo(JobStatus.RUNNING);
+		assertThat(stopped.getProcessedCount()).isEqualTo(3L * CHUNK_SIZE);
+
+		SyntheticRangeHandler secondRun = new SyntheticRangeHandler(seen, duplicates, -1);
+		jobService("node-b", secondRun).resumeUnfinishedJobs();
+
+		Job completed = awaitJob(jobId, job -> job.getStatus().isFinished());
+		assertThat(completed.getStatus()).isEqualTo(JobStatus.COMPLETED);
+		assertThat(completed.getProcessedCount()).isEqualTo(LAST_ID);
+		assertThat(completed.getAffectedCount()).isEqualTo(LAST_ID);
+		assertThat(secondRun.chunkStarts).first().isEqualTo(3L * CHUNK_SIZE);
+		assertThat(seen).containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, LAST_ID).boxed().toList());
+		assertThat(duplicates).isEmpty();
+	}
+
+	@Test
+	void jobClaimedByOneNodeIsNotResumedByAnother() throws Exception {
+		Set<Long> seen = ConcurrentHashMap.newKeySet();
+		List<Long> duplicates = new CopyOnWriteArrayList<>();
+		SyntheticRangeHandler owner = new SyntheticRangeHandler(seen, duplicates, 2);
+		JobService ownerNode = jobService("node-a", owner);
+
+		Long jobId = ownerNode.submit(new CreateJobRequest(JobType.RECOMPUTE_OVERDUE, Map.of())).getId();
+		assertThat(owner.paused.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// Başka bir replica açılırken yarım kalan job'ları tarar; lease node-a'da olduğu için atlar
+		SyntheticRangeHandler other = new SyntheticRangeHandler(seen, duplicates, -1);
+		JobService otherNode = jobService("node-b", other);
+		otherNode.resumeUnfinishedJobs();
+		owner.resume.countDown();
+
+		Job completed = awaitJob(jobId, job -> job.getStatus().isFinished());
+		otherNode.shutdown();
+		assertThat(completed.getStatus()).isEqualTo(JobStatus.COMPLETED);
+		assertThat(completed.getProcessedCount()).isEqualTo(LAST_ID);
+		assertThat(other.chunkStarts).isEmpty();
+		assertThat(duplicates).isEmpty();
+	}
+
+	@Test
+	void cancelDuringChunkRollsItBackAndStopsAtTheCheckpoint() throws Exception {
+		SyntheticRangeHandler handler = new SyntheticRangeHandler(ConcurrentHashMap.newKeySet(), new CopyOnWriteArrayList<>(), 2);
+		JobService jobService = jobService("node-a", handler);
+
+		Long jobId = jobService.submit(new CreateJobRequest(JobType.RECOMPUTE_OVERDUE, Map.of())).getId();
+		assertThat(handler.paused.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// 2. chunk işlenirken cancel gelir: chunk'ın checkpoint yazımı version çakışmasıyla rollback olur
+		jobService.cancel(jobId);
+		handler.resume.countDown();
+
+		Job cancelled = awaitJob(jobId, job -> job.getStatus().isFinished());
+		assertThat(cancelled.getStatus()).isEqualTo(JobStatus.CANCELLED);
+		assertThat(cancelled.getCheckpoint()).isEqualTo((long) CHUNK_SIZE);
+		assertThat(cancelled.getProcessedCount()).isEqualTo((long) CHUNK_SIZE);
+		assertThat(handler.chunkStarts).containsExactly(0L, (long) CHUNK_SIZE);
+	}
+
+	private JobService jobService(String nodeId, JobHandler handler) {
+		LeaseManager leaseManager = new LeaseManager(leaseRepository, transactionManager, new SimpleMeterRegistry(), nodeId, 30_000);
+		JobService jobService = new JobService(jobRepository, transactionTemplate, leaseManager, objectMapper,
+				List.of(handler), 1, CHUNK_SIZE);
+		services.add(jobService);
+		return jobService;
+	}
+
+	private Job awaitJob(Long jobId, Predicate<Job> condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		Job job = jobRepository.findById(jobId).orElseThrow();
+		while (!condition.test(job)) {
+			assertThat(System.nanoTime()).as("job %d did not reach expected state: %s", jobId, job.getStatus())
+					.isLessThan(deadline);
+			Thread.sleep(20);
+			job = jobRepository.findById(jobId).orElseThrow();
+		}
+		return job;
+	}
+
+	/**
+	 * 1..LAST_ID aralığını checkpoint'ten itibaren chunk chunk "işler"; pauseAfterChunks. chunk'ta
+	 * sonucu dönmeden önce bekler (node'un durdurulması veya cancel'ı simüle etmek için)
+	 */
+	private static class SyntheticRangeHandler implements JobHandler {
+
+		private final Set<Long> seen;
+		private final List<Long> duplicates;
+		private final int pauseAfterChunks;
+		private final List<Long> chunkStarts = new CopyOnWriteArrayList<>();
+		private final CountDownLatch paused = new CountDownLatch(1);
+		private final CountDownLatch resume = new CountDownLatch(1);
+
+		SyntheticRangeHandler(Set<Long> seen, List<Long> duplicates, int pauseAfterChunks) {
+			this.seen = seen;
+			this.duplicates = duplicates;
+			this.pauseAfterChunks = pauseAfterChunks;
+		}
+
+		@Override
+		public JobType type() {
+			return JobType.RECOMPUTE_OVERDUE;
+		}
+
+		@Override
+		public Long estimateTotal(Map<String, Object> parameters) {
+			return LAST_ID;
+		}
+
+		@Override
+		public ChunkResult processChunk(Job job, Map<String, Object> parameters, int chunkSize) {
+			long from = job.getCheckpoint() != null ? job.getCheckpoint() : 0L;
+			if (from >= LAST_ID) {
+				return ChunkResult.done();
+			}
+			chunkStarts.add(from);
+			long to = Math.min(from + chunkSize, LAST_ID);
+			for (long id = from + 1; id <= to; id++) {
+				if (!seen.add(id)) {
+					duplicates.add(id);
+				}
+			}
+			if (chunkStarts.size() == pauseAfterChunks) {
+				paused.countDown();
+				try {
+					resume.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return new ChunkResult((int) (to - from), to, (int) (to - from));
+		}
+	}
+}
@@ -0,0 +1,175 @@
+package com.borakgul.demo.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightServiceTest {
+
+	private static final int CALLERS = 8;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final SingleFlightService singleFlight = new SingleFlightService(meterRegistry, 5_000);
+	private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentCallersShareOneExecutionAndTheKeyIsReleased() throws Exception {
+		String key = SingleFlightService.key("user:1", "getAllTasks");
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		List<Object> leaderResult = List.of("task-1", "task-2");
+
+		List<Future<Object>> results = submitAll(key, () -> {
+			calls.incrementAndGet();
+			await(release);
+			return leaderResult;
+		});
+		awaitFollowers(CALLERS - 1);
+		release.countDown();
+
+		for (Future<Object> result : results) {
+			assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(leaderResult);
+		}
+		assertThat(calls).hasValue(1);
+		assertThat(inFlight()).isZero();
+
+		// Sonuç cache'lenmez: sonraki çağrı yeniden çalışır
+		assertThat(singleFlight.execute(key, () -> calls.incrementAndGet())).isEqualTo(2);
+	}
+
+	@Test
+	void leaderExceptionReachesEveryCaller() throws Exception {
+		String key = SingleFlightService.key("user:1", "getOverdueTasks");
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		IllegalStateException failure = new IllegalStateException("database unavailable");
+
+		List<Future<Object>> results = submitAll(key, () -> {
+			calls.incrementAndGet();
+			await(release);
+			throw failure;
+		});
+		awaitFollowers(CALLERS - 1);
+		release.countDown();
+
+		for (Future<Object> result : results) {
+			assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCause(failure);
+		}
+		assertThat(calls).hasValue(1);
+		assertThat(inFlight()).isZero();
+	}
+
+	@Test
+	void leaderErrorIsPropagatedInsteadOfLeavingFollowersWaiting() throws Exception {
+		String key = SingleFlightService.key("user:1", "getTaskStatistics");
+		CountDownLatch release = new CountDownLatch(1);
+		StackOverflowError failure = new StackOverflowError("recursive mapping");
+
+		List<Future<Object>> results = submitAll(key, () -> {
+			await(release);
+			throw failure;
+		});
+		awaitFollowers(CALLERS - 1);
+		release.countDown();
+
+		// Follower'lar timeout'u (5 sn) beklemeden leader'ın Error'unu alır
+		for (Future<Object> result : results) {
+			assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS)).hasCause(failure);
+		}
+		assertThat(inFlight()).isZero();
+	}
+
+	@Test
+	void followerFallsBackToItsOwnQueryWhenTheLeaderHangs() throws Exception {
+		SingleFlightService impatient = new SingleFlightService(meterRegistry, 50);
+		String key = SingleFlightService.key("user:1", "getAllTasks");
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		Supplier<Object> loader = () -> {
+			if (calls.incrementAndGet() == 1) {
+				await(release);
+				return "leader";
+			}
+			return "fallback";
+		};
+
+		Future<Object> leader = executor.submit(() -> impatient.execute(key, loader));
+		while (calls.get() == 0) {
+			Thread.sleep(1);
+		}
+		assertThat(impatient.execute(key, loader)).isEqualTo("fallback");
+		assertThat(meterRegistry.counter("tasks.read.singleflight", "role", "fallback").count()).isEqualTo(1);
+
+		release.countDown();
+		assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+	}
+
+	@Test
+	void differentCallerScopesDoNotShareResults() throws Exception {
+		CountDownLatch bothStarted = new CountDownLatch(2);
+		Future<Object> first = executor.submit(() -> singleFlight.execute(
+				SingleFlightService.key("user:1", "getAllTasks"), () -> {
+					bothStarted.countDown();
+					await(bothStarted);
+					return "user-1";
+				}));
+		Future<Object> second = executor.submit(() -> singleFlight.execute(
+				SingleFlightService.key("user:2", "getAllTasks"), () -> {
+					bothStarted.countDown();
+					await(bothStarted);
+					return "user-2";
+				}));
+
+		// İki loader aynı anda çalışıyor olmalı; biri diğerini beklese latch hiç açılmazdı
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("user-1");
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("user-2");
+		assertThat(meterRegistry.counter("tasks.read.singleflight", "role", "follower").count()).isZero();
+	}
+
+	private List<Future<Object>> submitAll(String key, Supplier<Object> loader) {
+		List<Future<Object>> results = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			results.add(executor.submit(() -> singleFlight.execute(key, loader)));
+		}
+		return results;
+	}
+
+	private void awaitFollowers(int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.counter("tasks.read.singleflight", "role", "follower").count() < expected) {
+			assertThat(System.nanoTime()).isLessThan(deadline);
+			Thread.sleep(1);
+		}
+	}
+
+	private double inFlight() {
+		return meterRegistry.get("tasks.read.singleflight.in-flight").gauge().value();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
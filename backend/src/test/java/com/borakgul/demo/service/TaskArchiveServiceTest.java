@@ -0,0 +1,151 @@
+package com.borakgul.demo.service;
+
+import com.borakgul.demo.model.Task;
+import com.borakgul.demo.model.User;
+import com.borakgul.demo.repository.ArchivedTaskRepository;
+import com.borakgul.demo.repository.TaskRepository;
+import com.borakgul.demo.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TaskArchiveServiceTest {
+
+	// app.archive.older-than-days=90
+	private static final LocalDateTime OLD = LocalDateTime.now().minusDays(120);
+
+	@Autowired
+	private TaskArchiveService taskArchiveService;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private ArchivedTaskRepository archivedTaskRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private User user;
+
+	@BeforeEach
+	void createUser() {
+		user = userRepository.save(User.builder()
+				.name("Archive User")
+				.email("archive-" + UUID.randomUUID() + "@example.com")
+				.password("password")
+				.build());
+	}
+
+	@Test
+	void onlyTasksCompletedBeforeTheCutoffAreMovedToTheArchive() {
+		Long oldCompleted = task(true, OLD);
+		Long recentCompleted = task(true, LocalDateTime.now());
+		Long oldPending = task(false, OLD);
+
+		taskArchiveService.archiveCompletedTasks();
+
+		assertThat(archivedTaskRepository.findById(oldCompleted)).hasValueSatisfying(archived -> {
+			assertThat(archived.getCompleted()).isTrue();
+			assertThat(archived.getArchivedAt()).isNotNull();
+		});
+		assertThat(taskRepository.existsById(oldCompleted)).isFalse();
+		assertThat(taskRepository.existsById(recentCompleted)).isTrue();
+		assertThat(taskRepository.existsById(oldPending)).isTrue();
+		assertThat(archivedTaskRepository.existsById(recentCompleted)).isFalse();
+		assertThat(archivedTaskRepository.existsById(oldPending)).isFalse();
+	}
+
+	@Test
+	void taskReopenedAfterSelectionIsNeitherCopiedNorDeleted() {
+		Long reopened = task(true, OLD);
+		Long archived = task(true, OLD);
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(90);
+
+		// Seçim ile kopya/silme arasında koşulu bozulan satır (kilitsiz bir yazıcıyı simüle eder)
+		transactionTemplate.executeWithoutResult(status -> {
+			List<Long> ids = taskRepository.findCompletedIdsInRange(reopened - 1, archived, cutoff, PageRequest.of(0, 10));
+			assertThat(ids).containsExactly(reopened, archived);
+			jdbcTemplate.update("UPDATE tasks SET completed = false, status = 'TODO', updated_at = ? WHERE id = ?",
+					LocalDateTime.now(), reopened);
+
+			assertThat(archivedTaskRepository.copyFromTasks(ids, cutoff, LocalDateTime.now())).isEqualTo(1);
+			assertThat(taskRepository.deleteCompletedBefore(ids, cutoff)).isEqualTo(1);
+		});
+
+		assertThat(taskRepository.findById(reopened)).hasValueSatisfying(task -> assertThat(task.getCompleted()).isFalse());
+		assertThat(archivedTaskRepository.existsById(reopened)).isFalse();
+		assertThat(archivedTaskRepository.existsById(archived)).isTrue();
+		assertThat(taskRepository.existsById(archived)).isFalse();
+	}
+
+	@Test
+	void concurrentReopenWaitsForTheArchiveBatchAndThenFails() throws Exception {
+		Long id = task(true, OLD);
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(90);
+		CountDownLatch selected = new CountDownLatch(1);
+		CountDownLatch reopenStarted = new CountDownLatch(1);
+
+		// Arşiv batch'i satırı kilitli seçer; yeniden açma isteği kopya ve silme bitene kadar bekler
+		CompletableFuture<Void> batch = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+			List<Long> ids = taskRepository.findCompletedIdsInRange(id - 1, id, cutoff, PageRequest.of(0, 10));
+			selected.countDown();
+			try {
+				assertThat(reopenStarted.await(5, TimeUnit.SECONDS)).isTrue();
+				Thread.sleep(200);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			archivedTaskRepository.copyFromTasks(ids, cutoff, LocalDateTime.now());
+			taskRepository.deleteCompletedBefore(ids, cutoff);
+		}));
+		assertThat(selected.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+			Task task = taskRepository.findById(id).orElseThrow();
+			task.markAsPending();
+			reopenStarted.countDown();
+			taskRepository.saveAndFlush(task);
+		})).isInstanceOf(OptimisticLockingFailureException.class);
+		batch.get(5, TimeUnit.SECONDS);
+
+		// Task kaybolmaz: arşivde tamamlanmış haliyle durur, yeniden açma reddedilmiştir
+		assertThat(archivedTaskRepository.findById(id)).hasValueSatisfying(task -> assertThat(task.getCompleted()).isTrue());
+		assertThat(taskRepository.existsById(id)).isFalse();
+	}
+
+	private Long task(boolean completed, LocalDateTime updatedAt) {
+		Task task = new Task();
+		task.setTitle("archive candidate");
+		task.setUser(user);
+		if (completed) {
+			task.markAsCompleted();
+		}
+		Long id = taskRepository.save(task).getId();
+		// @UpdateTimestamp'i atlamak için doğrudan SQL
+		jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE id = ?", updatedAt, id);
+		return id;
+	}
+}
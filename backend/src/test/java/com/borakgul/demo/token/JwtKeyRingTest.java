@@ -0,0 +1,87 @@
+package com.borakgul.demo.token;
+
+import com.borakgul.demo.repository.SchedulerLeaseRepository;
+import com.borakgul.demo.schedule.LeaseManager;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class JwtKeyRingTest {
+
+	private static final long MAX_TOKEN_LIFETIME_MS = 3_600_000;
+
+	@Autowired
+	private SchedulerLeaseRepository leaseRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@TempDir
+	private Path keyDir;
+
+	@Test
+	void nodesSharingTheKeyDirectoryVerifyEachOthersKeys() throws Exception {
+		JwtKeyRing nodeA = keyRing("node-a", 24, 0);
+		JwtKeyRing nodeB = keyRing("node-b", 24, 0);
+
+		// İlk anahtarları tek node üretir; ikinci node aynı ring'i okur
+		assertThat(kids(nodeB)).isEqualTo(kids(nodeA)).hasSize(2);
+		assertThat(nodeB.signingKey().kid()).isEqualTo(nodeA.signingKey().kid());
+		assertThat(nodeB.verificationKey(nodeA.signingKey().kid())).isEqualTo(nodeA.signingKey().publicKey());
+	}
+
+	@Test
+	void unknownKidTriggersARateLimitedRescan() throws Exception {
+		// rotation-interval 0: her tur rotation'a girer, node A her seferinde yeni bir next üretir
+		JwtKeyRing nodeA = keyRing("node-a", 0, 0);
+		JwtKeyRing nodeB = keyRing("node-b", 24, 60_000);
+
+		String rotatedKid = rotate(nodeA);
+		assertThat(kids(nodeB)).doesNotContain(rotatedKid);
+
+		// Açılıştan sonraki ilk bilinmeyen kid dizini tarar
+		assertThat(nodeB.verificationKey(rotatedKid)).isNotNull();
+
+		// Aralık dolmadan uydurma kid'ler tekrar taramaz; yeni anahtar bir sonraki rotation turunda görülür
+		String nextKid = rotate(nodeA);
+		assertThatThrownBy(() -> nodeB.verificationKey(nextKid)).isInstanceOf(InvalidKeyException.class);
+		nodeB.rotateIfDue();
+		assertThat(nodeB.verificationKey(nextKid)).isNotNull();
+		assertThat(nodeB.signingKey().kid()).isEqualTo(nodeA.signingKey().kid());
+	}
+
+	private JwtKeyRing keyRing(String nodeId, long rotationIntervalHours, long rescanMs) throws Exception {
+		LeaseManager leaseManager = new LeaseManager(leaseRepository, transactionManager, new SimpleMeterRegistry(), nodeId, 30_000);
+		JwtKeyRing keyRing = new JwtKeyRing(leaseManager, keyDir.toString(), "RS256", rotationIntervalHours,
+				MAX_TOKEN_LIFETIME_MS, rescanMs);
+		keyRing.init();
+		return keyRing;
+	}
+
+	private static String rotate(JwtKeyRing keyRing) {
+		List<String> before = kids(keyRing);
+		keyRing.rotateIfDue();
+		List<String> added = kids(keyRing).stream().filter(kid -> !before.contains(kid)).toList();
+		assertThat(added).hasSize(1);
+		return added.get(0);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String> kids(JwtKeyRing keyRing) {
+		return ((List<Object>) keyRing.jwks().get("keys")).stream()
+				.map(jwk -> (String) ((Map<String, Object>) jwk).get("kid"))
+				.toList();
+	}
+}
@@ -0,0 +1,62 @@
+package com.borakgul.demo.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingSpanProcessorTest {
+
+	private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+	private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final Tracer tracer = SdkTracerProvider.builder()
+			.addSpanProcessor(new TailSamplingSpanProcessor(SimpleSpanProcessor.create(exporter), 100, 0, 100, 10, meterRegistry))
+			.build()
+			.get("test");
+
+	@Test
+	void onlySlowAndErroringTracesAreExportedWithAllTheirSpans() {
+		trace("fast", 20, false);
+		trace("slow", 150, false);
+		trace("failing", 20, true);
+
+		assertThat(exporter.getFinishedSpanItems()).extracting(SpanData::getName)
+				.containsExactlyInAnyOrder("slow", "slow.jdbc", "failing", "failing.jdbc");
+		assertThat(meterRegistry.counter("tracing.tail.traces", "decision", "dropped").count()).isEqualTo(1);
+	}
+
+	@Test
+	void spansEndingAfterTheRootFollowTheTraceDecision() {
+		Span root = tracer.spanBuilder("slow").setStartTimestamp(START).startSpan();
+		Span late = tracer.spanBuilder("slow.async").setParent(Context.current().with(root))
+				.setStartTimestamp(START.plusMillis(10)).startSpan();
+		root.end(START.plusMillis(200));
+		late.end(START.plusMillis(300));
+
+		assertThat(exporter.getFinishedSpanItems()).extracting(SpanData::getName)
+				.containsExactly("slow", "slow.async");
+	}
+
+	private void trace(String name, long millis, boolean failing) {
+		Span root = tracer.spanBuilder(name).setStartTimestamp(START).startSpan();
+		Span child = tracer.spanBuilder(name + ".jdbc").setParent(Context.current().with(root))
+				.setStartTimestamp(START.plusMillis(1)).startSpan();
+		if (failing) {
+			child.setStatus(StatusCode.ERROR);
+		}
+		child.end(START.plusMillis(2));
+		root.end(START.plusMillis(millis));
+	}
+}
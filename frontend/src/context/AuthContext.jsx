@@ -33,6 +33,7 @@ export const AuthProvider = ({ children }) => {
     } catch (error) {
       console.error('Auth check failed:', error);
       localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
     } finally {
       setLoading(false);
     }
@@ -44,14 +45,17 @@ export const AuthProvider = ({ children }) => {
       setError(null);
       
       const response = await authAPI.login(credentials);
-      const { token, user: userData } = response.data;
+      const { token, refreshToken, user: userData } = response.data;
       
       localStorage.setItem('token', token);
+      if (refreshToken) {
+        localStorage.setItem('refreshToken', refreshToken);
+      }
       setUser(userData);
       
       return { success: true };
     } catch (error) {
-      const errorMessage = error.response?.data?.message || 'Login failed';
+      const errorMessage = error.response?.data?.detail || error.response?.data?.message || 'Login failed';
       setError(errorMessage);
       return { success: false, error: errorMessage };
     } finally {
@@ -65,14 +69,17 @@ export const AuthProvider = ({ children }) => {
       setError(null);
       
       const response = await authAPI.register(userData);
-      const { token, user: newUser } = response.data;
+      const { token, refreshToken, user: newUser } = response.data;
       
       localStorage.setItem('token', token);
+      if (refreshToken) {
+        localStorage.setItem('refreshToken', refreshToken);
+      }
       setUser(newUser);
       
       return { success: true };
     } catch (error) {
-      const errorMessage = error.response?.data?.message || 'Registration failed';
+      const errorMessage = error.response?.data?.detail || error.response?.data?.message || 'Registration failed';
       setError(errorMessage);
       return { success: false, error: errorMessage };
     } finally {
@@ -87,6 +94,7 @@ export const AuthProvider = ({ children }) => {
       console.error('Logout error:', error);
     } finally {
       localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
       setUser(null);
     }
   };
@@ -27,15 +27,50 @@ api.interceptors.request.use(
   }
 );
 
+// Aynı anda 401 alan istekler tek bir refresh çağrısını paylaşır (refresh token tek kullanımlık)
+let refreshInFlight = null;
+
+const refreshAccessToken = () => {
+  const refreshToken = localStorage.getItem('refreshToken');
+  if (!refreshToken) {
+    return Promise.resolve(null);
+  }
+  if (!refreshInFlight) {
+    // Interceptor'lardan geçmesin diye instance yerine düz axios
+    refreshInFlight = axios.post(`${API_BASE_URL}/auth/refresh`, { refreshToken })
+      .then(({ data }) => {
+        localStorage.setItem('token', data.token);
+        localStorage.setItem('refreshToken', data.refreshToken);
+        return data.token;
+      })
+      .catch(() => null)
+      .finally(() => {
+        refreshInFlight = null;
+      });
+  }
+  return refreshInFlight;
+};
+
 // Response interceptor - hata yönetimi için
 api.interceptors.response.use(
   (response) => {
     return response;
   },
-  (error) => {
+  async (error) => {
+    const original = error.config;
+    if (error.response?.status === 401 && original && !original._retried) {
+      // Access token süresi dolmuş olabilir: bir kez yenileyip tekrar dene
+      original._retried = true;
+      const token = await refreshAccessToken();
+      if (token) {
+        original.headers.Authorization = `Bearer ${token}`;
+        return api(original);
+      }
+    }
     if (error.response?.status === 401) {
-      // Token geçersizse localStorage'dan sil ve login'e yönlendir
+      // Yenileme başarısız: localStorage'dan sil ve login'e yönlendir
       localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
       window.location.href = '/login';
     }
     return Promise.reject(error);
@@ -77,9 +112,10 @@ export const authAPI = {
   logout: () => {
     if (isDemoMode()) {
       localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
       return Promise.resolve();
     }
-    return apiService.post('/auth/logout');
+    return apiService.post('/auth/logout', { refreshToken: localStorage.getItem('refreshToken') });
   },
   getProfile: () => {
     if (isDemoMode()) {
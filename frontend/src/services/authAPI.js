@@ -5,6 +5,13 @@ import { debugFetch, safeJsonParse } from './debugAPI';
 
 const API_BASE_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080';
 
+const storeTokens = (data) => {
+  localStorage.setItem('authToken', data.token);
+  if (data.refreshToken) {
+    localStorage.setItem('refreshToken', data.refreshToken);
+  }
+};
+
 /**
  * 📝 Kullanıcı kayıt işlemi
  */
@@ -27,7 +34,7 @@ export const registerUser = async (userData) => {
     const data = await safeJsonParse(response, 'User Registration');
 
     if (!response.ok) {
-      throw new Error(data.message || `Registration failed: ${response.status}`);
+      throw new Error(data.detail || data.message || `Registration failed: ${response.status}`);
     }
 
     console.log('✅ Registration successful:', data);
@@ -59,12 +66,12 @@ export const loginUser = async (credentials) => {
     const data = await safeJsonParse(response, 'User Login');
 
     if (!response.ok) {
-      throw new Error(data.message || `Login failed: ${response.status}`);
+      throw new Error(data.detail || data.message || `Login failed: ${response.status}`);
     }
 
-    // 🎫 JWT token'ı localStorage'a kaydet
+    // 🎫 JWT token'ı localStorage'a kaydet (access token kısa ömürlü, refresh token ile yenilenir)
     if (data.token) {
-      localStorage.setItem('authToken', data.token);
+      storeTokens(data);
       localStorage.setItem('user', JSON.stringify({
         id: data.id,
         name: data.name,
@@ -92,22 +99,15 @@ export const getUserProfile = async () => {
   }
 
   try {
-    const response = await fetch(`${API_BASE_URL}/api/auth/profile`, {
-      method: 'GET',
-      headers: {
-        'Authorization': `Bearer ${token}`,
-        'Content-Type': 'application/json',
-      }
+    // 401'de token yenilenip tekrar denenir; yenileme de başarısızsa authenticatedFetch çıkış yapar
+    const response = await authenticatedFetch(`${API_BASE_URL}/api/auth/profile`, {
+      method: 'GET'
     });
 
     const data = await response.json();
 
     if (!response.ok) {
-      // Token geçersizse temizle
-      if (response.status === 401) {
-        logout();
-      }
-      throw new Error(data.message || `Profile fetch failed: ${response.status}`);
+      throw new Error(data.detail || data.message || `Profile fetch failed: ${response.status}`);
     }
 
     console.log('✅ Profile fetched successfully');
@@ -123,8 +123,23 @@ export const getUserProfile = async () => {
  */
 export const logout = () => {
   console.log('🚪 Logging out user');
+
+  // Refresh token zincirini backend'de iptal et (best-effort; sayfa yönlendirmesinde de tamamlanır)
+  const refreshToken = localStorage.getItem('refreshToken');
+  if (refreshToken) {
+    fetch(`${API_BASE_URL}/api/auth/logout`, {
+      method: 'POST',
+      keepalive: true,
+      headers: {
+        'Content-Type': 'application/json',
+        'Authorization': `Bearer ${localStorage.getItem('authToken')}`
+      },
+      body: JSON.stringify({ refreshToken })
+    }).catch(() => {});
+  }
   
   localStorage.removeItem('authToken');
+  localStorage.removeItem('refreshToken');
   localStorage.removeItem('user');
   
   // Sayfayı yenile veya login sayfasına yönlendir
@@ -154,8 +169,49 @@ export const getAuthToken = () => {
   return localStorage.getItem('authToken');
 };
 
+// Aynı anda 401 alan istekler tek bir refresh çağrısını paylaşır (refresh token tek kullanımlık)
+let refreshInFlight = null;
+
+/**
+ * 🔄 Refresh token ile yeni access token alma
+ * Backend refresh token'ı her kullanımda döndürür; yenisi saklanır. Başarısızsa null döner.
+ */
+export const refreshAccessToken = () => {
+  const refreshToken = localStorage.getItem('refreshToken');
+  if (!refreshToken) {
+    return Promise.resolve(null);
+  }
+  if (!refreshInFlight) {
+    refreshInFlight = fetch(`${API_BASE_URL}/api/auth/refresh`, {
+      method: 'POST',
+      headers: {
+        'Content-Type': 'application/json',
+      },
+      body: JSON.stringify({ refreshToken })
+    })
+      .then(async (response) => {
+        if (!response.ok) {
+          return null;
+        }
+        const data = await response.json();
+        storeTokens(data);
+        console.log('🔄 Access token refreshed');
+        return data.token;
+      })
+      .catch((error) => {
+        console.error('❌ Token refresh error:', error);
+        return null;
+      })
+      .finally(() => {
+        refreshInFlight = null;
+      });
+  }
+  return refreshInFlight;
+};
+
 /**
  * 🔧 Authenticated API requests için helper
+ * 401'de bir kez token yenilenip istek tekrarlanır; sadece yenileme başarısızsa çıkış yapılır
  */
 export const authenticatedFetch = async (url, options = {}) => {
   const token = getAuthToken();
@@ -164,18 +220,25 @@ export const authenticatedFetch = async (url, options = {}) => {
     throw new Error('No authentication token available');
   }
 
-  const headers = {
-    'Content-Type': 'application/json',
-    'Authorization': `Bearer ${token}`,
-    ...options.headers
-  };
-
-  const response = await fetch(url, {
+  const send = (accessToken) => fetch(url, {
     ...options,
-    headers
+    headers: {
+      'Content-Type': 'application/json',
+      'Authorization': `Bearer ${accessToken}`,
+      ...options.headers
+    }
   });
 
-  // Token geçersizse çıkış yap
+  let response = await send(token);
+
+  if (response.status === 401) {
+    const refreshedToken = await refreshAccessToken();
+    if (refreshedToken) {
+      response = await send(refreshedToken);
+    }
+  }
+
+  // Yenileme başarısız veya yeni token da reddedildi: çıkış yap
   if (response.status === 401) {
     logout();
     throw new Error('Session expired. Please login again.');